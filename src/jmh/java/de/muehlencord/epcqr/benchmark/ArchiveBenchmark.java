@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.PayeeTemplate;
+import de.muehlencord.epcqr.archive.ArchiveReader;
+import de.muehlencord.epcqr.archive.ArchiveWriter;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * serving stored codes: one file per code read onto the heap compared to the archive, read as mapped buffer and
+ * transferred to a channel.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArchiveBenchmark {
+
+  private static final int CODES = 1024;
+
+  private Path directory;
+  private ArchiveReader reader;
+  private final String[] keys = new String[CODES];
+  private final WritableByteChannel sink = new NullChannel();
+  private int index;
+
+  @Setup
+  public void setup() throws EpcException, IOException {
+    directory = Files.createTempDirectory("epc-archive");
+    ByteArrayImageGenerator generator = new ByteArrayImageGenerator();
+    PayeeTemplate template = new PayeeTemplate(BenchmarkData.builder(Encoding.UTF_8));
+    try (ArchiveWriter writer = ArchiveWriter.open(directory.resolve("codes.seg"))) {
+      for (int i = 0; i < CODES; i++) {
+        keys[i] = "invoice-" + i;
+        byte[] image = template.generate(generator, BigDecimal.valueOf(100 + i, 2), keys[i], null);
+        writer.append(keys[i], image);
+        Files.write(directory.resolve(keys[i] + ".png"), image);
+      }
+    }
+    reader = ArchiveReader.open(directory.resolve("codes.seg"));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    reader.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+    }
+  }
+
+  private String next() {
+    index = (index + 1) & (CODES - 1);
+    return keys[index];
+  }
+
+  @Benchmark
+  public byte[] fileRead() throws IOException {
+    return Files.readAllBytes(directory.resolve(next() + ".png"));
+  }
+
+  @Benchmark
+  public ByteBuffer archiveGet() {
+    return reader.get(next());
+  }
+
+  @Benchmark
+  public boolean archiveTransferTo() throws EpcException {
+    return reader.transferTo(next(), sink);
+  }
+
+  private static final class NullChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      int remaining = src.remaining();
+      src.position(src.limit());
+      return remaining;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.QrMatrix;
+import de.muehlencord.epcqr.QrOptions;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * payload of a Western European payee with umlauts in UTF-8 compared to the automatic encoding
+ * ({@link EpcBuilder#withAutomaticEncoding(boolean)}), which selects ISO-8859-1: resolving the encoding, encoding
+ * the matrix and the complete PNG generation.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutomaticEncodingBenchmark {
+
+  @Param({"false", "true"})
+  private boolean automaticEncoding;
+
+  private EpcBuilder builder;
+  private ByteArrayImageGenerator generator;
+
+  @Setup
+  public void setup() throws EpcException {
+    builder = new EpcBuilder()
+      .withRecipient("Jürgen Müller-Lüdenscheidt Gebäudeservice")
+      .withIban("DE89370400440532013000")
+      .withPaymentAmount(1234.56D)
+      .withPurposeText("Überweisung für Gebühren, Lieferung nach Köln, Düsseldorf und Großräschen")
+      .withNote("Vielen Dank für Ihren Auftrag, Grüße aus Mönchengladbach")
+      .withAutomaticEncoding(automaticEncoding);
+    generator = new ByteArrayImageGenerator();
+  }
+
+  @Benchmark
+  public Encoding resolveEncoding() {
+    return builder.getEncoding();
+  }
+
+  @Benchmark
+  public QrMatrix encode() throws EpcException {
+    return QrMatrix.encode(builder, QrOptions.DEFAULT);
+  }
+
+  @Benchmark
+  public byte[] generatePng() throws EpcException {
+    return generator.generate(builder);
+  }
+}
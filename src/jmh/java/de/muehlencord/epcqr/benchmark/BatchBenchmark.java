@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.Base64ImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.GenerationResult;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * batch generation: throughput in codes per second depending on the parallelism. Compare the score of each
+ * parallelism against parallelism 1 to see the scaling.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"1", "2", "4", "8"})
+  private int parallelism;
+
+  private List<EpcBuilder> builders;
+  private Base64ImageGenerator generator;
+
+  @Setup
+  public void setup() throws EpcException {
+    generator = new Base64ImageGenerator();
+    builders = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      builders.add(BenchmarkData.builder(Encoding.UTF_8).withPurposeText("Invoice " + i));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<GenerationResult<String>> generateAll() {
+    return generator.generateAll(builders, parallelism);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.model.Encoding;
+
+import java.math.BigDecimal;
+
+/**
+ * shared test data for the benchmarks.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+    // utility class
+  }
+
+  /**
+   * create a complete builder using the given encoding. Only ASCII characters are used so the payload can be
+   * represented in every supported encoding.
+   *
+   * @param encoding the encoding to use
+   * @return a builder ready to be built
+   * @throws EpcException if the builder cannot be set up
+   */
+  static EpcBuilder builder(Encoding encoding) throws EpcException {
+    return new EpcBuilder()
+      .withEncoding(encoding)
+      .withBic("BUKBGB22")
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(new BigDecimal("1234.56"))
+      .withPurposeText("Invoice 2026-0815 customer 4711")
+      .withNote("Thank you");
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayloadWriter;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * payload construction: cost of {@link EpcBuilder#build()} and {@link EpcPayloadWriter#write(EpcBuilder)} per
+ * encoding.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpcBuilderBenchmark {
+
+  @Param
+  private Encoding encoding;
+
+  private EpcBuilder builder;
+  private final EpcPayloadWriter writer = new EpcPayloadWriter();
+
+  @Setup
+  public void setup() throws EpcException {
+    builder = BenchmarkData.builder(encoding);
+  }
+
+  @Benchmark
+  public String build() throws EpcException {
+    return builder.build();
+  }
+
+  @Benchmark
+  public int payloadWriter() throws EpcException {
+    return writer.write(builder);
+  }
+}
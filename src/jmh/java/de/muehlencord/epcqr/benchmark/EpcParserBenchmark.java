@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcParser;
+import de.muehlencord.epcqr.ParsedPayment;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * parsing a scanned payload from text and from bytes, compared to splitting the text with a regular expression and
+ * parsing the amount with {@link BigDecimal}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpcParserBenchmark {
+
+  private static final Pattern LINES = Pattern.compile("\\r?\\n");
+
+  private String text;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() throws EpcException {
+    text = BenchmarkData.builder(Encoding.UTF_8).build();
+    bytes = text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public ParsedPayment parseText() throws EpcException {
+    return EpcParser.parse(text);
+  }
+
+  @Benchmark
+  public ParsedPayment parseBytes() throws EpcException {
+    return EpcParser.parse(bytes);
+  }
+
+  @Benchmark
+  public Object splitBaseline() {
+    String[] lines = LINES.split(text, -1);
+    return new Object[]{lines[4], lines[5], lines[6], new BigDecimal(lines[7].substring(3)), lines[10], lines[11]};
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayment;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * immutable payments: creating a builder and a payment, and looking up a payment in a map compared to building
+ * the payload of a builder as key.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpcPaymentBenchmark {
+
+  private EpcBuilder builder;
+  private EpcPayment payment;
+  private final Map<EpcPayment, String> byPayment = new HashMap<>();
+  private final Map<String, String> byPayload = new HashMap<>();
+
+  @Setup
+  public void setup() throws EpcException {
+    builder = BenchmarkData.builder(Encoding.UTF_8);
+    payment = builder.toPayment();
+    byPayment.put(builder.toPayment(), "image");
+    byPayload.put(builder.build(), "image");
+  }
+
+  @Benchmark
+  public EpcBuilder newBuilder() {
+    return new EpcBuilder();
+  }
+
+  @Benchmark
+  public EpcPayment toPayment() throws EpcException {
+    return builder.toPayment();
+  }
+
+  @Benchmark
+  public String lookupPayment() {
+    return byPayment.get(payment);
+  }
+
+  @Benchmark
+  public String lookupBuiltPayloadBaseline() throws EpcException {
+    return byPayload.get(builder.build());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.Base64ImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+import de.muehlencord.epcqr.VectorImageGenerator;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.StreamEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * end to end: {@link Base64ImageGenerator#generate(EpcBuilder)}, {@link ImageFileGenerator#generate(EpcBuilder)} and
+ * {@link VectorImageGenerator#generate(EpcBuilder)}. {@code base64WriteTo} writes the same image into a reused
+ * buffer.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+  @Param
+  private Encoding encoding;
+
+  @Param({"150", "300", "600", "1200"})
+  private int size;
+
+  private EpcBuilder builder;
+  private Base64ImageGenerator base64Generator;
+  private ImageFileGenerator fileGenerator;
+  private VectorImageGenerator vectorGenerator;
+  private Path outputFile;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setup() throws EpcException, IOException {
+    builder = BenchmarkData.builder(encoding);
+    outputFile = Files.createTempFile("epc-qr-benchmark", ".png");
+    base64Generator = new Base64ImageGenerator().withWidth(size).withHeight(size);
+    vectorGenerator = new VectorImageGenerator().withSize(size);
+    buffer = ByteBuffer.allocateDirect(1 << 20);
+    fileGenerator = new ImageFileGenerator().withWidth(size).withHeight(size).withOutputFile(outputFile.toString());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(outputFile);
+  }
+
+  @Benchmark
+  public String base64Generator() throws EpcException {
+    return base64Generator.generate(builder);
+  }
+
+  @Benchmark
+  public int base64WriteTo() throws EpcException {
+    buffer.clear();
+    return base64Generator.writeTo(builder, buffer, StreamEncoding.BASE64);
+  }
+
+  @Benchmark
+  public String imageFileGenerator() throws EpcException {
+    return fileGenerator.generate(builder);
+  }
+
+  @Benchmark
+  public String vectorImageGenerator() throws EpcException {
+    return vectorGenerator.generate(builder);
+  }
+}
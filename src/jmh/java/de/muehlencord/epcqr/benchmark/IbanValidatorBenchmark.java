@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.validation.IbanValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IBAN validation per IBAN: the allocation free check compared to the common big number implementation, the
+ * builder with and without validation, and the parallel batch validation of one million IBANs.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IbanValidatorBenchmark {
+
+  private static final String[] IBANS = {
+    "DE89370400440532013000", "GB82WEST12345698765432", "FR1420041010050500013M02606", "AT611904300234573201",
+    "NL91ABNA0417164300", "IT60X0542811101000000123456", "ES9121000418450200051332", "BE68539007547034"};
+  private static final int BATCH = 1_000_000;
+  private static final BigInteger MOD = BigInteger.valueOf(97);
+
+  private final List<String> batch = new ArrayList<>(BATCH);
+  private int index;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < BATCH; i++) {
+      batch.add(IBANS[i % IBANS.length]);
+    }
+  }
+
+  private String next() {
+    index = (index + 1) & (IBANS.length - 1);
+    return IBANS[index];
+  }
+
+  @Benchmark
+  public boolean validate() {
+    return IbanValidator.isValid(next());
+  }
+
+  @Benchmark
+  public boolean bigIntegerBaseline() {
+    String iban = next();
+    String rearranged = iban.substring(4) + iban.substring(0, 4);
+    StringBuilder digits = new StringBuilder(rearranged.length() * 2);
+    for (int i = 0; i < rearranged.length(); i++) {
+      digits.append(Character.getNumericValue(rearranged.charAt(i)));
+    }
+    return new BigInteger(digits.toString()).mod(MOD).intValue() == 1;
+  }
+
+  @Benchmark
+  public EpcBuilder builderWithoutValidation() throws EpcException {
+    return new EpcBuilder().withIban(next());
+  }
+
+  @Benchmark
+  public EpcBuilder builderWithValidation() throws EpcException {
+    return new EpcBuilder().withAccountValidation(true).withIban(next());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public BitSet findInvalid() {
+    return IbanValidator.findInvalid(batch);
+  }
+}
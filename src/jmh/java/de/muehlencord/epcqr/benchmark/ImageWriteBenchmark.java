@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.benchmark;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import de.muehlencord.epcqr.image.MatrixImageWriters;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.ImageFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * image output: rasterization of the matrix, writing the image in the requested format using ImageIO or the direct
+ * matrix writers, Base64 encoding of the written image and writing it to a file. Formats without ImageIO writer
+ * (pnm, pcx) fail in writeImage, pcx has no direct writer either and fails in setup.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageWriteBenchmark {
+
+  @Param
+  private ImageFormat format;
+
+  @Param({"150", "300", "600", "1200"})
+  private int size;
+
+  private BitMatrix matrix;
+  private BufferedImage image;
+  private byte[] imageBytes;
+  private Path outputFile;
+
+  @Setup
+  public void setup() throws Exception {
+    String data = BenchmarkData.builder(Encoding.UTF_8).build();
+    matrix = new MultiFormatWriter().encode(data, BarcodeFormat.QR_CODE, size, size);
+    image = MatrixToImageWriter.toBufferedImage(matrix);
+    imageBytes = writeImageDirect();
+    outputFile = Files.createTempFile("epc-qr-benchmark", "." + format.getName());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(outputFile);
+  }
+
+  @Benchmark
+  public BufferedImage rasterize() {
+    return MatrixToImageWriter.toBufferedImage(matrix);
+  }
+
+  @Benchmark
+  public byte[] writeImage() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ImageIO.write(image, format.getName(), outputStream);
+    return outputStream.toByteArray();
+  }
+
+  @Benchmark
+  public byte[] writeImageDirect() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    MatrixImageWriters.forFormat(format).write(matrix, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  @Benchmark
+  public String base64() {
+    return new String(Base64.getEncoder().encode(imageBytes));
+  }
+
+  @Benchmark
+  public Path writeFile() throws IOException {
+    return Files.write(outputFile, imageBytes);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.Base64ImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.PayeeTemplate;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * payments to a fixed payee: a new {@link EpcBuilder} per payment compared to a {@link PayeeTemplate}, for the
+ * payload only and for the Base64 image.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayeeTemplateBenchmark {
+
+  private static final int PAYMENTS = 1024;
+
+  @Param({"UTF_8", "ISO_8859_15"})
+  private Encoding encoding;
+
+  private PayeeTemplate template;
+  private Base64ImageGenerator generator;
+  private final BigDecimal[] amounts = new BigDecimal[PAYMENTS];
+  private final String[] purposeTexts = new String[PAYMENTS];
+  private int index;
+
+  @Setup
+  public void setup() throws EpcException {
+    template = new PayeeTemplate(BenchmarkData.builder(encoding));
+    generator = new Base64ImageGenerator();
+    for (int i = 0; i < PAYMENTS; i++) {
+      amounts[i] = BigDecimal.valueOf(100_00 + i * 37L, 2);
+      purposeTexts[i] = "Invoice 2026-" + (1000 + i) + " customer 4711";
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (PAYMENTS - 1);
+    return index;
+  }
+
+  private EpcBuilder builder(int i) throws EpcException {
+    return new EpcBuilder()
+      .withEncoding(encoding)
+      .withBic("BUKBGB22")
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(amounts[i])
+      .withPurposeText(purposeTexts[i])
+      .withNote("Thank you");
+  }
+
+  @Benchmark
+  public byte[] builderPayload() throws EpcException {
+    return builder(next()).build().getBytes(encoding.getCharset());
+  }
+
+  @Benchmark
+  public byte[] templatePayload() throws EpcException {
+    int i = next();
+    return template.payload(amounts[i], purposeTexts[i], "Thank you");
+  }
+
+  @Benchmark
+  public String builderBase64() throws EpcException {
+    return generator.generate(builder(next()));
+  }
+
+  @Benchmark
+  public String templateBase64() throws EpcException {
+    int i = next();
+    return template.generate(generator, amounts[i], purposeTexts[i], "Thank you");
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.bulk.BulkValidationResult;
+import de.muehlencord.epcqr.bulk.BulkValidator;
+import de.muehlencord.epcqr.bulk.PaymentRecord;
+import de.muehlencord.epcqr.bulk.RecordReader;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+import de.muehlencord.epcqr.validation.ValidationReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * validation of payment records: the validator for valid and invalid records compared to converting the record
+ * into a builder, which fails with an exception at the first invalid value, and the bulk validation of a batch.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentValidatorBenchmark {
+
+  private static final int BATCH = 100_000;
+
+  private final PaymentValidator validator = new PaymentValidator();
+  private final PaymentRecord valid =
+    new PaymentRecord(2, "Max Mustermann", "GB33BUKB20201555555555", "BUKBGB22", "48.81", "Invoice 4711");
+  private final PaymentRecord invalid =
+    new PaymentRecord(3, "Max Mustermann", "GB33BUKB20201555555555", "BUKBGB22", "no amount", "Invoice 4711");
+  private final PaymentRecord[] batch = new PaymentRecord[BATCH];
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < BATCH; i++) {
+      batch[i] = i % 10 == 0 ? invalid : valid;
+    }
+  }
+
+  @Benchmark
+  public ValidationReport validateValid() {
+    return validator.validate(valid);
+  }
+
+  @Benchmark
+  public ValidationReport validateInvalid() {
+    return validator.validate(invalid);
+  }
+
+  @Benchmark
+  public Object builderInvalidBaseline() {
+    try {
+      EpcBuilder builder = invalid.toBuilder();
+      return builder;
+    } catch (EpcException ex) {
+      return ex;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public BulkValidationResult bulk(Blackhole blackhole) throws IOException, EpcException {
+    RecordReader reader = new RecordReader() {
+      private int index;
+
+      @Override
+      public PaymentRecord next() {
+        return index < BATCH ? batch[index++] : null;
+      }
+
+      @Override
+      public void close() {
+        // nothing to close
+      }
+    };
+    return new BulkValidator().validate(reader, blackhole::consume);
+  }
+}
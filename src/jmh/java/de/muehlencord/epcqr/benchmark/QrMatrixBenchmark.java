@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.QrMatrix;
+import de.muehlencord.epcqr.QrOptions;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * module matrix: encoding the payload into a {@link QrMatrix} and rendering the matrix into pixels, measured
+ * separately. {@code encodeSmallestSymbol} encodes with {@link QrOptions#smallestSymbol()}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrMatrixBenchmark {
+
+  @Param({"150", "300", "600", "1200"})
+  private int size;
+
+  private EpcBuilder builder;
+  private QrMatrix matrix;
+
+  @Setup
+  public void setup() throws EpcException {
+    builder = BenchmarkData.builder(Encoding.UTF_8);
+    matrix = QrMatrix.encode(builder, ErrorCorrectionLevel.L);
+  }
+
+  @Benchmark
+  public QrMatrix encode() throws EpcException {
+    return QrMatrix.encode(builder, ErrorCorrectionLevel.L);
+  }
+
+  @Benchmark
+  public QrMatrix encodeSmallestSymbol() throws EpcException {
+    return QrMatrix.encode(builder, QrOptions.smallestSymbol());
+  }
+
+  @Benchmark
+  public BitMatrix render() {
+    return matrix.render(size, size, QrMatrix.DEFAULT_QUIET_ZONE);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.server.EpcHttpServer;
+import de.muehlencord.epcqr.server.RunningServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * local load test of the embedded render endpoint: sustained request rate of concurrent clients for rendered
+ * responses and for conditional requests answered with 304 Not Modified.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class ServerBenchmark {
+
+  private static final int PAYMENTS = 256;
+
+  @State(Scope.Benchmark)
+  public static class Server {
+
+    @Param({"png", "svg"})
+    private String format;
+
+    private RunningServer server;
+    private HttpClient client;
+    private final URI[] uris = new URI[PAYMENTS];
+    private final String[] etags = new String[PAYMENTS];
+
+    @Setup(Level.Trial)
+    public void setup() throws EpcException, IOException, InterruptedException {
+      server = new EpcHttpServer().withPort(0).start();
+      client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+      for (int i = 0; i < PAYMENTS; i++) {
+        uris[i] = URI.create("http://localhost:" + server.getPort() + "/epc?recipient=Max%20Mustermann"
+          + "&iban=GB33BUKB20201555555555&bic=BUKBGB22&purpose=Invoice%20" + i
+          + "&amount=" + (100 + i) + ".50&format=" + format);
+        etags[i] = client.send(HttpRequest.newBuilder(uris[i]).build(), HttpResponse.BodyHandlers.discarding())
+          .headers().firstValue("ETag").orElseThrow();
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      server.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Client {
+
+    private int index;
+
+    int next() {
+      index = (index + 1) & (PAYMENTS - 1);
+      return index;
+    }
+  }
+
+  @Benchmark
+  public int render(Server server, Client client) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(server.uris[client.next()]).build();
+    return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  @Benchmark
+  public int notModified(Server server, Client client) throws IOException, InterruptedException {
+    int i = client.next();
+    HttpRequest request = HttpRequest.newBuilder(server.uris[i]).header("If-None-Match", server.etags[i]).build();
+    return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.benchmark;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.Result;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.QrMatrix;
+import de.muehlencord.epcqr.QrOptions;
+import de.muehlencord.epcqr.model.Encoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * overhead of the matrix verification ({@link QrOptions#withVerification(int)}): encoding with verification of
+ * every, every 10th or no matrix, and the complete PNG generation with and without verification compared to
+ * reading the generated PNG again with the ZXing reader.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationBenchmark {
+
+  @Param({"0", "1", "10"})
+  private int verification;
+
+  private EpcBuilder builder;
+  private QrOptions options;
+  private ByteArrayImageGenerator generator;
+  private ByteArrayImageGenerator plainGenerator;
+
+  @Setup
+  public void setup() throws EpcException {
+    builder = BenchmarkData.builder(Encoding.UTF_8);
+    options = QrOptions.DEFAULT.withVerification(verification);
+    generator = new ByteArrayImageGenerator().withOptions(options);
+    plainGenerator = new ByteArrayImageGenerator();
+  }
+
+  @Benchmark
+  public QrMatrix encode() throws EpcException {
+    return QrMatrix.encode(builder, options);
+  }
+
+  @Benchmark
+  public byte[] generatePng() throws EpcException {
+    return generator.generate(builder);
+  }
+
+  @Benchmark
+  public Result generatePngAndReadBaseline() throws Exception {
+    byte[] png = plainGenerator.generate(builder);
+    BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+      new BufferedImageLuminanceSource(ImageIO.read(new ByteArrayInputStream(png)))));
+    return new QRCodeReader().decode(bitmap);
+  }
+}
@@ -17,71 +17,345 @@
 
 package de.muehlencord.epcqr;
 
-import com.google.zxing.EncodeHintType;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.common.BitMatrix;
+import de.muehlencord.epcqr.image.MatrixImageWriters;
+import de.muehlencord.epcqr.jfr.ImageWriteEvent;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
 import de.muehlencord.epcqr.model.ImageFormat;
+import de.muehlencord.epcqr.model.StreamEncoding;
 import lombok.Getter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 
 /**
- * abstract image generator with some default implementations.
+ * abstract image generator with some default implementations. Generators are immutable, each withX method of an
+ * implementation returns a new instance. Therefore a configured generator can be shared between threads.
  *
+ * @param <T> the output type of the generator
  * @author Joern Muehlencord, 2023-09-23
  * @since 1.0.0
  */
-public abstract class AbstractImageGenerator implements QrCodeGenerator<String>{
+public abstract class AbstractImageGenerator<T> implements StreamingQrCodeGenerator<T> {
+
   /**
-   * the charset to use inside the image when generating it. Defaults to UTF-8.
+   * the default width and height of the image to be generated.
    */
-  protected String charset = "UTF-8";
+  protected static final int DEFAULT_SIZE = 300;
 
   /**
-   * the encoding hints to be used when rendering the QR code.
+   * the symbol options, such as error correction level, margin and version. Defaults to {@link QrOptions#DEFAULT}.
    */
-  protected final Map<EncodeHintType, ErrorCorrectionLevel> hints = new HashMap<>();
+  @Getter
+  protected final QrOptions options;
 
   /**
    * the width of the image to be generated.  Defaults to 300 pixel.
    */
   @Getter
-  protected int width = 300;
+  protected final int width;
 
   /**
    * the height of the image to be generated. Defaults to 300 pixel.
    */
   @Getter
-  protected int height = 300;
+  protected final int height;
 
   /**
    * the output format of the image to be used when rendering the image. Defaults to PNG.
    */
   @Getter
-  protected ImageFormat format = ImageFormat.PNG;
+  protected final ImageFormat format;
+
+  /**
+   * the cache to look up rendered codes in, null if caching is disabled.
+   */
+  @Getter
+  protected final RenderCache<T> cache;
+
+  /**
+   * the metrics to record into, null to record into the active metrics, see {@link Metrics#install}.
+   */
+  @Getter
+  protected final GenerationMetrics metrics;
+
+  /**
+   * create a new generator with the given configuration.
+   *
+   * @param width  the width of the image to be generated
+   * @param height the height of the image to be generated
+   * @param format the output format of the image
+   */
+  protected AbstractImageGenerator(int width, int height, ImageFormat format) {
+    this(width, height, format, null);
+  }
+
+  /**
+   * create a new generator with the given configuration.
+   *
+   * @param width  the width of the image to be generated
+   * @param height the height of the image to be generated
+   * @param format the output format of the image
+   * @param cache  the cache of rendered codes, null to disable caching
+   */
+  protected AbstractImageGenerator(int width, int height, ImageFormat format, RenderCache<T> cache) {
+    this(width, height, format, cache, QrOptions.DEFAULT);
+  }
+
+  /**
+   * create a new generator with the given configuration.
+   *
+   * @param width   the width of the image to be generated
+   * @param height  the height of the image to be generated
+   * @param format  the output format of the image
+   * @param cache   the cache of rendered codes, null to disable caching
+   * @param options the symbol options
+   */
+  protected AbstractImageGenerator(int width, int height, ImageFormat format, RenderCache<T> cache,
+    QrOptions options) {
+    this(width, height, format, cache, options, null);
+  }
+
+  /**
+   * create a new generator with the given configuration.
+   *
+   * @param width   the width of the image to be generated
+   * @param height  the height of the image to be generated
+   * @param format  the output format of the image
+   * @param cache   the cache of rendered codes, null to disable caching
+   * @param options the symbol options
+   * @param metrics the metrics to record into, null to record into the active metrics
+   */
+  protected AbstractImageGenerator(int width, int height, ImageFormat format, RenderCache<T> cache,
+    QrOptions options, GenerationMetrics metrics) {
+    this.width = width;
+    this.height = height;
+    this.format = format;
+    this.cache = cache;
+    this.options = options;
+    this.metrics = metrics;
+  }
+
+  /**
+   * returns the metrics to record into.
+   *
+   * @return the metrics of this generator or the active metrics, if none are set
+   */
+  protected GenerationMetrics metrics() {
+    return Metrics.resolve(metrics);
+  }
+
+  /**
+   * create the image from the rendered QR code.
+   *
+   * @param image the rendered QR code in the configured size, set bits are dark
+   * @return depends on the implementation of the image generator.
+   * @throws EpcException if the image cannot be created.
+   */
+  abstract protected T createImage(BitMatrix image) throws EpcException;
 
   /**
    * create the QR code
-   * @param data the EPC data in the specified format. Use the EpcBuilder to generate it
-   * @param hints the hints to use
+   * @param content the EPC payload bytes in the encoding of the builder, one character per byte. See
+   *                {@link EpcPayloadWriter#toContent()}
+   * @param charset the charset of the payload
    * @return depends on the implementation of the image generator.
    * @throws EpcException if the QR code cannot be rendered.
    */
-  abstract protected String createQR(String data, Map<EncodeHintType, ErrorCorrectionLevel> hints) throws EpcException;
+  protected T createQR(String content, Charset charset) throws EpcException {
+    return render(encode(content, charset));
+  }
+
+  /**
+   * encode the given content into a QR code module matrix using the configured options. As each character
+   * represents one byte of the payload, the default ISO-8859-1 byte mode of the encoder stores exactly the payload
+   * bytes.
+   *
+   * @param content the EPC payload, one character per byte
+   * @param charset the charset of the payload, used for the ECI designator
+   * @return the encoded QR code
+   * @throws EpcException if the data cannot be encoded
+   */
+  protected QrMatrix encode(String content, Charset charset) throws EpcException {
+    return QrMatrix.encode(content, charset, options, metrics());
+  }
+
+  /**
+   * render an already encoded QR code. Allows to encode a code once and render it with several generators.
+   *
+   * @param matrix the encoded QR code
+   * @return depends on the implementation of the image generator.
+   * @throws EpcException if the image cannot be created.
+   */
+  public T render(QrMatrix matrix) throws EpcException {
+    return createImage(rasterize(matrix));
+  }
+
+  BitMatrix rasterize(QrMatrix matrix) {
+    GenerationMetrics recorder = metrics();
+    long start = Metrics.start(recorder, Phase.RENDER);
+    BitMatrix image = matrix.render(width, height, options.getMargin());
+    Metrics.stop(recorder, Phase.RENDER, start);
+    return image;
+  }
+
+  /**
+   * write the given QR code matrix as image in the configured format. See {@link MatrixImageWriters} for the
+   * writers used. If metrics or the JFR event are enabled, the image is compressed into memory first, so
+   * {@link Phase#COMPRESS} and {@link Phase#WRITE} are timed separately, otherwise it is written directly.
+   *
+   * @param matrix       the QR code to write
+   * @param outputStream the stream to write the image to
+   * @throws IOException if the image cannot be written
+   */
+  protected void writeImage(BitMatrix matrix, OutputStream outputStream) throws IOException {
+    GenerationMetrics recorder = metrics();
+    if (!isMeasured(recorder)) {
+      MatrixImageWriters.forFormat(format).write(matrix, outputStream);
+      return;
+    }
+    byte[] image = compress(matrix);
+    long start = Metrics.start(recorder, Phase.WRITE);
+    outputStream.write(image);
+    Metrics.stop(recorder, Phase.WRITE, start);
+  }
+
+  /**
+   * write the given QR code matrix as image in the configured format and encoding. The stream is flushed but not
+   * closed.
+   *
+   * @param matrix       the QR code to write
+   * @param outputStream the stream to write the image to
+   * @param encoding     the encoding of the image written
+   * @throws IOException if the image cannot be written
+   */
+  protected void writeImage(BitMatrix matrix, OutputStream outputStream, StreamEncoding encoding)
+    throws IOException {
+    GenerationMetrics recorder = metrics();
+    if (!isMeasured(recorder)) {
+      try (EncodedOutputStream encoded = EncodedOutputStream.open(outputStream, encoding, format.getMimeType())) {
+        MatrixImageWriters.forFormat(format).write(matrix, encoded);
+      }
+      return;
+    }
+    byte[] image = compress(matrix);
+    long start = Metrics.start(recorder, Phase.WRITE);
+    try (EncodedOutputStream encoded = EncodedOutputStream.open(outputStream, encoding, format.getMimeType())) {
+      encoded.write(image);
+    }
+    Metrics.stop(recorder, Phase.WRITE, start);
+  }
+
+  /**
+   * compress the given QR code matrix into an image of the configured format, recorded as
+   * {@link Phase#COMPRESS}.
+   *
+   * @param matrix the QR code to compress
+   * @return the image
+   * @throws IOException if the image cannot be created
+   */
+  byte[] compress(BitMatrix matrix) throws IOException {
+    ImageWriteEvent event = new ImageWriteEvent();
+    event.begin();
+    GenerationMetrics recorder = metrics();
+    long start = Metrics.start(recorder, Phase.COMPRESS);
+    ByteArrayOutputStream image = new ByteArrayOutputStream(4096);
+    MatrixImageWriters.forFormat(format).write(matrix, image);
+    Metrics.stop(recorder, Phase.COMPRESS, start);
+    Metrics.image(recorder, format.getName(), width, height, image.size());
+    if (event.shouldCommit()) {
+      event.set(format.getName(), matrix.getWidth(), matrix.getHeight(), image.size());
+      event.commit();
+    }
+    return image.toByteArray();
+  }
+
+  private static boolean isMeasured(GenerationMetrics recorder) {
+    return recorder.isEnabled() || new ImageWriteEvent().isEnabled();
+  }
 
 
   /**
    * generate based on the give builder a QR code
    *
    * @param builder the builder to use
-   * @return the returned output image as bae64 encoded string
+   * @return the returned output, depends on the implementation of the image generator.
+   * @throws EpcException if the generation failed .
+   */
+  @Override
+  public T generate(EpcBuilder builder) throws EpcException {
+    try {
+      EpcPayloadWriter writer = EpcPayloadWriter.serialize(builder, metrics());
+      return generateContent(writer.toContent(), writer.getEncoding().getCharset());
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * generate based on the given payment a QR code, using the payload cached by the payment.
+   *
+   * @param payment the payment to use
+   * @return the returned output, depends on the implementation of the image generator.
    * @throws EpcException if the generation failed .
    */
   @Override
-  public String generate(EpcBuilder builder) throws EpcException {
-    String data = builder.build();
-    this.charset = builder.getEncoding().getCharset().name();
-    return createQR(data, hints);
+  public T generate(EpcPayment payment) throws EpcException {
+    return generate(payment.content(metrics()), payment.getEncoding().getCharset());
+  }
+
+  /**
+   * generate the QR code of an already serialized payload, using the cache if configured.
+   *
+   * @param content the EPC payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param charset the charset of the payload
+   * @return the returned output, depends on the implementation of the image generator.
+   * @throws EpcException if the generation failed .
+   */
+  T generate(String content, Charset charset) throws EpcException {
+    try {
+      return generateContent(content, charset);
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      throw ex;
+    }
+  }
+
+  private T generateContent(String content, Charset charset) throws EpcException {
+    if (cache == null) {
+      return createQR(content, charset);
+    }
+    RenderKey key = new RenderKey(content, width, height, format, options);
+    return cache.get(key, () -> createQR(content, charset));
+  }
+
+  /**
+   * generate based on the give builder a QR code and write the image in the configured format to the given stream.
+   * The image is written directly, no cache is used.
+   *
+   * @param builder      the builder to use
+   * @param outputStream the stream to write the image to
+   * @param encoding     the encoding of the image written
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  @Override
+  public void writeTo(EpcBuilder builder, OutputStream outputStream, StreamEncoding encoding) throws EpcException {
+    try {
+      writeImage(rasterize(QrMatrix.encode(builder, options, metrics())), outputStream, encoding);
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      throw ex;
+    } catch (IOException ex) {
+      EpcException failure = new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+      Metrics.failure(metrics(), failure);
+      throw failure;
+    }
   }
 
 }
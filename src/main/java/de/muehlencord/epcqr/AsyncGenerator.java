@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * runs a QR code generation asynchronously. Used by the async methods of {@link QrCodeGenerator}.
+ * <p>
+ * The default executor uses a virtual thread per task if the runtime supports virtual threads (Java 21 and later).
+ * On older runtimes a pool of daemon threads, one per processor, is used. Its queue is bounded to
+ * {@value #QUEUE_PER_THREAD} tasks per thread; under overload further tasks are rejected and their futures fail
+ * with an {@link EpcException} instead of queueing without limit.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class AsyncGenerator {
+
+  /**
+   * the number of queued tasks per thread of the platform thread pool.
+   */
+  static final int QUEUE_PER_THREAD = 256;
+
+  private AsyncGenerator() {
+    // utility class
+  }
+
+  /**
+   * returns the executor used if no executor is given.
+   *
+   * @return the shared default executor
+   */
+  static Executor defaultExecutor() {
+    return DefaultExecutor.INSTANCE;
+  }
+
+  /**
+   * generate the QR code on the given executor. Cancelling the returned future, or completing it otherwise, e.g.
+   * by {@link CompletableFuture#orTimeout(long, TimeUnit)}, cancels the generation: a generation not yet started
+   * is skipped, a running generation is interrupted.
+   *
+   * @param generator the generator to use
+   * @param builder   the builder to generate the QR code for
+   * @param executor  the executor to run the generation on
+   * @param <T>       the output type of the generator
+   * @return the future result of the generation
+   */
+  static <T> CompletableFuture<T> generate(QrCodeGenerator<T> generator, EpcBuilder builder, Executor executor) {
+    return generate(() -> generator.generate(builder), executor);
+  }
+
+  /**
+   * run the given generation on the given executor, see {@link #generate(QrCodeGenerator, EpcBuilder, Executor)}.
+   *
+   * @param generation the generation to run
+   * @param executor   the executor to run the generation on
+   * @param <T>        the output type of the generator
+   * @return the future result of the generation
+   */
+  static <T> CompletableFuture<T> generate(Callable<T> generation, Executor executor) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    FutureTask<T> task = new FutureTask<>(generation) {
+      @Override
+      protected void done() {
+        if (isCancelled()) {
+          result.cancel(false);
+          return;
+        }
+        try {
+          result.complete(get());
+        } catch (ExecutionException ex) {
+          result.completeExceptionally(ex.getCause());
+        } catch (CancellationException | InterruptedException ex) {
+          result.cancel(false);
+        }
+      }
+    };
+    result.whenComplete((value, ex) -> {
+      if (!task.isDone()) {
+        task.cancel(true);
+      }
+    });
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException ex) {
+      result.completeExceptionally(new EpcException(
+        String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex));
+    }
+    return result;
+  }
+
+  /**
+   * lazily created default executor.
+   */
+  private static final class DefaultExecutor {
+
+    private static final Executor INSTANCE = create();
+
+    private static Executor create() {
+      try {
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) method.invoke(null);
+      } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+        // no virtual threads before Java 21, use platform threads
+      }
+      int threads = Runtime.getRuntime().availableProcessors();
+      AtomicInteger counter = new AtomicInteger();
+      ThreadFactory threadFactory = runnable -> {
+        Thread thread = new Thread(runnable, "epc-qr-async-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      };
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+      pool.allowCoreThreadTimeOut(true);
+      return pool;
+    }
+  }
+}
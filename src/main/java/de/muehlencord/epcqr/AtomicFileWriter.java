@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.FsyncPolicy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * writes files via a temporary file in the same directory which is renamed atomically to the target, so a file
+ * either has its old or its complete new content.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class AtomicFileWriter {
+
+  private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT)
+    .startsWith("windows");
+
+  private AtomicFileWriter() {
+    // utility class
+  }
+
+  /**
+   * writes the content to the target file, replacing an existing file.
+   *
+   * @param target  the file to write
+   * @param content writes the content to the given stream
+   * @param fsync   the policy when to force the data to the storage device
+   * @return the number of bytes written
+   * @throws IOException if the file cannot be written, the target is unchanged in this case
+   */
+  static long write(Path target, Content content, FsyncPolicy fsync) throws IOException {
+    Path directory = target.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = directory.resolve(String.format(".%s.%016x.tmp", target.getFileName(),
+      ThreadLocalRandom.current().nextLong()));
+    try {
+      long size;
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 16384);
+        content.writeTo(out);
+        out.flush();
+        size = channel.size();
+        if (fsync != FsyncPolicy.NONE) {
+          channel.force(false);
+        }
+      }
+      move(temp, target);
+      if (fsync == FsyncPolicy.FILE_AND_DIRECTORY) {
+        forceDirectory(directory);
+      }
+      return size;
+    } catch (IOException | RuntimeException ex) {
+      Files.deleteIfExists(temp);
+      throw ex;
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void forceDirectory(Path directory) throws IOException {
+    if (WINDOWS) {
+      // directories cannot be opened on Windows, the rename is durable there anyway
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+  }
+
+  /**
+   * the content of a file.
+   */
+  @FunctionalInterface
+  interface Content {
+
+    /**
+     * write the content.
+     *
+     * @param outputStream the stream to write to, closed by the caller
+     * @throws IOException if writing fails
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
+}
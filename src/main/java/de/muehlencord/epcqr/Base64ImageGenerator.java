@@ -17,20 +17,15 @@
 
 package de.muehlencord.epcqr;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.EncodeHintType;
-import com.google.zxing.MultiFormatWriter;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
 import de.muehlencord.epcqr.model.ImageFormat;
-import lombok.Getter;
+import de.muehlencord.epcqr.model.StreamEncoding;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.io.ByteArrayOutputStream;
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 /**
  * output QrCode has Bae64 encoded image.
@@ -39,13 +34,18 @@ import java.util.Map;
  * @since 1.0.0
  */
 
-public class Base64ImageGenerator extends AbstractImageGenerator implements QrCodeGenerator<String> {
+public class Base64ImageGenerator extends AbstractImageGenerator<String> implements QrCodeGenerator<String> {
 
   /**
    * create a new image generator which return the rendered image base64 encoded string.
    */
   public Base64ImageGenerator() {
-    hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.L);
+    this(DEFAULT_SIZE, DEFAULT_SIZE, ImageFormat.PNG, null, QrOptions.DEFAULT, null);
+  }
+
+  private Base64ImageGenerator(int width, int height, ImageFormat format, RenderCache<String> cache,
+    QrOptions options, GenerationMetrics metrics) {
+    super(width, height, format, cache, options, metrics);
   }
 
   /* *** builder *** */
@@ -53,42 +53,70 @@ public class Base64ImageGenerator extends AbstractImageGenerator implements QrCo
   /**
    * set the target width of the QR code image
    * @param width the width to set
-   * @return the build object
+   * @return a new generator using the given width
    */
   public Base64ImageGenerator withWidth(int width) {
-    this.width = width;
-    return this;
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
   }
 
   /**
    * set the target height of the QR code image
    * @param height the width to set
-   * @return the build object
+   * @return a new generator using the given height
    */
   public Base64ImageGenerator withHeight(int height) {
-    this.height = height;
-    return this;
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the image format of the QR code image
+   * @param format the format to set
+   * @return a new generator using the given format
+   */
+  public Base64ImageGenerator withFormat(ImageFormat format) {
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
   }
 
+  /**
+   * set the cache to look up rendered codes in.
+   * @param cache the cache to use, null to disable caching
+   * @return a new generator using the given cache
+   */
+  public Base64ImageGenerator withCache(RenderCache<String> cache) {
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
+  }
 
   /**
-   * create the QR code
-   * @param data the EPC data in the specified format. Use the EpcBuilder to generate it
-   * @param hints the hints to use
+   * set the symbol options, such as error correction level, margin and version.
+   * @param options the options to use
+   * @return a new generator using the given options
+   */
+  public Base64ImageGenerator withOptions(QrOptions options) {
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the metrics to record into instead of the active metrics, see {@link Metrics#install}.
+   * @param metrics the metrics to use, null to record into the active metrics
+   * @return a new generator using the given metrics
+   */
+  public Base64ImageGenerator withMetrics(GenerationMetrics metrics) {
+    return new Base64ImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+
+  /**
+   * create the image from the rendered QR code
+   * @param image the rendered QR code
    * @return the rendered QR code as base64 encoded string
    * @throws EpcException if the QR code cannot be rendered.
    */
-  protected String createQR(
-    String data, Map<EncodeHintType, ErrorCorrectionLevel> hints
-  ) throws EpcException {
+  protected String createImage(BitMatrix image) throws EpcException {
 
     try {
-      BitMatrix matrix = new MultiFormatWriter()
-        .encode(new String(data.getBytes(charset), charset), BarcodeFormat.QR_CODE, width, height);
-
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-      MatrixToImageWriter.writeToStream(matrix, format.getName(), outputStream);
-      return new String(Base64.getEncoder().encode(outputStream.toByteArray()));
+      writeImage(image, outputStream, StreamEncoding.BASE64);
+      return outputStream.toString(StandardCharsets.ISO_8859_1);
     } catch (Exception ex) {
       throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
     }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * runs a QR code generator over a batch of builders or payments. Used by the batch methods of {@link QrCodeGenerator}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class BatchGenerator {
+
+  private BatchGenerator() {
+    // utility class
+  }
+
+  /**
+   * generate all QR codes on a dedicated fork join pool using the given parallelism.
+   *
+   * @param generator   the generator to use
+   * @param builders    the builders to generate the QR codes for
+   * @param parallelism the number of threads to use
+   * @param <T>         the output type of the generator
+   * @return the results in the order of the input
+   */
+  static <T> List<GenerationResult<T>> generate(QrCodeGenerator<T> generator, Iterable<EpcBuilder> builders,
+    int parallelism) {
+    return run(builders, parallelism, (index, builder) -> generate(generator, index, builder),
+      GenerationResult::failure);
+  }
+
+  /**
+   * generate all QR codes using the given executor.
+   *
+   * @param generator the generator to use
+   * @param builders  the builders to generate the QR codes for
+   * @param executor  the executor to run the generation on
+   * @param <T>       the output type of the generator
+   * @return the results in the order of the input
+   */
+  static <T> List<GenerationResult<T>> generate(QrCodeGenerator<T> generator, Iterable<EpcBuilder> builders,
+    Executor executor) {
+    return run(builders, executor, (index, builder) -> generate(generator, index, builder),
+      GenerationResult::failure);
+  }
+
+  /**
+   * generate the QR codes of all payments on a dedicated fork join pool using the given parallelism.
+   *
+   * @param generator   the generator to use
+   * @param payments    the payments to generate the QR codes for
+   * @param parallelism the number of threads to use
+   * @param <T>         the output type of the generator
+   * @return the results in the order of the input
+   */
+  static <T> List<GenerationResult<T>> generatePayments(QrCodeGenerator<T> generator, Iterable<EpcPayment> payments,
+    int parallelism) {
+    return run(payments, parallelism, (index, payment) -> generate(generator, index, payment),
+      GenerationResult::failure);
+  }
+
+  /**
+   * generate the QR codes of all payments using the given executor.
+   *
+   * @param generator the generator to use
+   * @param payments  the payments to generate the QR codes for
+   * @param executor  the executor to run the generation on
+   * @param <T>       the output type of the generator
+   * @return the results in the order of the input
+   */
+  static <T> List<GenerationResult<T>> generatePayments(QrCodeGenerator<T> generator, Iterable<EpcPayment> payments,
+    Executor executor) {
+    return run(payments, executor, (index, payment) -> generate(generator, index, payment),
+      GenerationResult::failure);
+  }
+
+  private static <I, T> List<GenerationResult<T>> run(Iterable<I> inputs, int parallelism, Task<I, T> task,
+    Failure<I, T> failure) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(String.format("parallelism must be at least 1, is %s", parallelism));
+    }
+    if (parallelism == 1) {
+      List<GenerationResult<T>> results = new ArrayList<>();
+      int index = 0;
+      for (I input : inputs) {
+        results.add(task.run(index++, input));
+      }
+      return results;
+    }
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return run(inputs, pool, task, failure);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static <I, T> List<GenerationResult<T>> run(Iterable<I> inputs, Executor executor, Task<I, T> task,
+    Failure<I, T> failure) {
+    List<CompletableFuture<GenerationResult<T>>> futures = new ArrayList<>();
+    int index = 0;
+    for (I input : inputs) {
+      int position = index++;
+      try {
+        futures.add(CompletableFuture.supplyAsync(() -> task.run(position, input), executor));
+      } catch (RejectedExecutionException ex) {
+        // keep the results already submitted, the rejected input fails like any other
+        EpcException error = new EpcException(String.format("Failed to generate QR code. Reason: %s",
+          ExceptionUtils.getRootCauseMessage(ex)), ex);
+        futures.add(CompletableFuture.completedFuture(failure.of(position, input, error)));
+      }
+    }
+
+    List<GenerationResult<T>> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<GenerationResult<T>> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  private static <T> GenerationResult<T> generate(QrCodeGenerator<T> generator, int index, EpcBuilder builder) {
+    try {
+      return GenerationResult.success(index, builder, generator.generate(builder));
+    } catch (EpcException ex) {
+      return GenerationResult.failure(index, builder, ex);
+    } catch (RuntimeException ex) {
+      return GenerationResult.failure(index, builder, wrap(ex));
+    }
+  }
+
+  private static <T> GenerationResult<T> generate(QrCodeGenerator<T> generator, int index, EpcPayment payment) {
+    try {
+      return GenerationResult.success(index, payment, generator.generate(payment));
+    } catch (EpcException ex) {
+      return GenerationResult.failure(index, payment, ex);
+    } catch (RuntimeException ex) {
+      return GenerationResult.failure(index, payment, wrap(ex));
+    }
+  }
+
+  private static EpcException wrap(RuntimeException ex) {
+    return new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+  }
+
+  /**
+   * generates the QR code of one input of a batch.
+   */
+  @FunctionalInterface
+  private interface Task<I, T> {
+
+    GenerationResult<T> run(int index, I input);
+  }
+
+  /**
+   * creates the result of an input which could not be submitted to the executor.
+   */
+  @FunctionalInterface
+  private interface Failure<I, T> {
+
+    GenerationResult<T> of(int index, I input, EpcException error);
+  }
+}
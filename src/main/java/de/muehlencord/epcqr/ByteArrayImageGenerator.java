@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.common.BitMatrix;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.model.ImageFormat;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * output QrCode as raw image bytes in the configured image format.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class ByteArrayImageGenerator extends AbstractImageGenerator<byte[]> implements QrCodeGenerator<byte[]> {
+
+  /**
+   * create a new image generator which returns the rendered image as byte array.
+   */
+  public ByteArrayImageGenerator() {
+    this(DEFAULT_SIZE, DEFAULT_SIZE, ImageFormat.PNG, null, QrOptions.DEFAULT, null);
+  }
+
+  private ByteArrayImageGenerator(int width, int height, ImageFormat format, RenderCache<byte[]> cache,
+    QrOptions options, GenerationMetrics metrics) {
+    super(width, height, format, cache, options, metrics);
+  }
+
+  /* *** builder *** */
+
+  /**
+   * set the target width of the QR code image
+   * @param width the width to set
+   * @return a new generator using the given width
+   */
+  public ByteArrayImageGenerator withWidth(int width) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the target height of the QR code image
+   * @param height the width to set
+   * @return a new generator using the given height
+   */
+  public ByteArrayImageGenerator withHeight(int height) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the image format of the QR code image
+   * @param format the format to set
+   * @return a new generator using the given format
+   */
+  public ByteArrayImageGenerator withFormat(ImageFormat format) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the cache to look up rendered codes in. The returned arrays are shared between callers and must not be
+   * modified.
+   * @param cache the cache to use, null to disable caching
+   * @return a new generator using the given cache
+   */
+  public ByteArrayImageGenerator withCache(RenderCache<byte[]> cache) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the symbol options, such as error correction level, margin and version.
+   * @param options the options to use
+   * @return a new generator using the given options
+   */
+  public ByteArrayImageGenerator withOptions(QrOptions options) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+  /**
+   * set the metrics to record into instead of the active metrics, see {@link Metrics#install}.
+   * @param metrics the metrics to use, null to record into the active metrics
+   * @return a new generator using the given metrics
+   */
+  public ByteArrayImageGenerator withMetrics(GenerationMetrics metrics) {
+    return new ByteArrayImageGenerator(width, height, format, cache, options, metrics);
+  }
+
+
+  /**
+   * create the image from the rendered QR code
+   * @param image the rendered QR code
+   * @return the rendered QR code image
+   * @throws EpcException if the QR code cannot be rendered.
+   */
+  protected byte[] createImage(BitMatrix image) throws EpcException {
+    try {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      writeImage(image, outputStream);
+      return outputStream.toByteArray();
+    } catch (Exception ex) {
+      throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+}
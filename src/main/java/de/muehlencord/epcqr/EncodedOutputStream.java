@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.StreamEncoding;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * applies a {@link StreamEncoding} to the bytes written. Closing this stream finishes the encoding and flushes the
+ * target, the target itself stays open.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class EncodedOutputStream extends FilterOutputStream {
+
+  private EncodedOutputStream(OutputStream encoded) {
+    super(encoded);
+  }
+
+  /**
+   * open a stream which writes the encoded bytes to the given target.
+   *
+   * @param target   the stream to write to
+   * @param encoding the encoding to apply
+   * @param mimeType the mime type of the data, used for data URIs
+   * @return the stream to write the raw bytes to
+   * @throws IOException if the data URI prefix cannot be written
+   */
+  static EncodedOutputStream open(OutputStream target, StreamEncoding encoding, String mimeType)
+    throws IOException {
+    OutputStream shielded = new FilterOutputStream(target) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        // keep the target open
+        flush();
+      }
+    };
+    switch (encoding) {
+      case DATA_URI:
+        target.write(("data:" + mimeType + ";base64,").getBytes(StandardCharsets.US_ASCII));
+        return new EncodedOutputStream(Base64.getEncoder().wrap(shielded));
+      case BASE64:
+        return new EncodedOutputStream(Base64.getEncoder().wrap(shielded));
+      default:
+        return new EncodedOutputStream(shielded);
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+  }
+
+  @Override
+  public void close() throws IOException {
+    // finishes the encoding and flushes the target, see open
+    out.close();
+  }
+}
@@ -17,12 +17,19 @@
 
 package de.muehlencord.epcqr;
 
+import de.muehlencord.epcqr.jfr.PayloadEvent;
 import de.muehlencord.epcqr.model.Currency;
 import de.muehlencord.epcqr.model.Encoding;
 import de.muehlencord.epcqr.model.Version;
+import de.muehlencord.epcqr.validation.BicValidator;
+import de.muehlencord.epcqr.validation.IbanValidator;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+import de.muehlencord.epcqr.validation.ValidationReport;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 
@@ -34,11 +41,23 @@ import java.text.DecimalFormatSymbols;
  */
 
 @Getter
-public class EpcBuilder {
+public class EpcBuilder implements PaymentFields {
 
-  private final DecimalFormat numberFormat;
+  private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+  private static final BigDecimal MAX_AMOUNT = new BigDecimal("999999999.99");
+
+  /**
+   * not used for the payload, created on first access, see {@link #getNumberFormat()}.
+   */
+  @Getter(AccessLevel.NONE)
+  private DecimalFormat numberFormat;
 
   private Version version;
+
+  /**
+   * the configured encoding, the payload uses {@link #getEncoding()}.
+   */
+  @Getter(AccessLevel.NONE)
   private Encoding encoding;
   private String bic = null;
   private String recipient;
@@ -52,21 +71,57 @@ public class EpcBuilder {
   private String purposeText;
   private String note;
 
+  /**
+   * true, if IBAN and BIC are validated, see {@link #withAccountValidation(boolean)}.
+   */
+  private boolean accountValidation;
+
+  /**
+   * true, if the most compact encoding is used, see {@link #withAutomaticEncoding(boolean)}.
+   */
+  private boolean automaticEncoding;
+
   /**
    * create a new instance of the EpcBuilder. By default it uses Version 2 of the EPC spec with
    * UTF-8 encoding and currency Euro.
    */
   public EpcBuilder() {
-    DecimalFormatSymbols decimalFormatSymbols = DecimalFormatSymbols.getInstance();
-    decimalFormatSymbols.setDecimalSeparator('.');
-
-    this.numberFormat = new DecimalFormat("#.##", decimalFormatSymbols);
-
     this.version = Version.V002;
     this.encoding = Encoding.UTF_8;
     this.currency = Currency.EUR;
   }
 
+  /**
+   * returns a number format using a dot as decimal separator and at most two decimals. The payload does not use
+   * it, amounts are formatted exactly by {@link EpcPayloadWriter}.
+   *
+   * @return the number format, created on first call
+   * @deprecated not used by the library anymore, will be removed
+   */
+  @Deprecated
+  public DecimalFormat getNumberFormat() {
+    if (numberFormat == null) {
+      DecimalFormatSymbols decimalFormatSymbols = DecimalFormatSymbols.getInstance();
+      decimalFormatSymbols.setDecimalSeparator('.');
+      numberFormat = new DecimalFormat("#.##", decimalFormatSymbols);
+    }
+    return numberFormat;
+  }
+
+  /**
+   * returns the encoding of the payload. If automatic encoding is enabled, this is the most compact encoding which
+   * can represent all fields, resolved on each call, see {@link Encoding#compact(Encoding, CharSequence...)}. The
+   * generators resolve it once per payload, see {@link EpcPayloadWriter#getEncoding()}.
+   *
+   * @return the encoding used for the payload
+   */
+  public Encoding getEncoding() {
+    if (!automaticEncoding) {
+      return encoding;
+    }
+    return Encoding.compact(encoding, bic, recipient, iban, purposeCode, structuredReference, purposeText, note);
+  }
+
   /* *** setter *** */
 
   /**
@@ -123,17 +178,50 @@ public class EpcBuilder {
     return this;
   }
 
+  /**
+   * enables the validation of IBAN and BIC. If enabled, {@link #withIban(String)} checks length, structure and
+   * check digits of the IBAN (see {@link IbanValidator}) and {@link #withBic(String)} the structure of the BIC (see
+   * {@link BicValidator}). Values set before are validated by {@link #build()}. Disabled by default.
+   *
+   * @param accountValidation true to validate IBAN and BIC
+   * @return the builder
+   */
+  public EpcBuilder withAccountValidation(boolean accountValidation) {
+    this.accountValidation = accountValidation;
+    return this;
+  }
+
+  /**
+   * enables the automatic selection of the encoding. If enabled, the configured encoding is only used if all
+   * fields are ASCII or if it is a single byte encoding which can represent all fields. Otherwise the first of
+   * ISO-8859-1, ISO-8859-15, ISO-8859-2, ISO-8859-4, ISO-8859-5 and ISO-8859-7 which can represent all fields is
+   * used and UTF-8 only if none can. As each character takes a single byte, umlauts and accents no longer count
+   * twice against the payload limit of {@value PaymentValidator#MAX_PAYLOAD_BYTES} bytes and the QR code often
+   * needs a smaller version. A {@link PayeeTemplate} selects the encoding once, from the fields set when it is
+   * created. Disabled by default.
+   *
+   * @param automaticEncoding true to select the most compact encoding
+   * @return the builder
+   */
+  public EpcBuilder withAutomaticEncoding(boolean automaticEncoding) {
+    this.automaticEncoding = automaticEncoding;
+    return this;
+  }
+
   /**
    * sets the bic to be used.
    *
    * @param bic the value of the bic to be used. When using Version 2 of EPC, the value of the BIC is optional for SCT transfers.
    * @return the builder
-   * @throws EpcException if bic is null
+   * @throws EpcException if bic is null or, with account validation enabled, not a valid BIC
    */
   public EpcBuilder withBic(String bic) throws EpcException {
     if (bic == null) {
       throw new EpcException("BIC must not be null");
     }
+    if (accountValidation && !bic.isEmpty()) {
+      BicValidator.assertValid(bic);
+    }
     this.bic = bic;
     return this;
   }
@@ -157,20 +245,21 @@ public class EpcBuilder {
   /**
    * sets the iban to be used.
    *
-   * @param iban sets the iban to be used. Note: there is NO validation of the iban specified.
+   * @param iban sets the iban to be used, spaces are removed. The iban is only validated if account validation is
+   *             enabled, see {@link #withAccountValidation(boolean)}.
    * @return the builder
-   * @throws EpcException if the iban is null.
+   * @throws EpcException if the iban is null or, with account validation enabled, not a valid iban.
    */
   public EpcBuilder withIban(String iban) throws EpcException {
     if (iban == null) {
       throw new EpcException("IBAN must not be null");
     }
-    try {
-      this.iban = iban.trim().replace(" ", "");
-      return this;
-    } catch (Exception ex) {
-      throw new EpcException(String.format("IBAN not valid. %s", ex.getMessage()));
+    String value = iban.trim().replace(" ", "");
+    if (accountValidation) {
+      IbanValidator.assertValid(value);
     }
+    this.iban = value;
+    return this;
   }
 
   /**
@@ -286,7 +375,49 @@ public class EpcBuilder {
     }
   }
 
-  private void validate() throws EpcException {
+  /**
+   * asserts the amount is within the range allowed by the EPC guidelines after rounding to cents.
+   */
+  static void assertAmountRange(BigDecimal paymentAmount) throws EpcException {
+    BigDecimal rounded = paymentAmount.setScale(2, RoundingMode.HALF_EVEN);
+    if (rounded.compareTo(MIN_AMOUNT) < 0 || rounded.compareTo(MAX_AMOUNT) > 0) {
+      throw new EpcException(String.format("paymentAmount %s is not between %s and %s",
+        paymentAmount.toPlainString(), MIN_AMOUNT, MAX_AMOUNT));
+    }
+  }
+
+  /**
+   * asserts the value can be represented in the encoding, so no character is replaced by '?' in the payload.
+   */
+  static void assertMappable(Encoding encoding, String key, String value) throws EpcException {
+    if (!encoding.canEncode(value)) {
+      throw new EpcException(String.format("%s contains characters not supported by %s", key,
+        encoding.getCharset().name()));
+    }
+  }
+
+  void validate() throws EpcException {
+    Encoding resolved = getEncoding();
+    validatePayee(resolved);
+    assertSet("paymentAmount", paymentAmount);
+    assertSet("purposeText", purposeText);
+    assertAmountRange(paymentAmount);
+    assertMappable(resolved, "purposeText", purposeText);
+    assertMappable(resolved, "note", note);
+  }
+
+
+  /**
+   * validates the fields identifying the payee, which are shared by all payments to the same payee. See
+   * {@link PayeeTemplate}.
+   *
+   * @throws EpcException if a mandatory field of the payee is missing or the recipient cannot be encoded
+   */
+  void validatePayee() throws EpcException {
+    validatePayee(getEncoding());
+  }
+
+  private void validatePayee(Encoding resolved) throws EpcException {
     if (Version.V001.equals(version) && bic == null) {
       // version 1 requires BIC to be set
       throw new EpcException("BIC must be set when using Version 001");
@@ -294,13 +425,43 @@ public class EpcBuilder {
     assertSet("recipient", recipient);
     assertSet("iban", iban);
     assertSet("currency", currency);
-    assertSet("paymentAmount", paymentAmount);
-    assertSet("purposeText", purposeText);
+    assertMappable(resolved, "recipient", recipient);
+    if (accountValidation) {
+      IbanValidator.assertValid(iban);
+      if (bic != null && !bic.isEmpty()) {
+        BicValidator.assertValid(bic);
+      }
+    }
   }
 
+  /**
+   * checks the current state against all rules of the EPC guidelines including the payload size. These are the
+   * rules {@link #build()} and the generators enforce, but all violations are reported and no exception is thrown.
+   *
+   * @return the report listing all violations, see {@link PaymentValidator}
+   */
+  public ValidationReport validateAll() {
+    return PaymentValidator.validate(this);
+  }
 
   /* *** build *** */
 
+  /**
+   * create an immutable payment of the current state. The payment keeps its serialized payload and hash once
+   * used, so it is cheaper than the builder for repeated generation, as cache key or for queues. Later changes of
+   * the builder do not affect the payment.
+   *
+   * @return the validated payment, its payload is already serialized
+   * @throws EpcException if the setup is incomplete or the payload is too large, see {@link #build()}
+   */
+  public EpcPayment toPayment() throws EpcException {
+    validate();
+    EpcPayment payment = new EpcPayment(this);
+    // serializes the payload once, it is kept by the payment
+    EpcPayloadWriter.assertMaxLength(payment.getPayloadLength());
+    return payment;
+  }
+
   private String getValueString(String value) {
     if (value == null) {
       return "";
@@ -318,10 +479,7 @@ public class EpcBuilder {
    * @throws EpcException if the string cannot be constructed.
    */
   private String getValueString(Currency currency, BigDecimal value) throws EpcException {
-    if (currency == null || value == null) {
-      throw new EpcException("Currency and value are required");
-    }
-    return String.format("%s%s", currency.getLabel(), numberFormat.format(value.doubleValue()));
+    return EpcPayloadWriter.formatAmount(currency, value);
   }
 
 
@@ -331,12 +489,16 @@ public class EpcBuilder {
    *
    * @return an EPC validated string
    * @throws EpcException if the setup is incomplete - e.g. mandatory information like recipient name
-   *                      are missing.
+   *                      are missing - or the encoded payload exceeds
+   *                      {@value PaymentValidator#MAX_PAYLOAD_BYTES} bytes.
    */
   public String build() throws EpcException {
+    PayloadEvent event = new PayloadEvent();
+    event.begin();
     validate();
+    Encoding encoding = getEncoding();
 
-    StringBuilder sb = new StringBuilder();
+    StringBuilder sb = new StringBuilder(256);
     // 1 - BCD
     sb.append("BCD").append(System.lineSeparator());
     // 2 - Version
@@ -362,7 +524,14 @@ public class EpcBuilder {
     // 12 - note
     sb.append(getValueString(note)).append(System.lineSeparator());
 
-    return sb.toString();
+    String payload = sb.toString();
+    int length = payload.getBytes(encoding.getCharset()).length;
+    EpcPayloadWriter.assertMaxLength(length);
+    if (event.shouldCommit()) {
+      event.set(length, encoding.name());
+      event.commit();
+    }
+    return payload;
   }
 
 
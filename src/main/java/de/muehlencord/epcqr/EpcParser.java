@@ -0,0 +1,399 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * parses the payload of a scanned EPC QR code back into its fields, see {@link ParsedPayment}. Accepts the text of
+ * the code or its raw bytes, lines separated by LF or CRLF. Trailing empty lines may be omitted, so a payload needs
+ * at least the 7 lines up to the IBAN.
+ * <p>
+ * The input is scanned once for the line breaks, each field is then copied directly from its position. Malformed
+ * payloads are rejected with an {@link EpcException} naming the line and field, e.g. "Invalid EPC payload, line 7
+ * (IBAN): must have 1 to 34 characters, but is empty".
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class EpcParser {
+
+  private static final int LINES = 12;
+  private static final int MIN_LINES = 7;
+  private static final String[] FIELDS = {"service tag", "version", "encoding", "identification", "BIC",
+    "recipient", "IBAN", "amount", "purpose code", "structured reference", "purpose text", "note"};
+  private static final BigDecimal MAX_AMOUNT = new BigDecimal("999999999.99");
+
+  private static final ThreadLocal<Map<Encoding, CharsetDecoder>> DECODERS =
+    ThreadLocal.withInitial(() -> new EnumMap<>(Encoding.class));
+
+  private EpcParser() {
+    // only static methods
+  }
+
+  /**
+   * parse the text of an EPC QR code.
+   *
+   * @param text the decoded text of the code
+   * @return the fields of the payment
+   * @throws EpcException if the text is not a valid EPC payload
+   */
+  public static ParsedPayment parse(CharSequence text) throws EpcException {
+    if (text == null) {
+      throw new EpcException("Payload must not be null");
+    }
+    return parse(new TextSource(text));
+  }
+
+  /**
+   * parse the raw bytes of an EPC QR code. The fields are decoded with the encoding declared in line 3.
+   *
+   * @param payload the bytes of the code
+   * @return the fields of the payment
+   * @throws EpcException if the bytes are not a valid EPC payload
+   */
+  public static ParsedPayment parse(byte[] payload) throws EpcException {
+    if (payload == null) {
+      throw new EpcException("Payload must not be null");
+    }
+    return parse(payload, 0, payload.length);
+  }
+
+  /**
+   * parse the raw bytes of an EPC QR code. The fields are decoded with the encoding declared in line 3.
+   *
+   * @param payload the buffer holding the bytes of the code
+   * @param offset  the position of the first byte
+   * @param length  the number of bytes
+   * @return the fields of the payment
+   * @throws EpcException if the bytes are not a valid EPC payload
+   */
+  public static ParsedPayment parse(byte[] payload, int offset, int length) throws EpcException {
+    if (payload == null) {
+      throw new EpcException("Payload must not be null");
+    }
+    if (offset < 0 || length < 0 || offset > payload.length - length) {
+      throw new EpcException(String.format("Invalid range %d + %d of payload with %d bytes", offset, length,
+        payload.length));
+    }
+    if (length > PaymentValidator.MAX_PAYLOAD_BYTES) {
+      throw new EpcException(String.format("Invalid EPC payload: %d bytes, maximum is %d", length, PaymentValidator.MAX_PAYLOAD_BYTES));
+    }
+    return parse(new ByteSource(payload, offset, length));
+  }
+
+  private static ParsedPayment parse(Source source) throws EpcException {
+    int[] starts = new int[LINES];
+    int[] ends = new int[LINES];
+    int lines = 0;
+    int pos = 0;
+    int length = source.length();
+    while (pos < length) {
+      if (lines == LINES) {
+        throw new EpcException(String.format("Invalid EPC payload: more than %d lines", LINES));
+      }
+      int end = pos;
+      while (end < length && source.at(end) != '\n') {
+        end++;
+      }
+      int lineEnd = end > pos && source.at(end - 1) == '\r' ? end - 1 : end;
+      for (int i = pos; i < lineEnd; i++) {
+        if (source.at(i) == '\r') {
+          throw error(lines, String.format("carriage return without line feed at position %d", i - pos + 1));
+        }
+      }
+      starts[lines] = pos;
+      ends[lines] = lineEnd;
+      lines++;
+      pos = end + 1;
+    }
+    if (lines < MIN_LINES) {
+      throw new EpcException(String.format("Invalid EPC payload: expected at least %d lines up to the IBAN, but found %d",
+        MIN_LINES, lines));
+    }
+
+    expect(source, 0, starts[0], ends[0], "BCD");
+    Version version;
+    if (matches(source, starts[1], ends[1], "001")) {
+      version = Version.V001;
+    } else if (matches(source, starts[1], ends[1], "002")) {
+      version = Version.V002;
+    } else {
+      throw error(1, String.format("expected 001 or 002, but is '%s'", source.ascii(starts[1], ends[1])));
+    }
+    Encoding encoding = encoding(source, starts[2], ends[2]);
+    source.setEncoding(encoding);
+    expect(source, 3, starts[3], ends[3], "SCT");
+
+    String bic = optional(source, 4, starts[4], ends[4], 11);
+    if (bic == null && version == Version.V001) {
+      throw error(4, "must be set when using version 001");
+    } else if (bic != null && bic.length() != 8 && bic.length() != 11) {
+      throw error(4, String.format("must have 8 or 11 characters, but has %d", bic.length()));
+    }
+    String recipient = required(source, 5, starts[5], ends[5], 70);
+    String iban = required(source, 6, starts[6], ends[6], 34);
+
+    Currency currency = null;
+    BigDecimal amount = null;
+    if (lines > 7 && starts[7] < ends[7]) {
+      currency = currency(source, starts[7], ends[7]);
+      amount = amount(source, starts[7] + 3, ends[7]);
+    }
+    String purposeCode = lines > 8 ? optional(source, 8, starts[8], ends[8], 4) : null;
+    String reference = lines > 9 ? optional(source, 9, starts[9], ends[9], 35) : null;
+    String purposeText = lines > 10 ? optional(source, 10, starts[10], ends[10], 140) : null;
+    if (reference != null && purposeText != null) {
+      throw error(10, "must be empty if a structured reference is given");
+    }
+    String note = lines > 11 ? optional(source, 11, starts[11], ends[11], 70) : null;
+
+    int bytes = source.encodedLength();
+    if (bytes > PaymentValidator.MAX_PAYLOAD_BYTES) {
+      throw new EpcException(String.format("Invalid EPC payload: %d bytes, maximum is %d", bytes, PaymentValidator.MAX_PAYLOAD_BYTES));
+    }
+    return new ParsedPayment(version, encoding, bic, recipient, iban, currency, amount, purposeCode, reference,
+      purposeText, note);
+  }
+
+  private static EpcException error(int line, String problem) {
+    return new EpcException(String.format("Invalid EPC payload, line %d (%s): %s", line + 1, FIELDS[line], problem));
+  }
+
+  private static boolean matches(Source source, int start, int end, String expected) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (source.at(start + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void expect(Source source, int line, int start, int end, String expected) throws EpcException {
+    if (!matches(source, start, end, expected)) {
+      throw error(line, String.format("expected %s, but is '%s'", expected, source.ascii(start, end)));
+    }
+  }
+
+  private static Encoding encoding(Source source, int start, int end) throws EpcException {
+    int value = end - start == 1 ? source.at(start) - '0' : -1;
+    for (Encoding encoding : Encoding.values()) {
+      if (encoding.getValue() == value) {
+        return encoding;
+      }
+    }
+    throw error(2, String.format("unsupported encoding '%s'", source.ascii(start, end)));
+  }
+
+  private static String required(Source source, int line, int start, int end, int maxLength) throws EpcException {
+    String value = optional(source, line, start, end, maxLength);
+    if (value == null) {
+      throw error(line, String.format("must have 1 to %d characters, but is empty", maxLength));
+    }
+    return value;
+  }
+
+  private static String optional(Source source, int line, int start, int end, int maxLength) throws EpcException {
+    if (start == end) {
+      return null;
+    }
+    String value;
+    try {
+      value = source.text(start, end);
+    } catch (CharacterCodingException ex) {
+      throw error(line, String.format("contains bytes not valid in %s", source.encoding.getCharset().name()));
+    }
+    if (value.length() > maxLength) {
+      throw error(line, String.format("must have 1 to %d characters, but has %d", maxLength, value.length()));
+    }
+    return value;
+  }
+
+  private static Currency currency(Source source, int start, int end) throws EpcException {
+    if (end - start < 4) {
+      throw error(7, String.format("expected currency and amount, e.g. EUR12.3, but is '%s'", source.ascii(start, end)));
+    }
+    String label = source.ascii(start, start + 3);
+    for (Currency currency : Currency.values()) {
+      if (currency.getLabel().equals(label)) {
+        return currency;
+      }
+    }
+    throw error(7, String.format("unsupported currency '%s'", label));
+  }
+
+  private static BigDecimal amount(Source source, int start, int end) throws EpcException {
+    long unscaled = 0;
+    int scale = -1;
+    int digits = 0;
+    for (int i = start; i < end; i++) {
+      int c = source.at(i);
+      if (c == '.' && scale < 0 && digits > 0) {
+        scale = 0;
+      } else if (c >= '0' && c <= '9' && scale < 2 && digits < 11) {
+        unscaled = unscaled * 10 + (c - '0');
+        digits++;
+        if (scale >= 0) {
+          scale++;
+        }
+      } else {
+        throw error(7, String.format("invalid amount '%s' at position %d, expected up to 9 digits with up to 2 decimals",
+          source.ascii(start, end), i - start + 4));
+      }
+    }
+    if (scale == 0) {
+      throw error(7, String.format("invalid amount '%s', expected digits after the decimal point",
+        source.ascii(start, end)));
+    }
+    BigDecimal amount = BigDecimal.valueOf(unscaled, Math.max(scale, 0));
+    if (unscaled == 0 || amount.compareTo(MAX_AMOUNT) > 0) {
+      throw error(7, String.format("amount %s is not between 0.01 and %s", amount.toPlainString(), MAX_AMOUNT));
+    }
+    return amount;
+  }
+
+  /**
+   * the input of the parser, either characters or bytes.
+   */
+  private abstract static class Source {
+
+    protected Encoding encoding = Encoding.UTF_8;
+
+    abstract int length();
+
+    /**
+     * @return the character or the unsigned byte at the given position
+     */
+    abstract int at(int index);
+
+    /**
+     * @return the field at the given position, decoded with the encoding of the payload
+     */
+    abstract String text(int start, int end) throws CharacterCodingException;
+
+    /**
+     * @return the number of bytes of the payload in its encoding
+     */
+    abstract int encodedLength();
+
+    void setEncoding(Encoding encoding) {
+      this.encoding = encoding;
+    }
+
+    /**
+     * @return the given range for error messages, one character per byte
+     */
+    String ascii(int start, int end) {
+      StringBuilder sb = new StringBuilder(end - start);
+      for (int i = start; i < end && i < start + 40; i++) {
+        sb.append((char) at(i));
+      }
+      return sb.toString();
+    }
+  }
+
+  private static final class TextSource extends Source {
+
+    private final CharSequence text;
+
+    private TextSource(CharSequence text) {
+      this.text = text;
+    }
+
+    @Override
+    int length() {
+      return text.length();
+    }
+
+    @Override
+    int at(int index) {
+      return text.charAt(index);
+    }
+
+    @Override
+    String text(int start, int end) {
+      return text.subSequence(start, end).toString();
+    }
+
+    @Override
+    int encodedLength() {
+      for (int i = 0; i < text.length(); i++) {
+        if (text.charAt(i) >= 0x80) {
+          return text.toString().getBytes(encoding.getCharset()).length;
+        }
+      }
+      return text.length();
+    }
+  }
+
+  private static final class ByteSource extends Source {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private ByteSource(byte[] bytes, int offset, int length) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    int length() {
+      return length;
+    }
+
+    @Override
+    int at(int index) {
+      return bytes[offset + index] & 0xFF;
+    }
+
+    @Override
+    String text(int start, int end) throws CharacterCodingException {
+      for (int i = offset + start; i < offset + end; i++) {
+        if (bytes[i] < 0) {
+          CharsetDecoder decoder = DECODERS.get().computeIfAbsent(encoding, e -> e.getCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT));
+          return decoder.reset().decode(ByteBuffer.wrap(bytes, offset + start, end - start)).toString();
+        }
+      }
+      // all supported encodings are ASCII compatible
+      return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    int encodedLength() {
+      return length;
+    }
+  }
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.jfr.PayloadEvent;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * serializes the EPC payload of a builder directly into bytes of the selected encoding. The buffer is reused
+ * between calls, so after warm up serializing a payload allocates next to nothing. Instances are not thread-safe,
+ * use one writer per thread.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class EpcPayloadWriter {
+
+  /**
+   * reusable writer per thread, used by the generators which are shared between threads.
+   */
+  private static final ThreadLocal<EpcPayloadWriter> WRITER = ThreadLocal.withInitial(EpcPayloadWriter::new);
+
+  private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * maximum number of characters of a formatted amount using the fast path.
+   */
+  private static final int AMOUNT_CHARS = 24;
+
+  private byte[] buffer = new byte[512];
+  private int length = 0;
+  private Encoding encoding;
+  private final char[] amountChars = new char[AMOUNT_CHARS];
+  private final Map<Encoding, CharsetEncoder> encoders = new EnumMap<>(Encoding.class);
+
+  /**
+   * serialize the payload of the given builder. The result is available through {@link #getBuffer()} and
+   * {@link #getLength()} until the next call.
+   *
+   * @param builder the builder to serialize
+   * @return the number of bytes written
+   * @throws EpcException if the setup of the builder is incomplete or the payload exceeds
+   *                      {@link PaymentValidator#MAX_PAYLOAD_BYTES}
+   */
+  public int write(EpcBuilder builder) throws EpcException {
+    builder.validate();
+
+    encoding = builder.getEncoding();
+    length = 0;
+    writePayee(builder, encoding);
+    writeAmountValue(builder.getPaymentAmount(), encoding);
+    writePayment(builder.getPurposeCode(), builder.getStructuredReference(), builder.getPurposeText(),
+      builder.getNote(), encoding);
+    assertMaxLength(length);
+    return length;
+  }
+
+  /**
+   * serialize the payload of the given payment. The result is available through {@link #getBuffer()} and
+   * {@link #getLength()} until the next call.
+   *
+   * @param payment the payment to serialize, validated when it was created
+   * @return the number of bytes written
+   */
+  public int write(EpcPayment payment) {
+    encoding = payment.getEncoding();
+    length = 0;
+    writePayee(payment.getVersion(), encoding, payment.getBic(), payment.getRecipient(), payment.getIban(),
+      payment.getCurrency());
+    writeAmountValue(payment.getPaymentAmount(), encoding);
+    writePayment(null, null, payment.getPurposeText(), payment.getNote(), encoding);
+    return length;
+  }
+
+  /**
+   * serialize the payload of the given template and payment. The result is available through {@link #getBuffer()}
+   * and {@link #getLength()} until the next call.
+   *
+   * @param template      the template holding the encoded payee
+   * @param paymentAmount the amount, must not be null
+   * @param purposeText   the purpose text, must not be null
+   * @param note          the note, may be null
+   * @return the number of bytes written
+   * @throws EpcException if the payload exceeds {@link PaymentValidator#MAX_PAYLOAD_BYTES}
+   */
+  int write(PayeeTemplate template, BigDecimal paymentAmount, String purposeText, String note)
+    throws EpcException {
+    byte[] prefix = template.getPrefix();
+    encoding = template.getEncoding();
+    length = 0;
+    ensureCapacity(prefix.length);
+    System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+    length = prefix.length;
+    writeAmountValue(paymentAmount, encoding);
+    writePayment(null, null, purposeText, note, encoding);
+    assertMaxLength(length);
+    return length;
+  }
+
+  /**
+   * serialize the constant part of the payload, from the service tag up to the currency of the amount.
+   *
+   * @param builder the builder holding the payee, see {@link EpcBuilder#validatePayee()}
+   * @return the encoded bytes
+   */
+  static byte[] payeePrefix(EpcBuilder builder) {
+    EpcPayloadWriter writer = new EpcPayloadWriter();
+    writer.writePayee(builder, builder.getEncoding());
+    return writer.toByteArray();
+  }
+
+  /**
+   * checks the size of a serialized payload against the limit of the EPC guidelines.
+   *
+   * @param length the number of bytes of the payload
+   * @throws EpcException if the payload exceeds {@link PaymentValidator#MAX_PAYLOAD_BYTES}
+   */
+  static void assertMaxLength(int length) throws EpcException {
+    if (length > PaymentValidator.MAX_PAYLOAD_BYTES) {
+      throw new EpcException(String.format("payload has %s bytes, maximum is %s", length,
+        PaymentValidator.MAX_PAYLOAD_BYTES));
+    }
+  }
+
+  private void writePayee(EpcBuilder builder, Encoding encoding) {
+    writePayee(builder.getVersion(), encoding, builder.getBic(), builder.getRecipient(),
+      builder.getIban(), builder.getCurrency());
+  }
+
+  private void writePayee(Version version, Encoding encoding, String bic, String recipient, String iban,
+    Currency currency) {
+    // 1 - BCD
+    line("BCD", encoding);
+    // 2 - Version
+    line(version.getLabel(), encoding);
+    // 3 - Encoding
+    writeInt(encoding.getValue());
+    newLine();
+    // 4 - Identification
+    line("SCT", encoding);
+    // 5 - BIC
+    line(bic, encoding);
+    // 6 - recipient
+    line(recipient, encoding);
+    // 7 - IBAN
+    line(iban, encoding);
+    // 8 - value, the amount follows
+    text(currency.getLabel(), encoding);
+  }
+
+  private void writePayment(String purposeCode, String structuredReference, String purposeText, String note,
+    Encoding encoding) {
+    newLine();
+    // 9 - purposeCode
+    line(purposeCode, encoding);
+    // 10 - structured reference
+    line(structuredReference, encoding);
+    // 11 - purposeText
+    line(purposeText, encoding);
+    // 12 - note
+    line(note, encoding);
+  }
+
+  /**
+   * returns the internal buffer holding the last payload written. Only the first {@link #getLength()} bytes are
+   * valid.
+   *
+   * @return the internal buffer, must not be modified
+   */
+  public byte[] getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * returns the number of bytes of the last payload written.
+   *
+   * @return the length of the payload
+   */
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * returns the encoding of the last payload written. For a builder with automatic encoding this is the encoding
+   * resolved by the write, so it does not need to be resolved again.
+   *
+   * @return the encoding, null if nothing has been written yet
+   */
+  public Encoding getEncoding() {
+    return encoding;
+  }
+
+  /**
+   * returns a copy of the last payload written.
+   *
+   * @return the payload bytes
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+
+  /**
+   * returns the last payload written as content for the QR code encoder. Each byte of the payload is mapped to
+   * one character, so encoding the content as ISO-8859-1 yields exactly the payload bytes.
+   *
+   * @return the payload, one character per byte
+   */
+  public String toContent() {
+    return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * serialize the payload of the given builder using the writer of the current thread.
+   *
+   * @param builder the builder to serialize
+   * @return the payload as content for the QR code encoder, see {@link #toContent()}
+   * @throws EpcException if the setup of the builder is incomplete or the payload is too large
+   */
+  static String content(EpcBuilder builder) throws EpcException {
+    return content(builder, Metrics.get());
+  }
+
+  /**
+   * serialize the payload of the given builder using the writer of the current thread.
+   *
+   * @param builder the builder to serialize
+   * @param metrics the metrics to record the {@link Phase#PAYLOAD} phase into
+   * @return the payload as content for the QR code encoder, see {@link #toContent()}
+   * @throws EpcException if the setup of the builder is incomplete or the payload is too large
+   */
+  static String content(EpcBuilder builder, GenerationMetrics metrics) throws EpcException {
+    return serialize(builder, metrics).toContent();
+  }
+
+  /**
+   * serialize the payload of the given builder using the writer of the current thread. Payload and resolved
+   * encoding are available through the returned writer until the next serialization on the current thread.
+   *
+   * @param builder the builder to serialize
+   * @param metrics the metrics to record the {@link Phase#PAYLOAD} phase into
+   * @return the writer of the current thread
+   * @throws EpcException if the setup of the builder is incomplete or the payload is too large
+   */
+  static EpcPayloadWriter serialize(EpcBuilder builder, GenerationMetrics metrics) throws EpcException {
+    long start = Metrics.start(metrics, Phase.PAYLOAD);
+    PayloadEvent event = new PayloadEvent();
+    event.begin();
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(builder);
+    Metrics.stop(metrics, Phase.PAYLOAD, start);
+    if (event.shouldCommit()) {
+      event.set(writer.getLength(), writer.getEncoding().name());
+      event.commit();
+    }
+    return writer;
+  }
+
+  /**
+   * serialize the payload of the given builder, e.g. to calculate a hash of it. Equals the bytes of
+   * {@link EpcBuilder#build()} in the encoding of the builder, which is resolved only once.
+   *
+   * @param builder the builder to serialize
+   * @return the payload bytes
+   * @throws EpcException if the setup of the builder is incomplete or the payload is too large
+   */
+  public static byte[] toByteArray(EpcBuilder builder) throws EpcException {
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(builder);
+    return writer.toByteArray();
+  }
+
+  /**
+   * serialize the payload of the given template and payment using the writer of the current thread.
+   *
+   * @param template      the template holding the encoded payee
+   * @param paymentAmount the amount, must not be null
+   * @param purposeText   the purpose text, must not be null
+   * @param note          the note, may be null
+   * @return the payload bytes in the encoding of the template
+   * @throws EpcException if the payload is too large
+   */
+  static byte[] toByteArray(PayeeTemplate template, BigDecimal paymentAmount, String purposeText, String note)
+    throws EpcException {
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(template, paymentAmount, purposeText, note);
+    return writer.toByteArray();
+  }
+
+  /**
+   * serialize the payload of the given template and payment using the writer of the current thread.
+   *
+   * @param template      the template holding the encoded payee
+   * @param paymentAmount the amount, must not be null
+   * @param purposeText   the purpose text, must not be null
+   * @param note          the note, may be null
+   * @return the payload as EPC string, the same as {@link EpcBuilder#build()}
+   * @throws EpcException if the payload is too large
+   */
+  static String build(PayeeTemplate template, BigDecimal paymentAmount, String purposeText, String note)
+    throws EpcException {
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(template, paymentAmount, purposeText, note);
+    return new String(writer.buffer, 0, writer.length, template.getEncoding().getCharset());
+  }
+
+  /**
+   * serialize the payload of the given payment using the writer of the current thread.
+   *
+   * @param payment the payment to serialize
+   * @param metrics the metrics to record the {@link Phase#PAYLOAD} phase into
+   * @return the payload as content for the QR code encoder, see {@link #toContent()}
+   */
+  static String content(EpcPayment payment, GenerationMetrics metrics) {
+    long start = Metrics.start(metrics, Phase.PAYLOAD);
+    PayloadEvent event = new PayloadEvent();
+    event.begin();
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(payment);
+    String content = writer.toContent();
+    Metrics.stop(metrics, Phase.PAYLOAD, start);
+    if (event.shouldCommit()) {
+      event.set(writer.getLength(), payment.getEncoding().name());
+      event.commit();
+    }
+    return content;
+  }
+
+  /**
+   * serialize the payload of the given template and payment using the writer of the current thread.
+   *
+   * @param template      the template holding the encoded payee
+   * @param paymentAmount the amount, must not be null
+   * @param purposeText   the purpose text, must not be null
+   * @param note          the note, may be null
+   * @param metrics       the metrics to record the {@link Phase#PAYLOAD} phase into
+   * @return the payload as content for the QR code encoder, see {@link #toContent()}
+   * @throws EpcException if the payload is too large
+   */
+  static String content(PayeeTemplate template, BigDecimal paymentAmount, String purposeText, String note,
+    GenerationMetrics metrics) throws EpcException {
+    long start = Metrics.start(metrics, Phase.PAYLOAD);
+    PayloadEvent event = new PayloadEvent();
+    event.begin();
+    EpcPayloadWriter writer = WRITER.get();
+    writer.write(template, paymentAmount, purposeText, note);
+    String content = writer.toContent();
+    Metrics.stop(metrics, Phase.PAYLOAD, start);
+    if (event.shouldCommit()) {
+      event.set(writer.getLength(), template.getEncoding().name());
+      event.commit();
+    }
+    return content;
+  }
+
+  /* *** amount formatting *** */
+
+  /**
+   * format the amount as used in the EPC payload: at most two decimals rounded half even, without trailing zeros
+   * and without grouping. The amount is formatted exactly, it is never converted to a double.
+   *
+   * @param currency the currency to use
+   * @param value    the amount to format
+   * @return the formatted amount including the currency label
+   * @throws EpcException if currency or value is missing
+   */
+  static String formatAmount(Currency currency, BigDecimal value) throws EpcException {
+    if (currency == null || value == null) {
+      throw new EpcException("Currency and value are required");
+    }
+    char[] chars = new char[AMOUNT_CHARS];
+    int count = formatAmount(value, chars);
+    String amount = count < 0 ? plainAmount(value) : new String(chars, 0, count);
+    return currency.getLabel() + amount;
+  }
+
+  /**
+   * format the amount into the given char array.
+   *
+   * @param value the amount to format
+   * @param chars the target, at least {@link #AMOUNT_CHARS} long
+   * @return the number of chars written or -1, if the amount is too large for the fast path
+   */
+  private static int formatAmount(BigDecimal value, char[] chars) {
+    BigDecimal rounded = value.setScale(2, RoundingMode.HALF_EVEN);
+    if (rounded.precision() > 18) {
+      return -1;
+    }
+    long cents = rounded.unscaledValue().longValue();
+
+    int pos = chars.length;
+    boolean negative = cents < 0;
+    long remaining = Math.abs(cents);
+    long fraction = remaining % 100;
+    long integer = remaining / 100;
+    if (fraction != 0) {
+      if (fraction % 10 != 0) {
+        chars[--pos] = (char) ('0' + fraction % 10);
+      }
+      chars[--pos] = (char) ('0' + fraction / 10);
+      chars[--pos] = '.';
+    }
+    do {
+      chars[--pos] = (char) ('0' + integer % 10);
+      integer /= 10;
+    } while (integer > 0);
+    if (negative) {
+      chars[--pos] = '-';
+    }
+
+    int count = chars.length - pos;
+    System.arraycopy(chars, pos, chars, 0, count);
+    return count;
+  }
+
+  private static String plainAmount(BigDecimal value) {
+    BigDecimal rounded = value.setScale(2, RoundingMode.HALF_EVEN).stripTrailingZeros();
+    if (rounded.scale() < 0) {
+      rounded = rounded.setScale(0, RoundingMode.UNNECESSARY);
+    }
+    return rounded.toPlainString();
+  }
+
+  /* *** byte output *** */
+
+  private void writeAmountValue(BigDecimal value, Encoding encoding) {
+    int count = formatAmount(value, amountChars);
+    if (count < 0) {
+      text(plainAmount(value), encoding);
+    } else {
+      ensureCapacity(count);
+      for (int i = 0; i < count; i++) {
+        buffer[length++] = (byte) amountChars[i];
+      }
+    }
+  }
+
+  private void line(String value, Encoding encoding) {
+    if (value != null) {
+      text(value.trim(), encoding);
+    }
+    newLine();
+  }
+
+  private void newLine() {
+    ensureCapacity(LINE_SEPARATOR.length);
+    for (byte b : LINE_SEPARATOR) {
+      buffer[length++] = b;
+    }
+  }
+
+  private void writeInt(int value) {
+    if (value >= 0 && value < 10) {
+      ensureCapacity(1);
+      buffer[length++] = (byte) ('0' + value);
+    } else {
+      text(Integer.toString(value), Encoding.UTF_8);
+    }
+  }
+
+  private void text(String value, Encoding encoding) {
+    int chars = value.length();
+    ensureCapacity(chars);
+    // all supported encodings are ASCII compatible
+    int i = 0;
+    while (i < chars) {
+      char c = value.charAt(i);
+      if (c >= 0x80) {
+        break;
+      }
+      buffer[length++] = (byte) c;
+      i++;
+    }
+    if (i == chars) {
+      return;
+    }
+
+    switch (encoding) {
+      case UTF_8:
+        utf8(value, i);
+        break;
+      case ISO_8859_1:
+        latin1(value, i);
+        break;
+      default:
+        encode(value, i, encoding);
+    }
+  }
+
+  private void latin1(String value, int start) {
+    for (int i = start; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // one replacement per code point
+        i++;
+      }
+      buffer[length++] = c <= 0xFF ? (byte) c : (byte) '?';
+    }
+  }
+
+  private void utf8(String value, int start) {
+    ensureCapacity((value.length() - start) * 3);
+    for (int i = start; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[length++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[length++] = (byte) (0xC0 | (c >> 6));
+        buffer[length++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        buffer[length++] = (byte) '?';
+      } else {
+        buffer[length++] = (byte) (0xE0 | (c >> 12));
+        buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[length++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+  }
+
+  private void encode(String value, int start, Encoding encoding) {
+    CharsetEncoder encoder = encoders.computeIfAbsent(encoding, e -> e.getCharset().newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    encoder.reset();
+    // single byte charsets only, so one byte per remaining char is sufficient
+    ensureCapacity(value.length() - start);
+    ByteBuffer out = ByteBuffer.wrap(buffer, length, buffer.length - length);
+    encoder.encode(CharBuffer.wrap(value, start, value.length()), out, true);
+    encoder.flush(out);
+    length = out.position();
+  }
+
+  private void ensureCapacity(int additional) {
+    if (length + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * immutable and validated payment, created by {@link EpcBuilder#toPayment()}. The payload is serialized once, on
+ * first use, and kept together with its SHA-256 hash. Two payments are equal if their payloads are equal, so a
+ * payment can be used as key of a map or cache and passed between threads or queues without serializing it again.
+ * The generators accept payments directly, see {@link QrCodeGenerator#generate(EpcPayment)}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class EpcPayment implements PaymentFields {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final Version version;
+  private final Encoding encoding;
+  private final String bic;
+  private final String recipient;
+  private final String iban;
+  private final Currency currency;
+  private final BigDecimal paymentAmount;
+  private final String purposeText;
+  private final String note;
+
+  /**
+   * the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}. Created on first use; if
+   * threads race, each serializes the same payload.
+   */
+  @Getter(AccessLevel.NONE)
+  private volatile String content;
+
+  @Getter(AccessLevel.NONE)
+  private volatile byte[] sha256;
+
+  EpcPayment(EpcBuilder builder) {
+    this.version = builder.getVersion();
+    this.encoding = builder.getEncoding();
+    this.bic = builder.getBic();
+    this.recipient = builder.getRecipient();
+    this.iban = builder.getIban();
+    this.currency = builder.getCurrency();
+    this.paymentAmount = builder.getPaymentAmount();
+    this.purposeText = builder.getPurposeText();
+    this.note = builder.getNote();
+  }
+
+  /**
+   * returns the payload as content for the QR code encoder, serialized on first use.
+   *
+   * @return the payload, one character per byte
+   */
+  String content() {
+    return content(Metrics.get());
+  }
+
+  /**
+   * returns the payload as content for the QR code encoder, serialized on first use.
+   *
+   * @param metrics the metrics to record the serialization into, see {@link Phase#PAYLOAD}
+   * @return the payload, one character per byte
+   */
+  String content(GenerationMetrics metrics) {
+    String result = content;
+    if (result == null) {
+      result = EpcPayloadWriter.content(this, metrics);
+      content = result;
+    }
+    return result;
+  }
+
+  /**
+   * returns the serialized payload.
+   *
+   * @return a copy of the payload bytes in the encoding of the payment
+   */
+  public byte[] getPayload() {
+    return content().getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * returns the size of the serialized payload.
+   *
+   * @return the number of bytes of the payload
+   */
+  public int getPayloadLength() {
+    return content().length();
+  }
+
+  /**
+   * returns the SHA-256 hash of the payload, computed on first use.
+   *
+   * @return a copy of the 32 bytes of the hash
+   */
+  public byte[] getSha256() {
+    return sha256().clone();
+  }
+
+  /**
+   * returns the SHA-256 hash of the payload as lower case hex string, e.g. to be used as strong ETag or file name.
+   *
+   * @return the 64 hex characters of the hash
+   */
+  public String getSha256Hex() {
+    byte[] hash = sha256();
+    char[] chars = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+      chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(chars);
+  }
+
+  private byte[] sha256() {
+    byte[] result = sha256;
+    if (result == null) {
+      try {
+        result = MessageDigest.getInstance("SHA-256").digest(content().getBytes(StandardCharsets.ISO_8859_1));
+      } catch (NoSuchAlgorithmException ex) {
+        // every Java platform is required to support SHA-256
+        throw new IllegalStateException("SHA-256 not available", ex);
+      }
+      sha256 = result;
+    }
+    return result;
+  }
+
+  /**
+   * create a new builder holding the fields of this payment, e.g. to change a field.
+   *
+   * @return a new builder
+   * @throws EpcException if the builder rejects a field, not expected as the payment has been validated
+   */
+  public EpcBuilder toBuilder() throws EpcException {
+    EpcBuilder builder = new EpcBuilder()
+      .withVersion(version)
+      .withEncoding(encoding)
+      .withRecipient(recipient)
+      .withIban(iban)
+      .withCurrency(currency)
+      .withPaymentAmount(paymentAmount)
+      .withPurposeText(purposeText);
+    if (bic != null) {
+      builder.withBic(bic);
+    }
+    if (note != null) {
+      builder.withNote(note);
+    }
+    return builder;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EpcPayment)) {
+      return false;
+    }
+    EpcPayment other = (EpcPayment) o;
+    String otherContent = other.content();
+    return content().hashCode() == otherContent.hashCode() && content().equals(otherContent);
+  }
+
+  @Override
+  public int hashCode() {
+    // String caches its hash code
+    return content().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "EpcPayment[recipient=" + recipient + ", iban=" + iban + ", amount=" + paymentAmount + ", purposeText="
+      + purposeText + "]";
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * compiled file name pattern of the directory mode of {@link ImageFileGenerator}. Placeholders are {key},
+ * {recipient}, {iban}, {bic}, {amount}, {purpose} and {hash}, everything else is used literally. Characters of the
+ * values other than letters, digits, '.', '-' and '_' are replaced by '_'.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class FileNamePattern {
+
+  private static final List<String> PLACEHOLDERS = List.of("key", "recipient", "iban", "bic", "amount", "purpose",
+    "hash");
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * the default pattern, the hash of the payload. The same payment always gets the same name.
+   */
+  static final FileNamePattern DEFAULT = new FileNamePattern("{hash}", List.of("{hash}"));
+
+  private final String pattern;
+
+  /**
+   * literals and placeholders, placeholders are stored with braces.
+   */
+  private final List<String> parts;
+
+  private FileNamePattern(String pattern, List<String> parts) {
+    this.pattern = pattern;
+    this.parts = parts;
+  }
+
+  /**
+   * compile the given pattern.
+   *
+   * @param pattern the pattern
+   * @return the compiled pattern
+   * @throws EpcException if the pattern is empty, contains an unknown placeholder or a path separator
+   */
+  static FileNamePattern compile(String pattern) throws EpcException {
+    if (pattern == null || pattern.isEmpty()) {
+      throw new EpcException("File name pattern must not be empty");
+    }
+    if (pattern.indexOf('/') >= 0 || pattern.indexOf('\\') >= 0) {
+      throw new EpcException(String.format("File name pattern %s must not contain path separators", pattern));
+    }
+    List<String> parts = new ArrayList<>();
+    int pos = 0;
+    while (pos < pattern.length()) {
+      int open = pattern.indexOf('{', pos);
+      if (open < 0) {
+        parts.add(pattern.substring(pos));
+        break;
+      }
+      int close = pattern.indexOf('}', open);
+      if (close < 0) {
+        throw new EpcException(String.format("Unclosed placeholder in file name pattern %s", pattern));
+      }
+      String name = pattern.substring(open + 1, close);
+      if (!PLACEHOLDERS.contains(name)) {
+        throw new EpcException(String.format("Unknown placeholder {%s} in file name pattern %s, supported are %s",
+          name, pattern, PLACEHOLDERS));
+      }
+      if (open > pos) {
+        parts.add(pattern.substring(pos, open));
+      }
+      parts.add("{" + name + "}");
+      pos = close + 1;
+    }
+    return new FileNamePattern(pattern, List.copyOf(parts));
+  }
+
+  /**
+   * returns the file name, without extension.
+   *
+   * @param fields  the builder or payment, may be null if only {key} and {hash} are used
+   * @param key     the key of the caller, may be null if {key} is not used
+   * @param content the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @return the file name
+   * @throws EpcException if a value required by the pattern is missing
+   */
+  String format(PaymentFields fields, String key, String content) throws EpcException {
+    StringBuilder sb = new StringBuilder(64);
+    for (String part : parts) {
+      switch (part) {
+        case "{key}":
+          if (key == null) {
+            throw new EpcException(String.format("File name pattern %s requires a key", pattern));
+          }
+          append(sb, key);
+          break;
+        case "{hash}":
+          hash(sb, content);
+          break;
+        case "{recipient}":
+          append(sb, fields(fields).getRecipient());
+          break;
+        case "{iban}":
+          append(sb, fields(fields).getIban());
+          break;
+        case "{bic}":
+          append(sb, fields(fields).getBic());
+          break;
+        case "{amount}":
+          BigDecimal amount = fields(fields).getPaymentAmount();
+          append(sb, amount == null ? null : amount.toPlainString());
+          break;
+        case "{purpose}":
+          append(sb, fields(fields).getPurposeText());
+          break;
+        default:
+          sb.append(part);
+      }
+    }
+    return sb.toString();
+  }
+
+  private PaymentFields fields(PaymentFields fields) throws EpcException {
+    if (fields == null) {
+      throw new EpcException(String.format("File name pattern %s requires builder fields, use {key} or {hash}",
+        pattern));
+    }
+    return fields;
+  }
+
+  private static void append(StringBuilder sb, String value) {
+    if (value == null) {
+      return;
+    }
+    String trimmed = value.trim();
+    for (int i = 0; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.'
+        || c == '-' || c == '_';
+      sb.append(safe ? c : '_');
+    }
+  }
+
+  /**
+   * appends the first 64 bits of the SHA-256 hash of the payload as hex.
+   */
+  private static void hash(StringBuilder sb, String content) throws EpcException {
+    byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.ISO_8859_1));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new EpcException("SHA-256 not available", ex);
+    }
+    for (int i = 0; i < 8; i++) {
+      sb.append(HEX[(hash[i] >> 4) & 0xF]).append(HEX[hash[i] & 0xF]);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  /**
+   * returns the shard directories for the given file name, each level named by two hex digits of the hash of the
+   * name.
+   *
+   * @param name  the file name
+   * @param depth the number of levels, 0 to 4
+   * @return the relative directory, e.g. 3f/a0, empty for depth 0
+   */
+  static String shard(String name, int depth) {
+    if (depth == 0) {
+      return "";
+    }
+    int h = name.hashCode() * 0x9E3779B9;
+    h ^= h >>> 16;
+    StringBuilder sb = new StringBuilder(depth * 3);
+    for (int level = 0; level < depth; level++) {
+      int value = (h >>> (8 * level)) & 0xFF;
+      if (level > 0) {
+        sb.append('/');
+      }
+      sb.append(HEX[value >> 4]).append(HEX[value & 0xF]);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import lombok.Getter;
+
+/**
+ * result of generating a single QR code as part of a batch. Either contains the generated value or the exception
+ * which caused the generation to fail.
+ *
+ * @param <T> the output type of the generator used
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class GenerationResult<T> {
+
+  /**
+   * the position of the builder or payment in the input of the batch.
+   */
+  private final int index;
+
+  /**
+   * the builder the result was generated from, null if generated from a payment.
+   */
+  private final EpcBuilder builder;
+
+  /**
+   * the payment the result was generated from, null if generated from a builder.
+   */
+  private final EpcPayment payment;
+
+  /**
+   * the generated value, null if the generation failed.
+   */
+  private final T value;
+
+  /**
+   * the exception the generation failed with, null if the generation succeeded.
+   */
+  private final EpcException error;
+
+  private GenerationResult(int index, EpcBuilder builder, EpcPayment payment, T value, EpcException error) {
+    this.index = index;
+    this.builder = builder;
+    this.payment = payment;
+    this.value = value;
+    this.error = error;
+  }
+
+  /**
+   * create a result for a successfully generated QR code.
+   *
+   * @param index   the position of the builder in the input
+   * @param builder the builder used
+   * @param value   the generated value
+   * @param <T>     the output type of the generator
+   * @return the result
+   */
+  static <T> GenerationResult<T> success(int index, EpcBuilder builder, T value) {
+    return new GenerationResult<>(index, builder, null, value, null);
+  }
+
+  /**
+   * create a result for a failed QR code.
+   *
+   * @param index   the position of the builder in the input
+   * @param builder the builder used
+   * @param error   the exception the generation failed with
+   * @param <T>     the output type of the generator
+   * @return the result
+   */
+  static <T> GenerationResult<T> failure(int index, EpcBuilder builder, EpcException error) {
+    return new GenerationResult<>(index, builder, null, null, error);
+  }
+
+  /**
+   * create a result for a successfully generated QR code of a payment.
+   *
+   * @param index   the position of the payment in the input
+   * @param payment the payment used
+   * @param value   the generated value
+   * @param <T>     the output type of the generator
+   * @return the result
+   */
+  static <T> GenerationResult<T> success(int index, EpcPayment payment, T value) {
+    return new GenerationResult<>(index, null, payment, value, null);
+  }
+
+  /**
+   * create a result for a failed QR code of a payment.
+   *
+   * @param index   the position of the payment in the input
+   * @param payment the payment used
+   * @param error   the exception the generation failed with
+   * @param <T>     the output type of the generator
+   * @return the result
+   */
+  static <T> GenerationResult<T> failure(int index, EpcPayment payment, EpcException error) {
+    return new GenerationResult<>(index, null, payment, null, error);
+  }
+
+  /**
+   * returns true, if the QR code has been generated.
+   *
+   * @return true, if the QR code has been generated, false otherwise
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
@@ -17,84 +17,469 @@
  */
 package de.muehlencord.epcqr;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.EncodeHintType;
-import com.google.zxing.MultiFormatWriter;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.muehlencord.epcqr.jfr.FileWriteEvent;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
+import de.muehlencord.epcqr.model.FsyncPolicy;
+import de.muehlencord.epcqr.model.ImageFormat;
+import de.muehlencord.epcqr.model.StreamEncoding;
+import de.muehlencord.epcqr.model.VectorFormat;
+import lombok.Getter;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Create an QR Code image and write it to a file.
+ * <p>
+ * By default each image is written to the same output file. In directory mode, enabled by
+ * {@link #withOutputDirectory(String)}, each image gets its own file named by a pattern, see
+ * {@link #withFileNamePattern(String)}, optionally in sharded sub directories. In both modes the image is written
+ * to a temporary file first, which is then renamed atomically, so the target is never partially written. See
+ * {@link FsyncPolicy} for durability. Instead of raster images, vector images can be written, see
+ * {@link #withVectorFormat(VectorFormat)}.
  *
  * @author Joern Muehlencord, 2023-09-20
  * @since 1.0.0
  */
-public class ImageFileGenerator extends AbstractImageGenerator implements QrCodeGenerator<String> {
+public class ImageFileGenerator extends AbstractImageGenerator<String> implements QrCodeGenerator<String> {
 
-  private Path outputFile = Paths.get(System.getProperty("java.io.tmpdir"), "test.png");
+  /**
+   * the vector format of the files written, null to write raster images in the configured image format.
+   */
+  @Getter
+  private final VectorFormat vectorFormat;
+
+  private final Output output;
+
+  /**
+   * create a new image generator which writes the rendered image to a file. By default the file test.png in the
+   * temp directory is used.
+   */
+  public ImageFileGenerator() {
+    this(DEFAULT_SIZE, DEFAULT_SIZE, ImageFormat.PNG, null, QrOptions.DEFAULT, null,
+      new Output(Paths.get(System.getProperty("java.io.tmpdir"), "test.png"), null, FileNamePattern.DEFAULT, 0,
+        FsyncPolicy.NONE, null));
+  }
+
+  private ImageFileGenerator(int width, int height, ImageFormat format, VectorFormat vectorFormat,
+    QrOptions options, GenerationMetrics metrics, Output output) {
+    super(width, height, format, null, options, metrics);
+    this.vectorFormat = vectorFormat;
+    this.output = output;
+  }
 
   /* *** builder *** */
 
   /**
-   * sets the output file to store the created QR code to.
+   * sets the output file to store the created QR code to. Disables the directory mode.
    *
    * @param outputFile the full file name to use.
-   * @return the builder.
+   * @return a new generator using the given output file.
    */
   public ImageFileGenerator withOutputFile(String outputFile) {
-    this.outputFile = Paths.get(outputFile);
-    return this;
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(Paths.get(outputFile), null, output.pattern,
+        output.shardDepth, output.fsync, output.writeExecutor));
+  }
+
+  /**
+   * enables the directory mode: each QR code is written to its own file inside the given directory, named by the
+   * file name pattern. The directory is created if required.
+   *
+   * @param outputDirectory the directory to write the files to.
+   * @return a new generator using the given directory.
+   */
+  public ImageFileGenerator withOutputDirectory(String outputDirectory) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(output.outputFile, Paths.get(outputDirectory), output.pattern,
+        output.shardDepth, output.fsync, output.writeExecutor));
+  }
+
+  /**
+   * sets the pattern of the file names in directory mode, the extension of the format is appended. Supported
+   * placeholders are {key} for the key passed to {@link #generate(EpcBuilder, String)}, {recipient}, {iban},
+   * {bic}, {amount}, {purpose} and {hash}, the first 16 hex digits of the SHA-256 hash of the payload. Defaults to
+   * {hash}. Characters other than letters, digits, '.', '-' and '_' are replaced by '_'.
+   *
+   * @param pattern the pattern, e.g. invoice-{key}
+   * @return a new generator using the given pattern.
+   * @throws EpcException if the pattern is empty, contains an unknown placeholder or a path separator
+   */
+  public ImageFileGenerator withFileNamePattern(String pattern) throws EpcException {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(output.outputFile, output.directory, FileNamePattern.compile(pattern),
+        output.shardDepth, output.fsync, output.writeExecutor));
+  }
+
+  /**
+   * sets the number of levels of sub directories in directory mode. Each level has up to 256 directories named by
+   * two hex digits of the hash of the file name, so files are spread evenly. Defaults to 0.
+   *
+   * @param shardDepth the number of levels, 0 to 4
+   * @return a new generator using the given depth.
+   * @throws EpcException if the depth is out of range
+   */
+  public ImageFileGenerator withShardDepth(int shardDepth) throws EpcException {
+    if (shardDepth < 0 || shardDepth > 4) {
+      throw new EpcException(String.format("Shard depth must be between 0 and 4, but is %d", shardDepth));
+    }
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(output.outputFile, output.directory, output.pattern,
+        shardDepth, output.fsync, output.writeExecutor));
+  }
+
+  /**
+   * sets when written files are forced to the storage device. Defaults to {@link FsyncPolicy#NONE}.
+   *
+   * @param fsync the policy to use
+   * @return a new generator using the given policy.
+   */
+  public ImageFileGenerator withFsync(FsyncPolicy fsync) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(output.outputFile, output.directory, output.pattern,
+        output.shardDepth, fsync, output.writeExecutor));
+  }
+
+  /**
+   * sets the executor writing the files in directory mode. If set, {@link #writeAsync(EpcBuilder, String)} renders
+   * and compresses the image on the calling thread and writes the file on the executor, so disk latency does not
+   * block rendering the next code. Defaults to null, writing on the calling thread.
+   *
+   * @param writeExecutor the executor to write the files on, null to write on the calling thread
+   * @return a new generator using the given executor.
+   */
+  public ImageFileGenerator withWriteExecutor(Executor writeExecutor) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics,
+      new Output(output.outputFile, output.directory, output.pattern,
+        output.shardDepth, output.fsync, writeExecutor));
   }
 
   /**
    * sets the width of the image to create
    *
    * @param width the width of the image to create.
-   * @return the builder.
+   * @return a new generator using the given width.
    */
   public ImageFileGenerator withWidth(int width) {
-    this.width = width;
-    return this;
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics, output);
   }
 
   /**
    * sets the height of the image to create
    *
    * @param height the height of the image to create.
-   * @return the builder.
+   * @return a new generator using the given height.
    */
   public ImageFileGenerator withHeight(int height) {
-    this.height = height;
-    return this;
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics, output);
   }
 
+  /**
+   * sets the format of the image to create. Disables vector output.
+   *
+   * @param format the format of the image to create.
+   * @return a new generator using the given format.
+   */
+  public ImageFileGenerator withFormat(ImageFormat format) {
+    return new ImageFileGenerator(width, height, format, null, options, metrics, output);
+  }
+
+  /**
+   * writes vector images of the given format instead of raster images, see {@link VectorImageGenerator}. The
+   * width is used as size of the image.
+   *
+   * @param vectorFormat the vector format to write, null to write raster images in the configured image format.
+   * @return a new generator using the given format.
+   */
+  public ImageFileGenerator withVectorFormat(VectorFormat vectorFormat) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics, output);
+  }
 
   /**
-   * create the QR code
+   * sets the symbol options, such as error correction level, margin and version.
    *
-   * @param data  the EPC data in the specified format. Use the EpcBuilder to generate it
-   * @param hints the hints to use
+   * @param options the options to use.
+   * @return a new generator using the given options.
+   */
+  public ImageFileGenerator withOptions(QrOptions options) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics, output);
+  }
+
+  /**
+   * sets the metrics to record into instead of the active metrics, see {@link Metrics#install}.
+   *
+   * @param metrics the metrics to use, null to record into the active metrics.
+   * @return a new generator using the given metrics.
+   */
+  public ImageFileGenerator withMetrics(GenerationMetrics metrics) {
+    return new ImageFileGenerator(width, height, format, vectorFormat, options, metrics, output);
+  }
+
+  /* *** generation *** */
+
+  /**
+   * generate based on the give builder a QR code and write it to the output file or, in directory mode, to the
+   * file named by the pattern.
+   *
+   * @param builder the builder to use
    * @return the filename the image has been stored under.
-   * @throws EpcException if the QR code cannot be rendered.
+   * @throws EpcException if the generation failed or the file cannot be written.
+   */
+  @Override
+  public String generate(EpcBuilder builder) throws EpcException {
+    if (output.directory == null) {
+      return super.generate(builder);
+    }
+    return generate(builder, null);
+  }
+
+  /**
+   * generate based on the give builder a QR code and write it in directory mode to the file named by the pattern.
+   * Returns after the file is written, also if a write executor is set.
+   *
+   * @param builder the builder to use
+   * @param key     the value of the placeholder {key}, may be null if the pattern does not use it
+   * @return the filename the image has been stored under.
+   * @throws EpcException if the generation failed, the file cannot be written or the directory mode is not enabled
+   */
+  public String generate(EpcBuilder builder, String key) throws EpcException {
+    return join(writeAsync(builder, key));
+  }
+
+  /**
+   * generate based on the give builder a QR code and write it in directory mode to the file named by the pattern.
+   * Rendering runs on the calling thread, writing on the write executor if set.
+   *
+   * @param builder the builder to use
+   * @param key     the value of the placeholder {key}, may be null if the pattern does not use it
+   * @return the filename the image has been stored under, completed after the file has been written, or
+   * completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  public CompletableFuture<String> writeAsync(EpcBuilder builder, String key) {
+    try {
+      EpcPayloadWriter writer = EpcPayloadWriter.serialize(builder, metrics());
+      return write(builder, key, writer.toContent(), writer.getEncoding().getCharset());
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  /**
+   * generate based on the given payment a QR code and write it to the output file or, in directory mode, to the
+   * file named by the pattern. The payload cached by the payment is used.
+   *
+   * @param payment the payment to use
+   * @return the filename the image has been stored under.
+   * @throws EpcException if the generation failed or the file cannot be written.
+   */
+  @Override
+  public String generate(EpcPayment payment) throws EpcException {
+    if (output.directory == null) {
+      return super.generate(payment);
+    }
+    return generate(payment, null);
+  }
+
+  /**
+   * generate based on the given payment a QR code and write it in directory mode to the file named by the pattern,
+   * see {@link #generate(EpcBuilder, String)}.
+   *
+   * @param payment the payment to use
+   * @param key     the value of the placeholder {key}, may be null if the pattern does not use it
+   * @return the filename the image has been stored under.
+   * @throws EpcException if the generation failed, the file cannot be written or the directory mode is not enabled
    */
-  protected String createQR(
-    String data, Map<EncodeHintType, ErrorCorrectionLevel> hints
-  ) throws EpcException {
+  public String generate(EpcPayment payment, String key) throws EpcException {
+    return join(writeAsync(payment, key));
+  }
 
+  /**
+   * generate based on the given payment a QR code and write it in directory mode to the file named by the pattern,
+   * see {@link #writeAsync(EpcBuilder, String)}.
+   *
+   * @param payment the payment to use
+   * @param key     the value of the placeholder {key}, may be null if the pattern does not use it
+   * @return the filename the image has been stored under, completed after the file has been written, or
+   * completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  public CompletableFuture<String> writeAsync(EpcPayment payment, String key) {
+    return write(payment, key, payment.content(metrics()), payment.getEncoding().getCharset());
+  }
+
+  @Override
+  String generate(String content, Charset charset) throws EpcException {
+    if (output.directory == null) {
+      return super.generate(content, charset);
+    }
+    return join(write(null, null, content, charset));
+  }
+
+  private CompletableFuture<String> write(PaymentFields fields, String key, String content, Charset charset) {
+    try {
+      if (output.directory == null) {
+        throw new EpcException("No output directory set, see withOutputDirectory");
+      }
+      String name = output.pattern.format(fields, key, content) + "." + extension();
+      String shard = FileNamePattern.shard(name, output.shardDepth);
+      Path target = (shard.isEmpty() ? output.directory : output.directory.resolve(shard)).resolve(name);
+      // compress on the calling thread, only the file is written on the executor if one is set
+      byte[] image = image(encode(content, charset));
+
+      if (output.writeExecutor == null) {
+        return CompletableFuture.completedFuture(writeFile(target, image));
+      }
+
+      CompletableFuture<String> result = new CompletableFuture<>();
+      output.writeExecutor.execute(() -> {
+        try {
+          result.complete(writeFile(target, image));
+        } catch (EpcException ex) {
+          Metrics.failure(metrics(), ex);
+          result.completeExceptionally(ex);
+        }
+      });
+      return result;
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      return CompletableFuture.failedFuture(ex);
+    } catch (IOException | RejectedExecutionException ex) {
+      EpcException failure = new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+      Metrics.failure(metrics(), failure);
+      return CompletableFuture.failedFuture(failure);
+    }
+  }
+
+  private static String join(CompletableFuture<String> future) throws EpcException {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof EpcException) {
+        throw (EpcException) ex.getCause();
+      }
+      throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * create the image from the rendered QR code
+   *
+   * @param image the rendered QR code
+   * @return the filename the image has been stored under.
+   * @throws EpcException if the QR code cannot be rendered.
+   */
+  protected String createImage(BitMatrix image) throws EpcException {
     try {
-      BitMatrix matrix = new MultiFormatWriter()
-        .encode(new String(data.getBytes(charset), charset), BarcodeFormat.QR_CODE, width, height);
+      return writeFile(output.outputFile, compress(image));
+    } catch (IOException ex) {
+      throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * render an already encoded QR code and write it to the output file.
+   *
+   * @param matrix the encoded QR code
+   * @return the filename the image has been stored under.
+   * @throws EpcException if the image cannot be created or written.
+   */
+  @Override
+  public String render(QrMatrix matrix) throws EpcException {
+    if (vectorFormat == null) {
+      return super.render(matrix);
+    }
+    return writeFile(output.outputFile, vector(matrix));
+  }
 
-      MatrixToImageWriter.writeToPath(matrix, this.format.getName(), outputFile);
-      return outputFile.toString();
+  /**
+   * generate based on the give builder a QR code and write the image in the configured raster or vector format to
+   * the given stream. No file is written.
+   *
+   * @param builder      the builder to use
+   * @param outputStream the stream to write the image to
+   * @param encoding     the encoding of the image written
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  @Override
+  public void writeTo(EpcBuilder builder, OutputStream outputStream, StreamEncoding encoding) throws EpcException {
+    if (vectorFormat == null) {
+      super.writeTo(builder, outputStream, encoding);
+    } else {
+      vectorGenerator().writeTo(builder, outputStream, encoding);
+    }
+  }
+
+  private byte[] image(QrMatrix matrix) throws IOException {
+    return vectorFormat == null ? compress(rasterize(matrix)) : vector(matrix);
+  }
+
+  private byte[] vector(QrMatrix matrix) {
+    // all vector formats are plain ASCII
+    return vectorGenerator().render(matrix).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private VectorImageGenerator vectorGenerator() {
+    return new VectorImageGenerator()
+      .withFormat(vectorFormat)
+      .withSize(width)
+      .withOptions(options)
+      .withMetrics(metrics);
+  }
+
+  private String extension() {
+    return vectorFormat == null ? format.getName() : vectorFormat.getName();
+  }
+
+  private String writeFile(Path target, byte[] image) throws EpcException {
+    try {
+      FileWriteEvent event = new FileWriteEvent();
+      event.begin();
+      GenerationMetrics recorder = metrics();
+      long start = Metrics.start(recorder, Phase.WRITE);
+      long size = AtomicFileWriter.write(target, out -> out.write(image), output.fsync);
+      Metrics.stop(recorder, Phase.WRITE, start);
+      if (event.shouldCommit()) {
+        event.set(target.toString(), extension(), size);
+        event.commit();
+      }
+      return target.toString();
     } catch (Exception ex) {
       throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
     }
   }
+
+  /**
+   * immutable file output settings.
+   */
+  private static final class Output {
+
+    private final Path outputFile;
+    private final Path directory;
+    private final FileNamePattern pattern;
+    private final int shardDepth;
+    private final FsyncPolicy fsync;
+    private final Executor writeExecutor;
+
+    private Output(Path outputFile, Path directory, FileNamePattern pattern, int shardDepth, FsyncPolicy fsync,
+      Executor writeExecutor) {
+      this.outputFile = outputFile;
+      this.directory = directory;
+      this.pattern = pattern;
+      this.shardDepth = shardDepth;
+      this.fsync = fsync;
+      this.writeExecutor = writeExecutor;
+    }
+  }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * the fields of a scanned EPC payload, see {@link EpcParser}. Optional fields which are empty in the payload are
+ * null.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class ParsedPayment {
+
+  private final Version version;
+  private final Encoding encoding;
+  private final String bic;
+  private final String recipient;
+  private final String iban;
+
+  /**
+   * the currency of the amount, null if no amount is given
+   */
+  private final Currency currency;
+
+  /**
+   * the amount as written in the payload, null if no amount is given
+   */
+  private final BigDecimal amount;
+  private final String purposeCode;
+  private final String structuredReference;
+  private final String purposeText;
+  private final String note;
+
+  ParsedPayment(Version version, Encoding encoding, String bic, String recipient, String iban, Currency currency,
+    BigDecimal amount, String purposeCode, String structuredReference, String purposeText, String note) {
+    this.version = version;
+    this.encoding = encoding;
+    this.bic = bic;
+    this.recipient = recipient;
+    this.iban = iban;
+    this.currency = currency;
+    this.amount = amount;
+    this.purposeCode = purposeCode;
+    this.structuredReference = structuredReference;
+    this.purposeText = purposeText;
+    this.note = note;
+  }
+
+  /**
+   * create a builder holding the fields of this payment, e.g. to generate the code again.
+   *
+   * @return the builder
+   * @throws EpcException if the payment has no amount or no purpose text, or uses a purpose code or structured
+   *                      reference, which are not yet supported by the builder
+   */
+  public EpcBuilder toBuilder() throws EpcException {
+    if (amount == null) {
+      throw new EpcException("Payment without amount cannot be converted into a builder");
+    }
+    if (purposeCode != null) {
+      throw new EpcException("purposeCode not yet supported");
+    }
+    if (structuredReference != null) {
+      throw new EpcException("structured reference not yet supported");
+    }
+    EpcBuilder builder = new EpcBuilder()
+      .withVersion(version)
+      .withEncoding(encoding)
+      .withRecipient(recipient)
+      .withIban(iban)
+      .withCurrency(currency)
+      .withPaymentAmount(amount)
+      .withPurposeText(purposeText);
+    if (bic != null) {
+      builder.withBic(bic);
+    }
+    if (note != null) {
+      builder.withNote(note);
+    }
+    return builder;
+  }
+
+  @Override
+  public String toString() {
+    return "ParsedPayment[version=" + version + ", encoding=" + encoding + ", bic=" + bic + ", recipient="
+      + recipient + ", iban=" + iban + ", currency=" + currency + ", amount=" + amount + ", purposeCode="
+      + purposeCode + ", structuredReference=" + structuredReference + ", purposeText=" + purposeText + ", note="
+      + note + "]";
+  }
+}
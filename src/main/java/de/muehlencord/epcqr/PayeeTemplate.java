@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * immutable template of the fields which stay the same for all payments to one payee: version, encoding, BIC,
+ * recipient, IBAN and currency. The payee is validated once and its part of the payload is encoded into bytes when
+ * the template is created, so generating a payment only serializes amount, purpose text and note. Instances are
+ * thread-safe.
+ * <p>
+ * The encoding is fixed when the template is created. With {@link EpcBuilder#withAutomaticEncoding(boolean)} it is
+ * resolved from the payee fields only, so purpose text and note containing characters the encoding cannot
+ * represent are rejected instead of being replaced by '?'.
+ *
+ * <pre>
+ *   PayeeTemplate template = new PayeeTemplate(new EpcBuilder()
+ *     .withRecipient("Max Mustermann")
+ *     .withIban("GB33BUKB20201555555555"));
+ *   String image = template.generate(new Base64ImageGenerator(), new BigDecimal("48.81"), "Invoice 4711", null);
+ * </pre>
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class PayeeTemplate {
+
+  private final Version version;
+  private final Encoding encoding;
+  private final String bic;
+  private final String recipient;
+  private final String iban;
+  private final Currency currency;
+
+  /**
+   * the encoded payload from the service tag up to the currency of the amount.
+   */
+  @Getter(AccessLevel.PACKAGE)
+  private final byte[] prefix;
+
+  /**
+   * create a new template from the payee fields of the given builder. Amount, purpose text and note of the builder
+   * are ignored.
+   *
+   * @param builder the builder holding the payee
+   * @throws EpcException if a mandatory field of the payee is missing
+   */
+  public PayeeTemplate(EpcBuilder builder) throws EpcException {
+    builder.validatePayee();
+    this.version = builder.getVersion();
+    this.encoding = builder.getEncoding();
+    this.bic = builder.getBic();
+    this.recipient = builder.getRecipient();
+    this.iban = builder.getIban();
+    this.currency = builder.getCurrency();
+    this.prefix = EpcPayloadWriter.payeePrefix(builder);
+  }
+
+  /**
+   * returns the payload of the given payment as EPC string, the same as {@link EpcBuilder#build()} of a builder
+   * with the payee of this template and the given payment.
+   *
+   * @param paymentAmount the payment amount
+   * @param purposeText   the purpose text, 1 to 140 characters
+   * @param note          the note, 1 to 70 characters or null
+   * @return the EPC string
+   * @throws EpcException if a field of the payment is missing, too long, out of range or cannot be encoded
+   */
+  public String build(BigDecimal paymentAmount, String purposeText, String note) throws EpcException {
+    validate(paymentAmount, purposeText, note);
+    return EpcPayloadWriter.build(this, paymentAmount, purposeText, note);
+  }
+
+  /**
+   * returns the encoded payload of the given payment.
+   *
+   * @param paymentAmount the payment amount
+   * @param purposeText   the purpose text, 1 to 140 characters
+   * @param note          the note, 1 to 70 characters or null
+   * @return the payload bytes in the encoding of the template
+   * @throws EpcException if a field of the payment is missing, too long, out of range or cannot be encoded
+   */
+  public byte[] payload(BigDecimal paymentAmount, String purposeText, String note) throws EpcException {
+    validate(paymentAmount, purposeText, note);
+    return EpcPayloadWriter.toByteArray(this, paymentAmount, purposeText, note);
+  }
+
+  /**
+   * generate the QR code of the given payment.
+   *
+   * @param generator     the generator to use
+   * @param paymentAmount the payment amount
+   * @param purposeText   the purpose text, 1 to 140 characters
+   * @param note          the note, 1 to 70 characters or null
+   * @param <T>           the output type of the generator
+   * @return the output of the generator
+   * @throws EpcException if a field of the payment is missing, too long, out of range or cannot be encoded or the generation failed
+   */
+  public <T> T generate(AbstractImageGenerator<T> generator, BigDecimal paymentAmount, String purposeText,
+    String note) throws EpcException {
+    return generator.generate(content(paymentAmount, purposeText, note, generator.getMetrics()),
+      encoding.getCharset());
+  }
+
+  /**
+   * generate the vector image of the given payment.
+   *
+   * @param generator     the generator to use
+   * @param paymentAmount the payment amount
+   * @param purposeText   the purpose text, 1 to 140 characters
+   * @param note          the note, 1 to 70 characters or null
+   * @return the vector image as text
+   * @throws EpcException if a field of the payment is missing, too long, out of range or cannot be encoded or the generation failed
+   */
+  public String generate(VectorImageGenerator generator, BigDecimal paymentAmount, String purposeText, String note)
+    throws EpcException {
+    return generator.generate(content(paymentAmount, purposeText, note, generator.getMetrics()),
+      encoding.getCharset());
+  }
+
+  private String content(BigDecimal paymentAmount, String purposeText, String note, GenerationMetrics metrics)
+    throws EpcException {
+    validate(paymentAmount, purposeText, note);
+    return EpcPayloadWriter.content(this, paymentAmount, purposeText, note, Metrics.resolve(metrics));
+  }
+
+  private void validate(BigDecimal paymentAmount, String purposeText, String note) throws EpcException {
+    if (paymentAmount == null) {
+      throw new EpcException("paymentAmount must not be null");
+    }
+    EpcBuilder.assertAmountRange(paymentAmount);
+    assertLength("purposeText", purposeText, 140);
+    EpcBuilder.assertMappable(encoding, "purposeText", purposeText);
+    if (note != null) {
+      assertLength("note", note, 70);
+      EpcBuilder.assertMappable(encoding, "note", note);
+    }
+  }
+
+  private static void assertLength(String key, String value, int maxLength) throws EpcException {
+    if (value == null || value.isEmpty() || value.length() > maxLength) {
+      throw new EpcException(String.format("value=%s for %s does not match length 1-%s", value, key, maxLength));
+    }
+  }
+}
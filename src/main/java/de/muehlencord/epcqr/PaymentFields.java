@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import java.math.BigDecimal;
+
+/**
+ * the payment fields shared by {@link EpcBuilder} and {@link EpcPayment}, e.g. for file name patterns.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+interface PaymentFields {
+
+  String getBic();
+
+  String getRecipient();
+
+  String getIban();
+
+  BigDecimal getPaymentAmount();
+
+  String getPurposeText();
+}
@@ -17,6 +17,12 @@
 
 package de.muehlencord.epcqr;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * interface for Qr Code generators
  *
@@ -34,5 +40,129 @@ public interface QrCodeGenerator<T> {
    */
   T generate(EpcBuilder builder) throws EpcException;
 
+  /**
+   * generate based on the given payment a QR code. The generators of this library use the payload cached by the
+   * payment, the default implementation converts the payment into a builder.
+   *
+   * @param payment the payment to use
+   * @return the returned output - e.g an image file or a filename
+   * @throws EpcException if the generation failed .
+   */
+  default T generate(EpcPayment payment) throws EpcException {
+    return generate(payment.toBuilder());
+  }
+
+  /**
+   * generate QR codes for all given builders using a dedicated fork join pool. A failing builder does not abort the
+   * batch, its failure is reported in the corresponding result instead.
+   *
+   * @param builders    the builders to use
+   * @param parallelism the number of threads to generate the codes with
+   * @return one result per builder, in the order of the input
+   */
+  default List<GenerationResult<T>> generateAll(Iterable<EpcBuilder> builders, int parallelism) {
+    return BatchGenerator.generate(this, builders, parallelism);
+  }
+
+  /**
+   * generate QR codes for all given builders using a dedicated fork join pool. A failing builder does not abort the
+   * batch, its failure is reported in the corresponding result instead.
+   *
+   * @param builders    the builders to use
+   * @param parallelism the number of threads to generate the codes with
+   * @return one result per builder, in the order of the input
+   */
+  default List<GenerationResult<T>> generateAll(Stream<EpcBuilder> builders, int parallelism) {
+    return generateAll(builders.collect(Collectors.toList()), parallelism);
+  }
+
+  /**
+   * generate QR codes for all given builders using the given executor. A failing builder does not abort the batch,
+   * its failure is reported in the corresponding result instead.
+   *
+   * @param builders the builders to use
+   * @param executor the executor to generate the codes on
+   * @return one result per builder, in the order of the input
+   */
+  default List<GenerationResult<T>> generateAll(Iterable<EpcBuilder> builders, Executor executor) {
+    return BatchGenerator.generate(this, builders, executor);
+  }
+
+  /**
+   * generate QR codes for all given payments using a dedicated fork join pool. A failing payment does not abort
+   * the batch, its failure is reported in the corresponding result instead.
+   *
+   * @param payments    the payments to use
+   * @param parallelism the number of threads to generate the codes with
+   * @return one result per payment, in the order of the input
+   */
+  default List<GenerationResult<T>> generateAllPayments(Iterable<EpcPayment> payments, int parallelism) {
+    return BatchGenerator.generatePayments(this, payments, parallelism);
+  }
+
+  /**
+   * generate QR codes for all given payments using the given executor. A failing payment does not abort the batch,
+   * its failure is reported in the corresponding result instead.
+   *
+   * @param payments the payments to use
+   * @param executor the executor to generate the codes on
+   * @return one result per payment, in the order of the input
+   */
+  default List<GenerationResult<T>> generateAllPayments(Iterable<EpcPayment> payments, Executor executor) {
+    return BatchGenerator.generatePayments(this, payments, executor);
+  }
 
+  /**
+   * generate based on the give builder a QR code asynchronously. On Java 21 and later each generation runs on a
+   * virtual thread, on older runtimes on a shared pool with one daemon thread per processor. The builder must not
+   * be modified until the returned future is completed.
+   * <p>
+   * Cancelling the returned future or completing it otherwise, e.g. by
+   * {@link CompletableFuture#orTimeout(long, java.util.concurrent.TimeUnit)}, cancels the generation.
+   *
+   * @param builder the builder to use
+   * @return the future output, completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  default CompletableFuture<T> generateAsync(EpcBuilder builder) {
+    return generateAsync(builder, AsyncGenerator.defaultExecutor());
+  }
+
+  /**
+   * generate based on the give builder a QR code asynchronously on the given executor. The builder must not be
+   * modified until the returned future is completed.
+   * <p>
+   * Cancelling the returned future or completing it otherwise, e.g. by
+   * {@link CompletableFuture#orTimeout(long, java.util.concurrent.TimeUnit)}, cancels the generation: if it has not
+   * started yet it is skipped, otherwise the generating thread is interrupted.
+   *
+   * @param builder  the builder to use
+   * @param executor the executor to generate the code on
+   * @return the future output, completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  default CompletableFuture<T> generateAsync(EpcBuilder builder, Executor executor) {
+    return AsyncGenerator.generate(this, builder, executor);
+  }
+
+  /**
+   * generate based on the given payment a QR code asynchronously, see {@link #generateAsync(EpcBuilder)}. As the
+   * payment is immutable, it can be shared freely.
+   *
+   * @param payment the payment to use
+   * @return the future output, completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  default CompletableFuture<T> generateAsync(EpcPayment payment) {
+    return generateAsync(payment, AsyncGenerator.defaultExecutor());
+  }
+
+  /**
+   * generate based on the given payment a QR code asynchronously on the given executor, see
+   * {@link #generateAsync(EpcBuilder, Executor)}.
+   *
+   * @param payment  the payment to use
+   * @param executor the executor to generate the code on
+   * @return the future output, completed exceptionally with an {@link EpcException} if the generation failed
+   */
+  default CompletableFuture<T> generateAsync(EpcPayment payment, Executor executor) {
+    return AsyncGenerator.generate(() -> generate(payment), executor);
+  }
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DecoderResult;
+import com.google.zxing.qrcode.decoder.Decoder;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Mode;
+import com.google.zxing.qrcode.decoder.Version;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import com.google.zxing.qrcode.encoder.QRCode;
+import de.muehlencord.epcqr.jfr.EncodeEvent;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.nio.charset.Charset;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * immutable module matrix of an encoded QR code, one bit per module, without quiet zone. Encoding the payload and
+ * rendering the pixels are separate steps: a matrix is encoded once and can be rendered into any number of images
+ * of different sizes. Modules are always scaled by an integer factor.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class QrMatrix {
+
+  /**
+   * the quiet zone in modules recommended by the QR code specification.
+   */
+  public static final int DEFAULT_QUIET_ZONE = 4;
+
+  /**
+   * error correction levels from lowest to highest.
+   */
+  private static final List<ErrorCorrectionLevel> LEVELS = List.of(ErrorCorrectionLevel.L, ErrorCorrectionLevel.M,
+    ErrorCorrectionLevel.Q, ErrorCorrectionLevel.H);
+
+  /**
+   * the decoder is stateless, but not documented as thread safe.
+   */
+  private static final ThreadLocal<Decoder> DECODER = ThreadLocal.withInitial(Decoder::new);
+
+  /**
+   * number of modules per side.
+   */
+  private final int size;
+
+  /**
+   * the QR code version (1 to 40).
+   */
+  private final int version;
+
+  /**
+   * the error correction level used.
+   */
+  private final ErrorCorrectionLevel errorCorrectionLevel;
+
+  /**
+   * the mask pattern applied.
+   */
+  private final int maskPattern;
+
+  /**
+   * modules, row by row, 32 modules per int.
+   */
+  @Getter(AccessLevel.NONE)
+  private final int[] bits;
+
+  @Getter(AccessLevel.NONE)
+  private final int rowSize;
+
+  private QrMatrix(QRCode code) {
+    ByteMatrix modules = code.getMatrix();
+    this.size = modules.getWidth();
+    this.version = code.getVersion().getVersionNumber();
+    this.errorCorrectionLevel = code.getECLevel();
+    this.maskPattern = code.getMaskPattern();
+    this.rowSize = (size + 31) / 32;
+    this.bits = new int[rowSize * size];
+    byte[][] rows = modules.getArray();
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        if (rows[y][x] == 1) {
+          bits[y * rowSize + (x >>> 5)] |= 1 << (x & 0x1F);
+        }
+      }
+    }
+  }
+
+  /**
+   * encode the payload of the given builder.
+   *
+   * @param builder              the builder to encode
+   * @param errorCorrectionLevel the error correction level to use
+   * @return the encoded matrix
+   * @throws EpcException if the builder is incomplete or the payload cannot be encoded
+   */
+  public static QrMatrix encode(EpcBuilder builder, ErrorCorrectionLevel errorCorrectionLevel) throws EpcException {
+    return encode(EpcPayloadWriter.content(builder), errorCorrectionLevel, Map.of());
+  }
+
+  /**
+   * encode the payload of the given builder using the given symbol options.
+   *
+   * @param builder the builder to encode
+   * @param options the symbol options to use
+   * @return the encoded matrix
+   * @throws EpcException if the builder is incomplete or the payload does not fit into the configured version
+   */
+  public static QrMatrix encode(EpcBuilder builder, QrOptions options) throws EpcException {
+    return encode(builder, options, Metrics.get());
+  }
+
+  /**
+   * encode the payload of the given builder using the given symbol options.
+   *
+   * @param builder the builder to encode
+   * @param options the symbol options to use
+   * @param metrics the metrics to record the phases into
+   * @return the encoded matrix
+   * @throws EpcException if the builder is incomplete or the payload does not fit into the configured version
+   */
+  static QrMatrix encode(EpcBuilder builder, QrOptions options, GenerationMetrics metrics) throws EpcException {
+    EpcPayloadWriter writer = EpcPayloadWriter.serialize(builder, metrics);
+    return encode(writer.toContent(), writer.getEncoding().getCharset(), options, metrics);
+  }
+
+  /**
+   * encode the given content using the given symbol options. See {@link QrOptions} for the automatic mode.
+   *
+   * @param content the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param charset the charset of the payload, written as ECI designator if enabled in the options
+   * @param options the symbol options to use
+   * @return the encoded matrix
+   * @throws EpcException if the content does not fit into the configured version
+   */
+  static QrMatrix encode(String content, Charset charset, QrOptions options) throws EpcException {
+    return encode(content, charset, options, Metrics.get());
+  }
+
+  /**
+   * encode the given content using the given symbol options. See {@link QrOptions} for the automatic mode.
+   *
+   * @param content the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param charset the charset of the payload, written as ECI designator if enabled in the options
+   * @param options the symbol options to use
+   * @param metrics the metrics to record the phases into
+   * @return the encoded matrix
+   * @throws EpcException if the content does not fit into the configured version
+   */
+  static QrMatrix encode(String content, Charset charset, QrOptions options, GenerationMetrics metrics)
+    throws EpcException {
+    Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+    String data = content;
+    if (options.isEci()) {
+      // the encoder writes the ECI designator and encodes the text with the given charset back into the payload
+      data = new String(content.getBytes(StandardCharsets.ISO_8859_1), charset);
+      hints.put(EncodeHintType.CHARACTER_SET, charset.name());
+    }
+
+    ErrorCorrectionLevel level = options.getErrorCorrectionLevel();
+    int version = options.getVersion();
+    if (options.isAutomatic()) {
+      // an EPC payload always contains line breaks and lower case letters, so it is stored in byte mode. All
+      // supported charsets have an ECI value below 128, which is stored in 8 bits.
+      int dataBits = 4 + (options.isEci() ? 12 : 0) + 8 * content.length();
+      if (version == 0) {
+        version = smallestVersion(dataBits, level);
+      }
+      if (version > 0) {
+        for (int i = LEVELS.indexOf(level) + 1; i < LEVELS.size() && fits(dataBits, version, LEVELS.get(i)); i++) {
+          level = LEVELS.get(i);
+        }
+      }
+    }
+    if (version > 0) {
+      hints.put(EncodeHintType.QR_VERSION, version);
+    }
+    QrMatrix matrix = encode(data, level, hints, metrics);
+    if (options.nextVerification()) {
+      matrix.verify(content.getBytes(StandardCharsets.ISO_8859_1), metrics);
+    }
+    return matrix;
+  }
+
+  /**
+   * returns the smallest version the given number of data bits fit into.
+   *
+   * @param dataBits the number of bits without the character count
+   * @param level    the error correction level
+   * @return the version, 0 if the data does not fit into any version
+   */
+  private static int smallestVersion(int dataBits, ErrorCorrectionLevel level) {
+    for (int version = 1; version <= 40; version++) {
+      if (fits(dataBits, version, level)) {
+        return version;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean fits(int dataBits, int versionNumber, ErrorCorrectionLevel level) {
+    Version version = Version.getVersionForNumber(versionNumber);
+    int dataCodewords = version.getTotalCodewords() - version.getECBlocksForLevel(level).getTotalECCodewords();
+    return dataBits + Mode.BYTE.getCharacterCountBits(version) <= dataCodewords * 8;
+  }
+
+  /**
+   * encode the given content.
+   *
+   * @param content              the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param errorCorrectionLevel the error correction level to use
+   * @param hints                additional hints for the encoder
+   * @return the encoded matrix
+   * @throws EpcException if the content cannot be encoded
+   */
+  static QrMatrix encode(String content, ErrorCorrectionLevel errorCorrectionLevel, Map<EncodeHintType, ?> hints)
+    throws EpcException {
+    return encode(content, errorCorrectionLevel, hints, Metrics.get());
+  }
+
+  /**
+   * encode the given content.
+   *
+   * @param content              the payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param errorCorrectionLevel the error correction level to use
+   * @param hints                additional hints for the encoder
+   * @param metrics              the metrics to record the {@link Phase#ENCODE} phase into
+   * @return the encoded matrix
+   * @throws EpcException if the content cannot be encoded
+   */
+  static QrMatrix encode(String content, ErrorCorrectionLevel errorCorrectionLevel, Map<EncodeHintType, ?> hints,
+    GenerationMetrics metrics) throws EpcException {
+    long start = Metrics.start(metrics, Phase.ENCODE);
+    EncodeEvent event = new EncodeEvent();
+    event.begin();
+    try {
+      QrMatrix matrix = new QrMatrix(Encoder.encode(content, errorCorrectionLevel, hints));
+      Metrics.stop(metrics, Phase.ENCODE, start);
+      if (event.shouldCommit()) {
+        event.set(content.length(), matrix.errorCorrectionLevel.name(), matrix.version, matrix.size);
+        event.commit();
+      }
+      return matrix;
+    } catch (Exception ex) {
+      throw new EpcException(String.format("Failed to encode QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * decode the module matrix and compare the decoded bytes with the payload. Works on the modules directly, one
+   * pixel per module, so no image is rendered or scanned.
+   *
+   * @param payload the encoded bytes of the payload
+   * @throws EpcException if the matrix cannot be decoded or does not hold the payload
+   */
+  void verify(byte[] payload) throws EpcException {
+    verify(payload, Metrics.get());
+  }
+
+  /**
+   * decode the module matrix and compare the decoded bytes with the payload, see {@link #verify(byte[])}.
+   *
+   * @param payload the encoded bytes of the payload
+   * @param metrics the metrics to record the {@link Phase#VERIFY} phase into
+   * @throws EpcException if the matrix cannot be decoded or does not hold the payload
+   */
+  void verify(byte[] payload, GenerationMetrics metrics) throws EpcException {
+    long start = Metrics.start(metrics, Phase.VERIFY);
+    BitMatrix modules = render(size, size, 0);
+    byte[] decoded;
+    try {
+      decoded = bytes(DECODER.get().decode(modules));
+    } catch (Exception ex) {
+      throw new EpcException(String.format("Failed to verify QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+    if (!Arrays.equals(decoded, payload)) {
+      throw new EpcException(String.format("Failed to verify QR code. Reason: decoded %d bytes differ from payload of %d bytes",
+        decoded.length, payload.length));
+    }
+    Metrics.stop(metrics, Phase.VERIFY, start);
+  }
+
+  private static byte[] bytes(DecoderResult result) {
+    List<byte[]> segments = result.getByteSegments();
+    if (segments == null) {
+      // not stored in byte mode, the text holds digits or upper case letters only
+      return result.getText().getBytes(StandardCharsets.ISO_8859_1);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    for (byte[] segment : segments) {
+      bytes.write(segment, 0, segment.length);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * returns whether the module at the given position is dark.
+   *
+   * @param x the column, 0 to size - 1
+   * @param y the row, 0 to size - 1
+   * @return true, if the module is dark
+   */
+  public boolean get(int x, int y) {
+    return (bits[y * rowSize + (x >>> 5)] & (1 << (x & 0x1F))) != 0;
+  }
+
+  /**
+   * render the matrix with a fixed module size. The image is (size + 2 * quietZone) * moduleSize pixel wide and
+   * high.
+   *
+   * @param moduleSize the size of one module in pixel
+   * @param quietZone  the quiet zone in modules
+   * @return the rendered image, set bits are dark
+   */
+  public BitMatrix render(int moduleSize, int quietZone) {
+    int dimension = (size + 2 * quietZone) * Math.max(1, moduleSize);
+    return render(dimension, dimension, quietZone);
+  }
+
+  /**
+   * render the matrix into an image of the given size. The module size is the largest integer factor which fits
+   * the matrix and quiet zone into the image, the remaining pixels are distributed evenly around the code. If the
+   * image is too small, it is enlarged to one pixel per module.
+   *
+   * @param width     the width of the image
+   * @param height    the height of the image
+   * @param quietZone the minimum quiet zone in modules
+   * @return the rendered image, set bits are dark
+   */
+  public BitMatrix render(int width, int height, int quietZone) {
+    int fullSize = size + 2 * quietZone;
+    int outputWidth = Math.max(width, fullSize);
+    int outputHeight = Math.max(height, fullSize);
+    int multiple = Math.min(outputWidth / fullSize, outputHeight / fullSize);
+    int leftPadding = (outputWidth - size * multiple) / 2;
+    int topPadding = (outputHeight - size * multiple) / 2;
+
+    BitMatrix output = new BitMatrix(outputWidth, outputHeight);
+    for (int y = 0; y < size; y++) {
+      int outputY = topPadding + y * multiple;
+      int x = 0;
+      while (x < size) {
+        if (!get(x, y)) {
+          x++;
+          continue;
+        }
+        int start = x;
+        while (x < size && get(x, y)) {
+          x++;
+        }
+        output.setRegion(leftPadding + start * multiple, outputY, (x - start) * multiple, multiple);
+      }
+    }
+    return output;
+  }
+}
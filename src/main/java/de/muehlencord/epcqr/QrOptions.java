@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * immutable symbol options of a generated QR code. Each withX method returns a new instance.
+ * <p>
+ * In automatic mode the smallest version which holds the payload at the configured error correction level is
+ * chosen, afterwards the error correction level is raised as long as the payload still fits into this version. So
+ * the symbol does not grow, but is as robust as possible. {@link #smallestSymbol()} uses level M as minimum as
+ * recommended by the EPC guidelines.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class QrOptions {
+
+  /**
+   * the options used if nothing else is configured: error correction level L, a quiet zone of 4 modules, the
+   * smallest fitting version, no ECI and no verification.
+   */
+  public static final QrOptions DEFAULT = new QrOptions(ErrorCorrectionLevel.L, false, QrMatrix.DEFAULT_QUIET_ZONE, 0, false, 0);
+
+  /**
+   * the error correction level, the minimum level in automatic mode.
+   */
+  private final ErrorCorrectionLevel errorCorrectionLevel;
+
+  /**
+   * if true, the error correction level is raised as long as the symbol does not grow.
+   */
+  private final boolean automatic;
+
+  /**
+   * the quiet zone around the code in modules.
+   */
+  private final int margin;
+
+  /**
+   * the QR code version 1 to 40, 0 to use the smallest version the payload fits into.
+   */
+  private final int version;
+
+  /**
+   * if true, an ECI designator of the character set of the payload is written in front of the data. Required by
+   * some readers to detect UTF-8 or ISO-8859-x other than ISO-8859-1 correctly.
+   */
+  private final boolean eci;
+
+  /**
+   * verify every n-th encoded matrix by decoding it, 1 to verify every matrix, 0 to disable the verification. See
+   * {@link #withVerification(int)}.
+   */
+  private final int verification;
+
+  /**
+   * number of matrices encoded with these options, used to select every n-th matrix for the verification. Not
+   * part of equals and hashCode.
+   */
+  @Getter(AccessLevel.NONE)
+  private final AtomicLong verificationCounter = new AtomicLong();
+
+  private QrOptions(ErrorCorrectionLevel errorCorrectionLevel, boolean automatic, int margin, int version, boolean eci,
+    int verification) {
+    this.errorCorrectionLevel = errorCorrectionLevel;
+    this.automatic = automatic;
+    this.margin = margin;
+    this.version = version;
+    this.eci = eci;
+    this.verification = verification;
+  }
+
+  /**
+   * options creating the smallest symbol the EPC guidelines allow: the smallest version at error correction level
+   * M, using the highest error correction level which fits into this version.
+   *
+   * @return the options
+   */
+  public static QrOptions smallestSymbol() {
+    return new QrOptions(ErrorCorrectionLevel.M, true, QrMatrix.DEFAULT_QUIET_ZONE, 0, false, 0);
+  }
+
+  /* *** builder *** */
+
+  /**
+   * set the error correction level. In automatic mode this is the minimum level.
+   *
+   * @param errorCorrectionLevel the level to use
+   * @return new options using the given level
+   * @throws EpcException if the level is null
+   */
+  public QrOptions withErrorCorrectionLevel(ErrorCorrectionLevel errorCorrectionLevel) throws EpcException {
+    if (errorCorrectionLevel == null) {
+      throw new EpcException("Error correction level must not be null");
+    }
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * enable or disable the automatic selection of the error correction level.
+   *
+   * @param automatic true to raise the error correction level as long as the symbol does not grow
+   * @return new options using the given mode
+   */
+  public QrOptions withAutomatic(boolean automatic) {
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * set the quiet zone around the code. The QR code specification requires 4 modules.
+   *
+   * @param margin the quiet zone in modules, 0 or more
+   * @return new options using the given margin
+   * @throws EpcException if the margin is negative
+   */
+  public QrOptions withMargin(int margin) throws EpcException {
+    if (margin < 0) {
+      throw new EpcException(String.format("Margin must not be negative, but is %d", margin));
+    }
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * set the QR code version. Encoding fails if the payload does not fit into the version.
+   *
+   * @param version the version 1 to 40, 0 to use the smallest version the payload fits into
+   * @return new options using the given version
+   * @throws EpcException if the version is out of range
+   */
+  public QrOptions withVersion(int version) throws EpcException {
+    if (version < 0 || version > 40) {
+      throw new EpcException(String.format("Version must be between 1 and 40 or 0 for automatic, but is %d", version));
+    }
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * enable or disable writing an ECI designator of the character set of the payload.
+   *
+   * @param eci true to write the ECI designator
+   * @return new options using the given setting
+   */
+  public QrOptions withEci(boolean eci) {
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * enable the verification of encoded matrices. A verified matrix is decoded again, without rendering any pixels,
+   * and the decoded bytes are compared to the payload. If they differ, the generator fails with an
+   * {@link EpcException} instead of returning the image. Decoding costs about as much as encoding, so large batches
+   * may verify a sample only. The sample is counted per options instance, starting with the first matrix.
+   *
+   * @param verification 1 to verify every matrix, n to verify one of n matrices, 0 to disable the verification
+   * @return new options using the given verification rate
+   * @throws EpcException if the rate is negative
+   */
+  public QrOptions withVerification(int verification) throws EpcException {
+    if (verification < 0) {
+      throw new EpcException(String.format("Verification must not be negative, but is %d", verification));
+    }
+    return new QrOptions(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  /**
+   * counts an encoded matrix and returns whether it is verified, see {@link #withVerification(int)}.
+   *
+   * @return true, if the matrix is verified
+   */
+  boolean nextVerification() {
+    return verification == 1 || (verification > 1 && verificationCounter.getAndIncrement() % verification == 0);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof QrOptions)) {
+      return false;
+    }
+    QrOptions other = (QrOptions) o;
+    return errorCorrectionLevel == other.errorCorrectionLevel && automatic == other.automatic
+      && margin == other.margin && version == other.version && eci == other.eci
+      && verification == other.verification;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "QrOptions[errorCorrectionLevel=%s, automatic=%s, margin=%d, version=%d, eci=%s, verification=%d]",
+      errorCorrectionLevel, automatic, margin, version, eci, verification);
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * bounded cache of rendered QR codes, keyed by the EPC payload and the render parameters of the generator. The
+ * least recently used entry is evicted once the maximum number of entries is reached. Concurrent requests for the
+ * same key are coalesced, so each code is rendered only once even if it is requested by many threads at the same
+ * time. A cache can be shared by several generators of the same output type.
+ *
+ * @param <T> the output type of the cached generator
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class RenderCache<T> {
+
+  private final int maxEntries;
+  private final LinkedHashMap<RenderKey, T> entries;
+  private final Map<RenderKey, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * create a new cache.
+   *
+   * @param maxEntries the maximum number of rendered codes to keep
+   * @throws EpcException if maxEntries is less than 1
+   */
+  public RenderCache(int maxEntries) throws EpcException {
+    if (maxEntries < 1) {
+      throw new EpcException(String.format("maxEntries must be at least 1, is %s", maxEntries));
+    }
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<RenderKey, T> eldest) {
+        if (size() > RenderCache.this.maxEntries) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * returns the cached code for the given key or renders it.
+   *
+   * @param key      the key of the code
+   * @param renderer renders the code if it is not cached
+   * @return the cached or rendered code
+   * @throws EpcException if rendering failed
+   */
+  T get(RenderKey key, Renderer<T> renderer) throws EpcException {
+    T value = lookup(key);
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    CompletableFuture<T> future = new CompletableFuture<>();
+    CompletableFuture<T> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      // another thread is rendering the same code already
+      coalesced.increment();
+      return await(existing);
+    }
+
+    try {
+      // the code might have been rendered between the lookup and registering as in flight
+      value = lookup(key);
+      if (value == null) {
+        misses.increment();
+        value = renderer.render();
+        synchronized (entries) {
+          entries.put(key, value);
+        }
+      } else {
+        hits.increment();
+      }
+      future.complete(value);
+      return value;
+    } catch (EpcException | RuntimeException ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  private T lookup(RenderKey key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  private T await(CompletableFuture<T> future) throws EpcException {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof EpcException) {
+        throw new EpcException(cause.getMessage(), cause);
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * removes all entries from the cache. The counters are not reset.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * returns the number of cached codes.
+   *
+   * @return the number of cached codes
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * returns the maximum number of cached codes.
+   *
+   * @return the maximum number of cached codes
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * returns the number of requests served from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * returns the number of requests which had to render the code.
+   *
+   * @return the number of cache misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * returns the number of codes removed because the cache was full.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * returns the number of requests which waited for the same code being rendered by another thread.
+   *
+   * @return the number of coalesced requests
+   */
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * renders a code on a cache miss.
+   *
+   * @param <T> the output type
+   */
+  @FunctionalInterface
+  interface Renderer<T> {
+
+    /**
+     * render the code.
+     *
+     * @return the rendered code
+     * @throws EpcException if the code cannot be rendered
+     */
+    T render() throws EpcException;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.ImageFormat;
+
+import java.util.Objects;
+
+/**
+ * key of a rendered QR code inside the {@link RenderCache}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class RenderKey {
+
+  private final String data;
+  private final int width;
+  private final int height;
+  private final ImageFormat format;
+  private final QrOptions options;
+  private final int hash;
+
+  RenderKey(String data, int width, int height, ImageFormat format, QrOptions options) {
+    this.data = data;
+    this.width = width;
+    this.height = height;
+    this.format = format;
+    this.options = options;
+    this.hash = Objects.hash(data, width, height, format, options);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof RenderKey)) {
+      return false;
+    }
+    RenderKey other = (RenderKey) o;
+    return hash == other.hash && width == other.width && height == other.height && format == other.format
+      && Objects.equals(options, other.options) && data.equals(other.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
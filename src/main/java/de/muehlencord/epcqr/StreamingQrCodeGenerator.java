@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.model.StreamEncoding;
+
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Qr Code generator which can write the generated image directly to a stream, a channel or a buffer without
+ * creating intermediate copies of the image.
+ *
+ * @param <T> the output type of {@link #generate(EpcBuilder)}
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface StreamingQrCodeGenerator<T> extends QrCodeGenerator<T> {
+
+  /**
+   * returns the metrics this generator records into.
+   *
+   * @return the metrics, null to record into the active metrics, see {@link Metrics#install}
+   */
+  default GenerationMetrics getMetrics() {
+    return null;
+  }
+
+  /**
+   * generate based on the give builder a QR code and write it to the given stream. The stream is flushed but not
+   * closed.
+   *
+   * @param builder      the builder to use
+   * @param outputStream the stream to write the image to
+   * @param encoding     the encoding of the image written
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  void writeTo(EpcBuilder builder, OutputStream outputStream, StreamEncoding encoding) throws EpcException;
+
+  /**
+   * generate based on the give builder a QR code and write the raw image to the given stream. The stream is
+   * flushed but not closed.
+   *
+   * @param builder      the builder to use
+   * @param outputStream the stream to write the image to
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  default void writeTo(EpcBuilder builder, OutputStream outputStream) throws EpcException {
+    writeTo(builder, outputStream, StreamEncoding.RAW);
+  }
+
+  /**
+   * generate based on the give builder a QR code and write it to the given channel. The channel is not closed.
+   *
+   * @param builder  the builder to use
+   * @param channel  the channel to write the image to
+   * @param encoding the encoding of the image written
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  default void writeTo(EpcBuilder builder, WritableByteChannel channel, StreamEncoding encoding) throws EpcException {
+    writeTo(builder, Channels.newOutputStream(channel), encoding);
+  }
+
+  /**
+   * generate based on the give builder a QR code and write it into the given buffer, starting at its current
+   * position. After the call the position of the buffer is placed after the image. If the buffer is too small, its
+   * position is left unchanged.
+   *
+   * @param builder  the builder to use
+   * @param buffer   the buffer to write the image to
+   * @param encoding the encoding of the image written
+   * @return the number of bytes written
+   * @throws EpcException if the generation failed or the buffer is too small to hold the image.
+   */
+  default int writeTo(EpcBuilder builder, ByteBuffer buffer, StreamEncoding encoding) throws EpcException {
+    int start = buffer.position();
+    try {
+      writeTo(builder, new ByteBufferOutputStream(buffer), encoding);
+    } catch (BufferOverflowException ex) {
+      buffer.position(start);
+      EpcException failure = new EpcException(String.format("Buffer too small, %d bytes remaining", buffer.limit() - start), ex);
+      Metrics.failure(Metrics.resolve(getMetrics()), failure);
+      throw failure;
+    }
+    return buffer.position() - start;
+  }
+}
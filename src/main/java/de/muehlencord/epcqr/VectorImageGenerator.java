@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.jfr.ImageWriteEvent;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.metrics.Phase;
+import de.muehlencord.epcqr.model.StreamEncoding;
+import de.muehlencord.epcqr.model.VectorFormat;
+import lombok.Getter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * output QrCode as vector image (SVG, PDF or EPS) generated directly from the modules of the QR code. Each run of
+ * dark modules in a row becomes one rectangle, so the output is small and can be scaled to any print size without
+ * loss. Generators are immutable, each withX method returns a new instance.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public class VectorImageGenerator implements StreamingQrCodeGenerator<String> {
+
+  /**
+   * the size of the image, in pixel for SVG and in points for PDF and EPS. Defaults to 300.
+   */
+  private final int size;
+
+  /**
+   * the output format. Defaults to SVG.
+   */
+  private final VectorFormat format;
+
+  /**
+   * the symbol options, such as error correction level, margin and version. Defaults to {@link QrOptions#DEFAULT}.
+   */
+  private final QrOptions options;
+
+  /**
+   * the metrics to record into, null to record into the active metrics, see {@link Metrics#install}.
+   */
+  private final GenerationMetrics metrics;
+
+  /**
+   * create a new vector image generator.
+   */
+  public VectorImageGenerator() {
+    this(300, VectorFormat.SVG, QrOptions.DEFAULT, null);
+  }
+
+  private VectorImageGenerator(int size, VectorFormat format, QrOptions options, GenerationMetrics metrics) {
+    this.size = size;
+    this.format = format;
+    this.options = options;
+    this.metrics = metrics;
+  }
+
+  /* *** builder *** */
+
+  /**
+   * set the size of the image. The image is always square.
+   *
+   * @param size the size, in pixel for SVG and in points for PDF and EPS
+   * @return a new generator using the given size
+   */
+  public VectorImageGenerator withSize(int size) {
+    return new VectorImageGenerator(size, format, options, metrics);
+  }
+
+  /**
+   * set the output format.
+   *
+   * @param format the format to use
+   * @return a new generator using the given format
+   */
+  public VectorImageGenerator withFormat(VectorFormat format) {
+    return new VectorImageGenerator(size, format, options, metrics);
+  }
+
+  /**
+   * set the symbol options, such as error correction level, margin and version.
+   *
+   * @param options the options to use
+   * @return a new generator using the given options
+   */
+  public VectorImageGenerator withOptions(QrOptions options) {
+    return new VectorImageGenerator(size, format, options, metrics);
+  }
+
+  /**
+   * set the metrics to record into instead of the active metrics.
+   *
+   * @param metrics the metrics to use, null to record into the active metrics
+   * @return a new generator using the given metrics
+   */
+  public VectorImageGenerator withMetrics(GenerationMetrics metrics) {
+    return new VectorImageGenerator(size, format, options, metrics);
+  }
+
+  /* *** generation *** */
+
+  /**
+   * generate based on the give builder a QR code
+   *
+   * @param builder the builder to use
+   * @return the vector image as text
+   * @throws EpcException if the generation failed .
+   */
+  @Override
+  public String generate(EpcBuilder builder) throws EpcException {
+    try {
+      return render(QrMatrix.encode(builder, options, metrics()));
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * generate based on the given payment a QR code, using the payload cached by the payment.
+   *
+   * @param payment the payment to use
+   * @return the vector image as text
+   * @throws EpcException if the generation failed .
+   */
+  @Override
+  public String generate(EpcPayment payment) throws EpcException {
+    return generate(payment.content(metrics()), payment.getEncoding().getCharset());
+  }
+
+  /**
+   * generate the vector image of an already serialized payload.
+   *
+   * @param content the EPC payload, one character per byte, see {@link EpcPayloadWriter#toContent()}
+   * @param charset the charset of the payload
+   * @return the vector image as text
+   * @throws EpcException if the payload cannot be encoded
+   */
+  String generate(String content, Charset charset) throws EpcException {
+    try {
+      return render(QrMatrix.encode(content, charset, options, metrics()));
+    } catch (EpcException ex) {
+      Metrics.failure(metrics(), ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * generate based on the give builder a QR code and write the vector image to the given stream. The stream is
+   * flushed but not closed.
+   *
+   * @param builder      the builder to use
+   * @param outputStream the stream to write the image to
+   * @param encoding     the encoding of the image written
+   * @throws EpcException if the generation failed or the image cannot be written.
+   */
+  @Override
+  public void writeTo(EpcBuilder builder, OutputStream outputStream, StreamEncoding encoding) throws EpcException {
+    // all vector formats are plain ASCII
+    byte[] image = generate(builder).getBytes(StandardCharsets.US_ASCII);
+    GenerationMetrics recorder = metrics();
+    long start = Metrics.start(recorder, Phase.WRITE);
+    try (OutputStream encoded = EncodedOutputStream.open(outputStream, encoding, format.getMimeType())) {
+      encoded.write(image);
+    } catch (IOException ex) {
+      EpcException failure = new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+      Metrics.failure(recorder, failure);
+      throw failure;
+    }
+    Metrics.stop(recorder, Phase.WRITE, start);
+  }
+
+  /**
+   * render an already encoded QR code.
+   *
+   * @param modules the encoded QR code
+   * @return the vector image as text
+   */
+  public String render(QrMatrix modules) {
+    GenerationMetrics recorder = metrics();
+    long start = Metrics.start(recorder, Phase.RENDER);
+    ImageWriteEvent event = new ImageWriteEvent();
+    event.begin();
+    String image;
+    switch (format) {
+      case PDF:
+        image = pdf(modules);
+        break;
+      case EPS:
+        image = eps(modules);
+        break;
+      default:
+        image = svg(modules);
+    }
+    Metrics.stop(recorder, Phase.RENDER, start);
+    Metrics.image(recorder, format.getName(), size, size, image.length());
+    if (event.shouldCommit()) {
+      event.set(format.getName(), size, size, image.length());
+      event.commit();
+    }
+    return image;
+  }
+
+  private GenerationMetrics metrics() {
+    return Metrics.resolve(metrics);
+  }
+
+  private String svg(QrMatrix modules) {
+    int dimension = modules.getSize() + 2 * options.getMargin();
+    StringBuilder sb = new StringBuilder(4096);
+    sb.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size)
+      .append("\" height=\"").append(size)
+      .append("\" viewBox=\"0 0 ").append(dimension).append(' ').append(dimension)
+      .append("\" shape-rendering=\"crispEdges\">");
+    sb.append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path d=\"");
+    forEachRun(modules, options.getMargin(), (x, y, length) ->
+      sb.append('M').append(x).append(',').append(y)
+        .append('h').append(length).append("v1h-").append(length).append('z'));
+    sb.append("\"/></svg>");
+    return sb.toString();
+  }
+
+  private String pdf(QrMatrix modules) {
+    String scale = scale(modules);
+    StringBuilder content = new StringBuilder(4096);
+    // flip the y axis so module coordinates can be used directly
+    content.append("q ").append(scale).append(" 0 0 -").append(scale).append(" 0 ").append(size).append(" cm\n");
+    forEachRun(modules, options.getMargin(), (x, y, length) ->
+      content.append(x).append(' ').append(y).append(' ').append(length).append(" 1 re\n"));
+    content.append("f Q\n");
+
+    String[] objects = {
+      "<< /Type /Catalog /Pages 2 0 R >>",
+      "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+      "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + size + " " + size + "] /Resources << >> /Contents 4 0 R >>",
+      "<< /Length " + content.length() + " >>\nstream\n" + content + "endstream"
+    };
+
+    StringBuilder sb = new StringBuilder(content.length() + 512);
+    sb.append("%PDF-1.4\n");
+    int[] offsets = new int[objects.length];
+    for (int i = 0; i < objects.length; i++) {
+      // the document is plain ASCII, so the char position equals the byte offset
+      offsets[i] = sb.length();
+      sb.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+    }
+    int xref = sb.length();
+    sb.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f\r\n");
+    for (int offset : offsets) {
+      sb.append(String.format("%010d 00000 n\r\n", offset));
+    }
+    sb.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+      .append(xref).append("\n%%EOF\n");
+    return sb.toString();
+  }
+
+  private String eps(QrMatrix modules) {
+    String scale = scale(modules);
+    StringBuilder sb = new StringBuilder(4096);
+    sb.append("%!PS-Adobe-3.0 EPSF-3.0\n")
+      .append("%%BoundingBox: 0 0 ").append(size).append(' ').append(size).append('\n')
+      .append("%%EndComments\n")
+      .append("gsave\n")
+      .append("0 ").append(size).append(" translate ").append(scale).append(" -").append(scale).append(" scale\n")
+      .append("/R { 1 rectfill } bind def\n");
+    forEachRun(modules, options.getMargin(), (x, y, length) -> sb.append(x).append(' ').append(y).append(' ').append(length).append(" R\n"));
+    sb.append("grestore\n%%EOF\n");
+    return sb.toString();
+  }
+
+  /**
+   * returns the size of one module in output units, with quiet zone on each side.
+   */
+  private String scale(QrMatrix modules) {
+    int dimension = modules.getSize() + 2 * options.getMargin();
+    return BigDecimal.valueOf(size).divide(BigDecimal.valueOf(dimension), 4, RoundingMode.HALF_UP)
+      .stripTrailingZeros().toPlainString();
+  }
+
+  /**
+   * calls the consumer for each horizontal run of dark modules, using coordinates including the quiet zone.
+   */
+  private static void forEachRun(QrMatrix modules, int margin, RunConsumer consumer) {
+    int size = modules.getSize();
+    for (int y = 0; y < size; y++) {
+      int x = 0;
+      while (x < size) {
+        if (!modules.get(x, y)) {
+          x++;
+          continue;
+        }
+        int start = x;
+        while (x < size && modules.get(x, y)) {
+          x++;
+        }
+        consumer.accept(start + margin, y + margin, x - start);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface RunConsumer {
+    void accept(int x, int y, int length);
+  }
+}
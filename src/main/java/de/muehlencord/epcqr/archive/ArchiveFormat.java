@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.archive;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayloadWriter;
+import de.muehlencord.epcqr.EpcPayment;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * layout of the archive files. The segment file starts with a header followed by the images, one after another.
+ * The index file, stored next to the segment with the extension .idx, starts with a header followed by one entry
+ * per image: the key as UTF-8 with its length as unsigned short, the offset of the image in the segment as long
+ * and its length as int. Both files are only appended to, a later entry for the same key replaces earlier ones.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class ArchiveFormat {
+
+  static final int SEGMENT_MAGIC = 0x45504353; // EPCS
+  static final int INDEX_MAGIC = 0x45504349; // EPCI
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+
+  /**
+   * the maximum size of one image. Limits the overlap of the memory mapped regions of the reader.
+   */
+  static final int MAX_ENTRY_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * the maximum length of a key in bytes.
+   */
+  static final int MAX_KEY_SIZE = 1024;
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private ArchiveFormat() {
+    // only static methods
+  }
+
+  static Path indexFile(Path segmentFile) {
+    return segmentFile.resolveSibling(segmentFile.getFileName() + ".idx");
+  }
+
+  /**
+   * the key of a payment: the first 16 bytes of the SHA-256 hash of the payload as hex string.
+   *
+   * @param builder the payment
+   * @return the key
+   * @throws EpcException if the payload cannot be created
+   */
+  static String payloadKey(EpcBuilder builder) throws EpcException {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+        .digest(EpcPayloadWriter.toByteArray(builder));
+      char[] key = new char[32];
+      for (int i = 0; i < 16; i++) {
+        key[2 * i] = HEX[(hash[i] >> 4) & 0x0f];
+        key[2 * i + 1] = HEX[hash[i] & 0x0f];
+      }
+      return new String(key);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new EpcException(String.format("Failed to create archive key. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * the key of a payment, see {@link #payloadKey(EpcBuilder)}, using the hash cached by the payment.
+   *
+   * @param payment the payment
+   * @return the key
+   */
+  static String payloadKey(EpcPayment payment) {
+    return payment.getSha256Hex().substring(0, 32);
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.archive;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayment;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * serves images from an archive written by {@link ArchiveWriter}. The segment file is memory mapped, so
+ * {@link #get(String)} returns a view of the stored image without copying it onto the heap, and
+ * {@link #transferTo(String, WritableByteChannel)} lets the operating system copy it directly to a file or socket.
+ * The reader sees the archive as it was when opened and is thread-safe.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class ArchiveReader implements Closeable {
+
+  /**
+   * the size of a mapped region. Regions overlap by the maximum entry size, so every image lies in one region.
+   */
+  private static final long REGION_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer[] regions;
+  private final Map<String, Entry> index;
+
+  private ArchiveReader(FileChannel channel, MappedByteBuffer[] regions, Map<String, Entry> index) {
+    this.channel = channel;
+    this.regions = regions;
+    this.index = index;
+  }
+
+  /**
+   * open an archive for reading.
+   *
+   * @param segmentFile the segment file, the index is read from the file next to it with the extension .idx
+   * @return the reader
+   * @throws EpcException if the archive cannot be read or is not an archive
+   */
+  public static ArchiveReader open(Path segmentFile) throws EpcException {
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(segmentFile, StandardOpenOption.READ);
+      long size = channel.size();
+      ByteBuffer header = ByteBuffer.allocate(ArchiveFormat.HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+        // read the complete header
+      }
+      if (header.hasRemaining() || header.getInt(0) != ArchiveFormat.SEGMENT_MAGIC
+        || header.getInt(4) != ArchiveFormat.VERSION) {
+        throw new EpcException(String.format("%s is not an archive file", segmentFile));
+      }
+
+      MappedByteBuffer[] regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+      for (int i = 0; i < regions.length; i++) {
+        long start = i * REGION_SIZE;
+        long length = Math.min(size - start, REGION_SIZE + ArchiveFormat.MAX_ENTRY_SIZE);
+        regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+      }
+      return new ArchiveReader(channel, regions, readIndex(ArchiveFormat.indexFile(segmentFile), size));
+    } catch (IOException | EpcException ex) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException closeFailure) {
+          ex.addSuppressed(closeFailure);
+        }
+      }
+      if (ex instanceof EpcException) {
+        throw (EpcException) ex;
+      }
+      throw new EpcException(String.format("Failed to read archive. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  private static Map<String, Entry> readIndex(Path indexFile, long segmentSize) throws IOException, EpcException {
+    long indexSize = Files.size(indexFile);
+    // entries keyed by a payload hash take 46 bytes
+    Map<String, Entry> index = new HashMap<>((int) Math.min(Integer.MAX_VALUE, indexSize / 46 * 4 / 3 + 16));
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), 64 * 1024))) {
+      if (in.readInt() != ArchiveFormat.INDEX_MAGIC || in.readInt() != ArchiveFormat.VERSION) {
+        throw new EpcException(String.format("%s is not an archive index", indexFile));
+      }
+      byte[] key = new byte[ArchiveFormat.MAX_KEY_SIZE];
+      while (true) {
+        int keyLength;
+        long offset;
+        int length;
+        try {
+          keyLength = in.readUnsignedShort();
+          if (keyLength > ArchiveFormat.MAX_KEY_SIZE) {
+            throw new EpcException(String.format("%s is corrupt", indexFile));
+          }
+          in.readFully(key, 0, keyLength);
+          offset = in.readLong();
+          length = in.readInt();
+        } catch (EOFException ex) {
+          // end of the index, or an entry which was not written completely
+          return index;
+        }
+        if (offset < ArchiveFormat.HEADER_SIZE || length < 0 || offset + length > segmentSize) {
+          // the image was not written completely, skip it
+          continue;
+        }
+        index.put(new String(key, 0, keyLength, StandardCharsets.UTF_8), new Entry(offset, length));
+      }
+    }
+  }
+
+  /**
+   * @return the number of distinct keys in the archive
+   */
+  public int size() {
+    return index.size();
+  }
+
+  /**
+   * @param key the key to look up
+   * @return true, if an image is stored under the key
+   */
+  public boolean contains(String key) {
+    return index.containsKey(key);
+  }
+
+  /**
+   * return the image stored under the key as read-only view of the memory mapped segment.
+   *
+   * @param key the key to look up
+   * @return the image, or null if no image is stored under the key
+   */
+  public ByteBuffer get(String key) {
+    Entry entry = index.get(key);
+    if (entry == null) {
+      return null;
+    }
+    int region = (int) (entry.offset / REGION_SIZE);
+    return regions[region].slice((int) (entry.offset - region * REGION_SIZE), entry.length);
+  }
+
+  /**
+   * return the image of the payment appended by {@link ArchiveWriter#append(EpcBuilder,
+   * de.muehlencord.epcqr.ByteArrayImageGenerator)}.
+   *
+   * @param builder the payment to look up
+   * @return the image, or null if the payment is not stored
+   * @throws EpcException if the payload of the payment cannot be created
+   */
+  public ByteBuffer get(EpcBuilder builder) throws EpcException {
+    return get(ArchiveFormat.payloadKey(builder));
+  }
+
+  /**
+   * return the image of the payment appended by {@link ArchiveWriter#append(EpcPayment,
+   * de.muehlencord.epcqr.ByteArrayImageGenerator)} or {@link ArchiveWriter#append(EpcBuilder,
+   * de.muehlencord.epcqr.ByteArrayImageGenerator)}.
+   *
+   * @param payment the payment to look up
+   * @return the image, or null if the payment is not stored
+   */
+  public ByteBuffer get(EpcPayment payment) {
+    return get(ArchiveFormat.payloadKey(payment));
+  }
+
+  /**
+   * copy the image stored under the key to the target using {@link FileChannel#transferTo(long, long,
+   * WritableByteChannel)}, which avoids copying the data through the heap, e.g. for sockets. The target must be in
+   * blocking mode, a non-blocking channel which accepts no bytes fails the transfer.
+   *
+   * @param key    the key to look up
+   * @param target the channel to write the image to, in blocking mode
+   * @return true, if the image was written, false if no image is stored under the key
+   * @throws EpcException if the image cannot be written to the target or the target accepts no bytes
+   */
+  public boolean transferTo(String key, WritableByteChannel target) throws EpcException {
+    Entry entry = index.get(key);
+    if (entry == null) {
+      return false;
+    }
+    try {
+      long position = entry.offset;
+      long end = entry.offset + entry.length;
+      while (position < end) {
+        long transferred = channel.transferTo(position, end - position, target);
+        if (transferred <= 0) {
+          throw new EpcException(String.format("Failed to transfer image %s, the target accepted no bytes after %d of %d",
+            key, position - entry.offset, entry.length));
+        }
+        position += transferred;
+      }
+      return true;
+    } catch (IOException ex) {
+      throw new EpcException(String.format("Failed to read archive. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * close the segment file. Buffers returned by {@link #get(String)} stay valid until they are garbage collected.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static final class Entry {
+
+    private final long offset;
+    private final int length;
+
+    private Entry(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
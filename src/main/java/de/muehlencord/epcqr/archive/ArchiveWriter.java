@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.archive;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayment;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * appends rendered images to an archive, one segment file holding the images and an index file mapping the keys to
+ * offset and length. Millions of codes are stored in two files instead of millions of small files. Existing
+ * archives are appended to, after a crash of the previous writer the torn entries at the end are removed first.
+ * The writer is thread-safe, images are rendered on the calling thread and appended under a lock. Only one writer
+ * may have an archive open at a time. If a write fails, the writer rejects all further appends, as the buffered
+ * bytes of the failed entry would shift the offsets of the following ones; reopen the archive to continue, which
+ * removes the incomplete entry. Use {@link ArchiveReader} to serve the images.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class ArchiveWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final DataOutputStream segment;
+  private final DataOutputStream index;
+  private long position;
+  private long entries;
+  private boolean closed;
+  private IOException failure;
+
+  ArchiveWriter(DataOutputStream segment, DataOutputStream index, long position) {
+    this.segment = segment;
+    this.index = index;
+    this.position = position;
+  }
+
+  /**
+   * open the archive for appending, create it if it does not exist. Entries of an existing archive which were not
+   * written completely are removed, see {@link #recover(Path, Path)}.
+   *
+   * @param segmentFile the segment file, the index is stored next to it with the extension .idx
+   * @return the writer
+   * @throws EpcException if the archive cannot be opened or is not an archive
+   */
+  public static ArchiveWriter open(Path segmentFile) throws EpcException {
+    DataOutputStream segment = null;
+    try {
+      prepare(segmentFile, ArchiveFormat.SEGMENT_MAGIC);
+      prepare(ArchiveFormat.indexFile(segmentFile), ArchiveFormat.INDEX_MAGIC);
+      long position = recover(segmentFile, ArchiveFormat.indexFile(segmentFile));
+      segment = append(segmentFile);
+      return new ArchiveWriter(segment, append(ArchiveFormat.indexFile(segmentFile)), position);
+    } catch (IOException ex) {
+      if (segment != null) {
+        try {
+          segment.close();
+        } catch (IOException closeFailure) {
+          ex.addSuppressed(closeFailure);
+        }
+      }
+      throw new EpcException(String.format("Failed to open archive. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  private static void prepare(Path file, int magic) throws IOException, EpcException {
+    if (!Files.exists(file) || Files.size(file) == 0) {
+      try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+        out.writeInt(magic);
+        out.writeInt(ArchiveFormat.VERSION);
+      }
+    } else {
+      try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+        if (in.readInt() != magic || in.readInt() != ArchiveFormat.VERSION) {
+          throw new EpcException(String.format("%s is not an archive file", file));
+        }
+      }
+    }
+  }
+
+  /**
+   * removes the entries a crashed writer did not write completely. The index is truncated after the last complete
+   * entry whose image lies within the segment, the segment after the end of the last indexed image. Otherwise new
+   * entries would be appended after a torn entry and could not be read.
+   *
+   * @param segmentFile the segment file
+   * @param indexFile   the index file
+   * @return the size of the segment, the offset of the next image
+   * @throws IOException if the files cannot be read or truncated
+   */
+  private static long recover(Path segmentFile, Path indexFile) throws IOException {
+    long segmentSize = Files.size(segmentFile);
+    long indexEnd = ArchiveFormat.HEADER_SIZE;
+    long segmentEnd = ArchiveFormat.HEADER_SIZE;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile),
+      BUFFER_SIZE))) {
+      in.skipNBytes(ArchiveFormat.HEADER_SIZE);
+      while (true) {
+        int keyLength = in.readUnsignedShort();
+        if (keyLength == 0 || keyLength > ArchiveFormat.MAX_KEY_SIZE) {
+          break;
+        }
+        in.skipNBytes(keyLength);
+        long offset = in.readLong();
+        int length = in.readInt();
+        if (offset < ArchiveFormat.HEADER_SIZE || length < 0 || offset + length > segmentSize) {
+          break;
+        }
+        indexEnd += 2 + keyLength + 12;
+        segmentEnd = Math.max(segmentEnd, offset + length);
+      }
+    } catch (EOFException ex) {
+      // the last entry was not written completely
+    }
+    truncate(indexFile, indexEnd);
+    truncate(segmentFile, segmentEnd);
+    return segmentEnd;
+  }
+
+  private static void truncate(Path file, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      if (channel.size() > size) {
+        channel.truncate(size);
+      }
+    }
+  }
+
+  private static DataOutputStream append(Path file) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(
+      Files.newOutputStream(file, StandardOpenOption.APPEND), BUFFER_SIZE));
+  }
+
+  /**
+   * render the payment and append it under its payload key, see {@link ArchiveReader#get(EpcBuilder)}.
+   *
+   * @param builder   the payment to render
+   * @param generator the generator creating the image
+   * @return the key the image is stored under
+   * @throws EpcException if the payment cannot be rendered or the archive cannot be written
+   */
+  public String append(EpcBuilder builder, ByteArrayImageGenerator generator) throws EpcException {
+    String key = ArchiveFormat.payloadKey(builder);
+    append(key, generator.generate(builder));
+    return key;
+  }
+
+  /**
+   * render the payment and append it under its payload key, see {@link ArchiveReader#get(EpcPayment)}. Uses the
+   * payload and hash cached by the payment.
+   *
+   * @param payment   the payment to render
+   * @param generator the generator creating the image
+   * @return the key the image is stored under
+   * @throws EpcException if the payment cannot be rendered or the archive cannot be written
+   */
+  public String append(EpcPayment payment, ByteArrayImageGenerator generator) throws EpcException {
+    String key = ArchiveFormat.payloadKey(payment);
+    append(key, generator.generate(payment));
+    return key;
+  }
+
+  /**
+   * render the payment and append it under the given key.
+   *
+   * @param key       the key, e.g. an invoice number, at most 1024 UTF-8 bytes
+   * @param builder   the payment to render
+   * @param generator the generator creating the image
+   * @throws EpcException if the payment cannot be rendered or the archive cannot be written
+   */
+  public void append(String key, EpcBuilder builder, ByteArrayImageGenerator generator) throws EpcException {
+    append(key, generator.generate(builder));
+  }
+
+  /**
+   * append an image under the given key.
+   *
+   * @param key   the key, at most 1024 UTF-8 bytes
+   * @param image the image, at most 16 MB
+   * @throws EpcException if the key or image is too large or the archive cannot be written
+   */
+  public void append(String key, byte[] image) throws EpcException {
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    if (keyBytes.length == 0 || keyBytes.length > ArchiveFormat.MAX_KEY_SIZE) {
+      throw new EpcException(String.format("Key must have 1 to %d bytes, but has %d", ArchiveFormat.MAX_KEY_SIZE, keyBytes.length));
+    }
+    if (image.length > ArchiveFormat.MAX_ENTRY_SIZE) {
+      throw new EpcException(String.format("Image must not exceed %d bytes, but has %d", ArchiveFormat.MAX_ENTRY_SIZE, image.length));
+    }
+    synchronized (this) {
+      assertWritable();
+      try {
+        segment.write(image);
+        index.writeShort(keyBytes.length);
+        index.write(keyBytes);
+        index.writeLong(position);
+        index.writeInt(image.length);
+      } catch (IOException ex) {
+        throw fail(ex);
+      }
+      position += image.length;
+      entries++;
+    }
+  }
+
+  /**
+   * @return the number of images appended by this writer
+   */
+  public synchronized long size() {
+    return entries;
+  }
+
+  /**
+   * write buffered images and index entries to the files, so readers opened afterwards see them.
+   *
+   * @throws EpcException if the archive cannot be written
+   */
+  public synchronized void flush() throws EpcException {
+    assertWritable();
+    try {
+      // segment first, a reader ignores index entries pointing behind the end of the segment
+      segment.flush();
+      index.flush();
+    } catch (IOException ex) {
+      throw fail(ex);
+    }
+  }
+
+  private void assertWritable() throws EpcException {
+    if (closed) {
+      throw new EpcException("Archive is closed");
+    }
+    if (failure != null) {
+      throw new EpcException(String.format("Archive failed to write before and must be reopened. Reason: %s",
+        ExceptionUtils.getRootCauseMessage(failure)), failure);
+    }
+  }
+
+  private EpcException fail(IOException ex) {
+    failure = ex;
+    return new EpcException(String.format("Failed to write archive. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      segment.close();
+    } finally {
+      index.close();
+    }
+  }
+}
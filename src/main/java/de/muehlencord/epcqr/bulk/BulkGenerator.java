@@ -0,0 +1,384 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+import de.muehlencord.epcqr.model.Encoding;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * streaming bulk generation. Reads payment records from a {@link RecordReader}, renders the QR codes in parallel
+ * and stores them with a {@link RecordWriter}, e.g. into a ZIP file or a directory. Records which cannot be
+ * converted into a valid EPC code are reported as failed instead, e.g. into an error file. Only a bounded number of
+ * records is in flight at any time, so the images and records held in memory do not depend on the size of the
+ * input.
+ * <p>
+ * This does not hold for ZIP output: {@link java.util.zip.ZipOutputStream} keeps the name and metadata of each
+ * entry until it is closed to write the central directory, a few hundred bytes per record. For very large inputs
+ * write to a directory, or split the input and create one ZIP file per part.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class BulkGenerator {
+
+  private final ByteArrayImageGenerator generator;
+  private final char delimiter;
+  private final boolean header;
+  private final Charset charset;
+  private final Encoding encoding;
+  private final boolean automaticEncoding;
+  private final boolean accountValidation;
+  private final int parallelism;
+  private final int maxInFlight;
+
+  /**
+   * create a new bulk generator. By default semicolon separated UTF-8 files with a header line are read and one
+   * thread per available processor is used.
+   */
+  public BulkGenerator() {
+    this(new ByteArrayImageGenerator(), ';', true, StandardCharsets.UTF_8, null, false, false,
+      Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  private BulkGenerator(ByteArrayImageGenerator generator, char delimiter, boolean header, Charset charset,
+    Encoding encoding, boolean automaticEncoding, boolean accountValidation, int parallelism, int maxInFlight) {
+    this.generator = generator;
+    this.delimiter = delimiter;
+    this.header = header;
+    this.charset = charset;
+    this.encoding = encoding;
+    this.automaticEncoding = automaticEncoding;
+    this.accountValidation = accountValidation;
+    this.parallelism = parallelism;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /* *** builder *** */
+
+  /**
+   * sets the generator used to render the images. For directory output its size, format, options and metrics are
+   * applied to an {@link ImageFileGenerator}.
+   *
+   * @param generator the generator to use
+   * @return a new bulk generator using the given image generator
+   */
+  public BulkGenerator withGenerator(ByteArrayImageGenerator generator) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * sets the delimiter between the columns of the input.
+   *
+   * @param delimiter the delimiter to use
+   * @return a new bulk generator using the given delimiter
+   */
+  public BulkGenerator withDelimiter(char delimiter) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * defines whether the first line of the input is a header line.
+   *
+   * @param header true, if the first line should be skipped
+   * @return a new bulk generator using the given header setting
+   */
+  public BulkGenerator withHeader(boolean header) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * sets the charset of the input file.
+   *
+   * @param charset the charset to use
+   * @return a new bulk generator using the given charset
+   */
+  public BulkGenerator withCharset(Charset charset) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * sets the EPC character set of the generated codes, see {@link EpcBuilder#withEncoding(Encoding)}.
+   *
+   * @param encoding the encoding to use, null to keep the default of the builder
+   * @return a new bulk generator using the given encoding
+   */
+  public BulkGenerator withEncoding(Encoding encoding) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * defines whether the smallest EPC character set holding the payment is selected per record, see
+   * {@link EpcBuilder#withAutomaticEncoding(boolean)}.
+   *
+   * @param automaticEncoding true, to select the encoding per record
+   * @return a new bulk generator using the given setting
+   */
+  public BulkGenerator withAutomaticEncoding(boolean automaticEncoding) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * defines whether IBAN and BIC of each record are checked in detail, see
+   * {@link EpcBuilder#withAccountValidation(boolean)}.
+   *
+   * @param accountValidation true, to check IBAN and BIC
+   * @return a new bulk generator using the given setting
+   */
+  public BulkGenerator withAccountValidation(boolean accountValidation) {
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /**
+   * sets the number of threads used for rendering. The number of records in flight is adjusted to four times the
+   * parallelism.
+   *
+   * @param parallelism the number of threads to use
+   * @return a new bulk generator using the given parallelism
+   * @throws EpcException if the parallelism is less than 1
+   */
+  public BulkGenerator withParallelism(int parallelism) throws EpcException {
+    if (parallelism < 1) {
+      throw new EpcException(String.format("parallelism must be at least 1, is %s", parallelism));
+    }
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, parallelism * 4);
+  }
+
+  /**
+   * sets the maximum number of records which are read but not yet written.
+   *
+   * @param maxInFlight the number of records in flight
+   * @return a new bulk generator using the given limit
+   * @throws EpcException if the limit is less than 1
+   */
+  public BulkGenerator withMaxInFlight(int maxInFlight) throws EpcException {
+    if (maxInFlight < 1) {
+      throw new EpcException(String.format("maxInFlight must be at least 1, is %s", maxInFlight));
+    }
+    return new BulkGenerator(generator, delimiter, header, charset, encoding, automaticEncoding, accountValidation,
+      parallelism, maxInFlight);
+  }
+
+  /* *** generation *** */
+
+  /**
+   * render all records of the input file into a ZIP file. The heap grows by the metadata of each entry until the
+   * file is closed, see the class description.
+   *
+   * @param input     the delimited file to read
+   * @param zipFile   the ZIP file to create
+   * @param errorFile the file to write failed records to
+   * @return the summary of the run
+   * @throws EpcException if the input cannot be read or the output cannot be written
+   */
+  public BulkResult toZip(Path input, Path zipFile, Path errorFile) throws EpcException {
+    String extension = "." + generator.getFormat().getName();
+    try (Reader reader = Files.newBufferedReader(input, charset);
+         RecordReader records = new DelimitedRecordReader(reader, delimiter, header);
+         EntryWriter entryWriter = new ZipEntryWriter(zipFile);
+         ErrorFile errors = new ErrorFile(errorFile)) {
+      return generate(records, (name, builder) -> entryWriter.write(name + extension, generator.generate(builder)),
+        errors);
+    } catch (IOException ex) {
+      throw new EpcException(String.format("Bulk generation failed. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * render all records of the input file into a directory, one file per record named by its line number. The
+   * files are written atomically by an {@link ImageFileGenerator}.
+   *
+   * @param input     the delimited file to read
+   * @param directory the directory to write the images to, created if missing
+   * @param errorFile the file to write failed records to
+   * @return the summary of the run
+   * @throws EpcException if the input cannot be read or the output cannot be written
+   */
+  public BulkResult toDirectory(Path input, Path directory, Path errorFile) throws EpcException {
+    ImageFileGenerator files = new ImageFileGenerator()
+      .withWidth(generator.getWidth())
+      .withHeight(generator.getHeight())
+      .withFormat(generator.getFormat())
+      .withOptions(generator.getOptions())
+      .withMetrics(generator.getMetrics())
+      .withOutputDirectory(directory.toString())
+      .withFileNamePattern("{key}");
+    try (Reader reader = Files.newBufferedReader(input, charset);
+         RecordReader records = new DelimitedRecordReader(reader, delimiter, header);
+         ErrorFile errors = new ErrorFile(errorFile)) {
+      return generate(records, RecordWriter.files(files), errors);
+    } catch (IOException ex) {
+      throw new EpcException(String.format("Bulk generation failed. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * render all records of the given reader in parallel and store them with the given writer. Each record is named
+   * by its line number with nine digits, e.g. 000000042. Records which cannot be rendered, including malformed
+   * lines, are passed to the listener and do not stop the run.
+   *
+   * @param records  the reader to take the records from, not closed by this method
+   * @param writer   stores the image of each record
+   * @param listener receives the outcome of each record
+   * @return the summary of the run
+   * @throws IOException  if the records cannot be read or the writer failed to store an image
+   * @throws EpcException if the generation is interrupted
+   */
+  public BulkResult generate(RecordReader records, RecordWriter writer, BulkListener listener)
+    throws IOException, EpcException {
+    AtomicLong generated = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    AtomicReference<IOException> writeFailure = new AtomicReference<>();
+    Semaphore inFlight = new Semaphore(maxInFlight);
+
+    long count = 0;
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      PaymentRecord paymentRecord;
+      while (writeFailure.get() == null && (paymentRecord = records.next()) != null) {
+        count++;
+        inFlight.acquire();
+        PaymentRecord current = paymentRecord;
+        executor.execute(() -> {
+          try {
+            if (write(writer, current, listener, failed, writeFailure)) {
+              // outside of write, a failing listener must not count the record as failed as well
+              generated.incrementAndGet();
+              listener.generated(current);
+            }
+          } finally {
+            inFlight.release();
+          }
+        });
+      }
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new EpcException("Bulk generation interrupted", ex);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (writeFailure.get() != null) {
+      throw writeFailure.get();
+    }
+    return new BulkResult(count, generated.get(), failed.get());
+  }
+
+  /**
+   * write the image of the record. Failures of the record are counted and passed to the listener, a failure of the
+   * writer is kept to abort the run.
+   *
+   * @return true, if the image was written
+   */
+  private boolean write(RecordWriter writer, PaymentRecord paymentRecord, BulkListener listener, AtomicLong failed,
+    AtomicReference<IOException> writeFailure) {
+    try {
+      writer.write(String.format("%09d", paymentRecord.getLineNumber()), builder(paymentRecord));
+      return true;
+    } catch (EpcException | RuntimeException ex) {
+      failed.incrementAndGet();
+      listener.failed(paymentRecord, ex);
+    } catch (IOException ex) {
+      writeFailure.compareAndSet(null, ex);
+    }
+    return false;
+  }
+
+  private EpcBuilder builder(PaymentRecord paymentRecord) throws EpcException {
+    EpcBuilder builder = paymentRecord.toBuilder();
+    if (encoding != null) {
+      builder.withEncoding(encoding);
+    }
+    return builder.withAutomaticEncoding(automaticEncoding).withAccountValidation(accountValidation);
+  }
+
+  /**
+   * writes the failed records with line number and message into the error file. A failure to write the file is
+   * thrown on close.
+   */
+  private static final class ErrorFile implements BulkListener, Closeable {
+
+    private final BufferedWriter writer;
+    private IOException failure;
+
+    private ErrorFile(Path errorFile) throws IOException {
+      this.writer = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+      writer.write("line;error");
+      writer.newLine();
+    }
+
+    @Override
+    public void generated(PaymentRecord paymentRecord) {
+      // only failures are written
+    }
+
+    @Override
+    public synchronized void failed(PaymentRecord paymentRecord, Exception cause) {
+      String message = cause.getMessage();
+      String sanitized = message == null ? "" : message.replace('\n', ' ').replace('\r', ' ').replace(';', ',');
+      try {
+        writer.write(String.valueOf(paymentRecord.getLineNumber()));
+        writer.write(';');
+        writer.write(sanitized);
+        writer.newLine();
+      } catch (IOException ex) {
+        if (failure == null) {
+          failure = ex;
+        }
+      }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      try {
+        if (failure != null) {
+          throw failure;
+        }
+      } finally {
+        writer.close();
+      }
+    }
+  }
+}
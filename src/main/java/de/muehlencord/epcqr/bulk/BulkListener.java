@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+/**
+ * receives the outcome of each record of a bulk generation. The methods are called concurrently from all
+ * generating threads.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface BulkListener {
+
+  /**
+   * called after the image of a record has been stored.
+   *
+   * @param paymentRecord the record
+   */
+  void generated(PaymentRecord paymentRecord);
+
+  /**
+   * called if a record cannot be rendered.
+   *
+   * @param paymentRecord the record
+   * @param cause         the reason, its message describes the problem
+   */
+  void failed(PaymentRecord paymentRecord, Exception cause);
+}
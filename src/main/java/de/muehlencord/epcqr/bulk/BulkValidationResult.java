@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import lombok.Getter;
+
+/**
+ * summary of a bulk validation run.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class BulkValidationResult {
+
+  /**
+   * number of records read from the input.
+   */
+  private final long records;
+
+  /**
+   * number of records without violations.
+   */
+  private final long valid;
+
+  /**
+   * number of records with at least one violation.
+   */
+  private final long invalid;
+
+  /**
+   * total number of violations of all records.
+   */
+  private final long violations;
+
+  BulkValidationResult(long records, long valid, long invalid, long violations) {
+    this.records = records;
+    this.valid = valid;
+    this.invalid = invalid;
+    this.violations = violations;
+  }
+}
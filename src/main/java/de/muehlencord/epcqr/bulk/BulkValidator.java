@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+import de.muehlencord.epcqr.validation.ValidationReport;
+import de.muehlencord.epcqr.validation.Violation;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * validation only mode for batches. Checks all records of a batch with a {@link PaymentValidator} without rendering
+ * any code, e.g. to reject a batch before it is generated. Records are read in chunks which are validated in
+ * parallel; the reports are passed on in the order of the input. Invalid records do not cause exceptions, so the
+ * costs of a batch with many invalid records are the same as of a valid one.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class BulkValidator {
+
+  /**
+   * number of records validated in parallel before the reports are passed on
+   */
+  static final int CHUNK_SIZE = 4096;
+
+  private final PaymentValidator validator;
+  private final char delimiter;
+  private final boolean header;
+  private final Charset charset;
+  private final int parallelism;
+
+  /**
+   * create a new bulk validator. By default semicolon separated UTF-8 files with a header line are read, checked
+   * with the defaults of {@link PaymentValidator} and one thread per available processor is used.
+   */
+  public BulkValidator() {
+    this(new PaymentValidator(), ';', true, StandardCharsets.UTF_8, Runtime.getRuntime().availableProcessors());
+  }
+
+  private BulkValidator(PaymentValidator validator, char delimiter, boolean header, Charset charset,
+    int parallelism) {
+    this.validator = validator;
+    this.delimiter = delimiter;
+    this.header = header;
+    this.charset = charset;
+    this.parallelism = parallelism;
+  }
+
+  /* *** builder *** */
+
+  /**
+   * sets the validator used to check the records.
+   *
+   * @param validator the validator to use
+   * @return a new bulk validator using the given validator
+   */
+  public BulkValidator withValidator(PaymentValidator validator) {
+    return new BulkValidator(validator, delimiter, header, charset, parallelism);
+  }
+
+  /**
+   * sets the delimiter between the columns of the input.
+   *
+   * @param delimiter the delimiter to use
+   * @return a new bulk validator using the given delimiter
+   */
+  public BulkValidator withDelimiter(char delimiter) {
+    return new BulkValidator(validator, delimiter, header, charset, parallelism);
+  }
+
+  /**
+   * defines whether the first line of the input is a header line.
+   *
+   * @param header true, if the first line should be skipped
+   * @return a new bulk validator using the given header setting
+   */
+  public BulkValidator withHeader(boolean header) {
+    return new BulkValidator(validator, delimiter, header, charset, parallelism);
+  }
+
+  /**
+   * sets the charset of the input file.
+   *
+   * @param charset the charset to use
+   * @return a new bulk validator using the given charset
+   */
+  public BulkValidator withCharset(Charset charset) {
+    return new BulkValidator(validator, delimiter, header, charset, parallelism);
+  }
+
+  /**
+   * sets the number of threads used for validation.
+   *
+   * @param parallelism the number of threads to use
+   * @return a new bulk validator using the given parallelism
+   * @throws EpcException if the parallelism is less than 1
+   */
+  public BulkValidator withParallelism(int parallelism) throws EpcException {
+    if (parallelism < 1) {
+      throw new EpcException(String.format("parallelism must be at least 1, is %s", parallelism));
+    }
+    return new BulkValidator(validator, delimiter, header, charset, parallelism);
+  }
+
+  /* *** validation *** */
+
+  /**
+   * validate all records of the delimited input file and write the violations to a report file. The report has
+   * one line per violation with the columns line, code, field and message.
+   *
+   * @param input      the delimited file to read
+   * @param reportFile the file to write the violations to
+   * @return the summary of the run
+   * @throws EpcException if the input cannot be read or the report cannot be written
+   */
+  public BulkValidationResult validate(Path input, Path reportFile) throws EpcException {
+    try (Reader reader = Files.newBufferedReader(input, charset);
+         DelimitedRecordReader records = new DelimitedRecordReader(reader, delimiter, header);
+         BufferedWriter report = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+      return validate(records, report);
+    } catch (IOException | UncheckedIOException ex) {
+      throw new EpcException(String.format("Bulk validation failed. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  BulkValidationResult validate(RecordReader records, Writer report) throws IOException, EpcException {
+    report.write("line;code;field;message");
+    report.write(System.lineSeparator());
+    return validate(records, validationReport -> {
+      try {
+        for (Violation violation : validationReport.getViolations()) {
+          report.write(String.valueOf(validationReport.getLineNumber()));
+          report.write(';');
+          report.write(violation.getCode().name());
+          report.write(';');
+          report.write(violation.getField());
+          report.write(';');
+          report.write(sanitize(violation.getMessage()));
+          report.write(System.lineSeparator());
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+  }
+
+  /**
+   * validate all records of the given reader. The consumer is called once per record, valid or not, in the order
+   * of the input and always from the calling thread.
+   *
+   * @param records  the reader to take the records from, not closed by this method
+   * @param consumer receives the report of each record
+   * @return the summary of the run
+   * @throws IOException  if the records cannot be read
+   * @throws EpcException if the validation is interrupted
+   */
+  public BulkValidationResult validate(RecordReader records, Consumer<ValidationReport> consumer)
+    throws IOException, EpcException {
+    long count = 0;
+    long valid = 0;
+    long violations = 0;
+    PaymentRecord[] chunk = new PaymentRecord[CHUNK_SIZE];
+    ValidationReport[] reports = new ValidationReport[CHUNK_SIZE];
+    ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    try {
+      int size;
+      while ((size = fill(records, chunk)) > 0) {
+        validateChunk(pool, chunk, reports, size);
+        for (int i = 0; i < size; i++) {
+          ValidationReport validationReport = reports[i];
+          count++;
+          if (validationReport.isValid()) {
+            valid++;
+          }
+          violations += validationReport.getViolations().size();
+          consumer.accept(validationReport);
+          chunk[i] = null;
+          reports[i] = null;
+        }
+      }
+    } finally {
+      if (pool != null) {
+        pool.shutdownNow();
+      }
+    }
+    return new BulkValidationResult(count, valid, count - valid, violations);
+  }
+
+  private void validateChunk(ForkJoinPool pool, PaymentRecord[] chunk, ValidationReport[] reports, int size)
+    throws EpcException {
+    if (pool == null || size == 1) {
+      for (int i = 0; i < size; i++) {
+        reports[i] = validator.validate(chunk[i]);
+      }
+      return;
+    }
+    try {
+      // a parallel stream started inside the pool runs on the threads of that pool
+      pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> reports[i] = validator.validate(chunk[i])))
+        .get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new EpcException("Bulk validation interrupted", ex);
+    } catch (ExecutionException ex) {
+      throw new EpcException(String.format("Bulk validation failed. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  private static int fill(RecordReader records, PaymentRecord[] chunk) throws IOException {
+    int size = 0;
+    PaymentRecord paymentRecord;
+    while (size < chunk.length && (paymentRecord = records.next()) != null) {
+      chunk[size++] = paymentRecord;
+    }
+    return size;
+  }
+
+  private static String sanitize(String message) {
+    return message == null ? "" : message.replace('\n', ' ').replace('\r', ' ').replace(';', ',');
+  }
+}
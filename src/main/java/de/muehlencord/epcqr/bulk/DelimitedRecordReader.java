@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * reads payment records line by line from a delimited file. Each line contains the columns recipient, iban, bic,
+ * amount and purpose text. Values can be enclosed in double quotes to contain the delimiter, a double quote inside
+ * a quoted value is escaped by another double quote. Empty lines are skipped, lines with a different number of
+ * columns are returned as malformed record, see {@link PaymentRecord#malformed(long, String)}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class DelimitedRecordReader implements RecordReader {
+
+  private static final int COLUMNS = 5;
+
+  private final BufferedReader reader;
+  private final char delimiter;
+  private final List<String> values = new ArrayList<>(COLUMNS);
+  private final StringBuilder value = new StringBuilder();
+  private long lineNumber = 0;
+
+  /**
+   * create a new reader.
+   *
+   * @param reader    the reader to read the records from
+   * @param delimiter the delimiter between the columns
+   * @param header    true, if the first line is a header line and should be skipped
+   * @throws IOException if the header line cannot be read
+   */
+  public DelimitedRecordReader(Reader reader, char delimiter, boolean header) throws IOException {
+    this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    this.delimiter = delimiter;
+    if (header && this.reader.readLine() != null) {
+      lineNumber++;
+    }
+  }
+
+  /**
+   * read the next record.
+   *
+   * @return the next record or null, if the end of the input is reached
+   * @throws IOException if the input cannot be read
+   */
+  @Override
+  public PaymentRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+      lineNumber++;
+    } while (line.isBlank());
+
+    split(line);
+    if (values.size() != COLUMNS) {
+      return PaymentRecord.malformed(lineNumber, String.format("line %d contains %d columns, expected %d",
+        lineNumber, values.size(), COLUMNS));
+    }
+    return new PaymentRecord(lineNumber, values.get(0), values.get(1), values.get(2), values.get(3), values.get(4));
+  }
+
+  private void split(String line) {
+    values.clear();
+    value.setLength(0);
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == delimiter) {
+        values.add(value.toString().trim());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString().trim());
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * target of the bulk generation. Implementations must support concurrent calls of {@link #write(String, byte[])}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+interface EntryWriter extends Closeable {
+
+  /**
+   * write a rendered image.
+   *
+   * @param name the name of the entry
+   * @param data the image data
+   * @throws IOException if the entry cannot be written
+   */
+  void write(String name, byte[] data) throws IOException;
+}
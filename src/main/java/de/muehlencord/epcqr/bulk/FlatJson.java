@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * parser for flat JSON objects as used by JSON lines input and JSON requests. Values can be strings, numbers and
+ * booleans, numbers are kept as written, so amounts are not rounded. Null values are skipped, nested objects and
+ * arrays are rejected.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class FlatJson {
+
+  private final String json;
+  private int position;
+
+  private FlatJson(String json) {
+    this.json = json;
+  }
+
+  /**
+   * parse a flat JSON object.
+   *
+   * @param json the JSON text
+   * @return the values by name, later values replace earlier ones
+   * @throws EpcException if the text is not a flat JSON object
+   */
+  public static Map<String, String> parse(String json) throws EpcException {
+    return new FlatJson(json).parseObject();
+  }
+
+  private Map<String, String> parseObject() throws EpcException {
+    Map<String, String> parameters = new HashMap<>();
+    expect('{');
+    if (peek() == '}') {
+      position++;
+    } else {
+      do {
+        String name = parseString();
+        expect(':');
+        String value = parseValue();
+        if (value != null) {
+          parameters.put(name, value);
+        }
+      } while (next(',', '}') == ',');
+    }
+    if (peek() != 0) {
+      throw error("end of input");
+    }
+    return parameters;
+  }
+
+  private String parseValue() throws EpcException {
+    char c = peek();
+    if (c == '"') {
+      return parseString();
+    }
+    int start = position;
+    while (position < json.length() && isLiteral(json.charAt(position))) {
+      position++;
+    }
+    String literal = json.substring(start, position);
+    if (literal.equals("null")) {
+      return null;
+    }
+    if (literal.equals("true") || literal.equals("false") || isNumber(literal)) {
+      return literal;
+    }
+    throw error("string, number, boolean or null");
+  }
+
+  private static boolean isLiteral(char c) {
+    return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == '-' || c == '+' || c == '.' || c == 'E';
+  }
+
+  private static boolean isNumber(String literal) {
+    try {
+      new BigDecimal(literal);
+      return true;
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private String parseString() throws EpcException {
+    expect('"');
+    StringBuilder sb = new StringBuilder();
+    while (position < json.length()) {
+      char c = json.charAt(position++);
+      if (c == '"') {
+        return sb.toString();
+      }
+      if (c == '\\') {
+        if (position >= json.length()) {
+          break;
+        }
+        char escaped = json.charAt(position++);
+        switch (escaped) {
+          case '"':
+          case '\\':
+          case '/':
+            sb.append(escaped);
+            break;
+          case 'b':
+            sb.append('\b');
+            break;
+          case 'f':
+            sb.append('\f');
+            break;
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          case 't':
+            sb.append('\t');
+            break;
+          case 'u':
+            if (position + 4 > json.length()) {
+              throw error("unicode escape");
+            }
+            try {
+              sb.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+            } catch (NumberFormatException ex) {
+              throw error("unicode escape");
+            }
+            position += 4;
+            break;
+          default:
+            throw error("escape sequence");
+        }
+      } else if (c < 0x20) {
+        throw error("escaped control character");
+      } else {
+        sb.append(c);
+      }
+    }
+    throw error("end of string");
+  }
+
+  private char peek() {
+    while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+      position++;
+    }
+    return position < json.length() ? json.charAt(position) : 0;
+  }
+
+  private void expect(char expected) throws EpcException {
+    if (peek() != expected) {
+      throw error("'" + expected + "'");
+    }
+    position++;
+  }
+
+  private char next(char first, char second) throws EpcException {
+    char c = peek();
+    if (c != first && c != second) {
+      throw error("'" + first + "' or '" + second + "'");
+    }
+    position++;
+    return c;
+  }
+
+  private EpcException error(String expected) {
+    return new EpcException(String.format("Invalid JSON, expected %s at position %d", expected, position));
+  }
+
+}
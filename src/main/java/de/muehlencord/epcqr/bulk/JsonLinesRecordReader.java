@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * reads payment records from JSON lines, one flat JSON object per line with the fields recipient, iban, bic, amount
+ * and purpose. The amount can be given as number or string, other fields are ignored. Empty lines are skipped.
+ * <pre>
+ * {"recipient": "Max Mustermann", "iban": "GB33BUKB20201555555555", "amount": 48.81, "purpose": "Invoice 4711"}
+ * </pre>
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class JsonLinesRecordReader implements RecordReader {
+
+  private final BufferedReader reader;
+  private long lineNumber = 0;
+
+  /**
+   * create a new reader.
+   *
+   * @param reader the reader to read the records from
+   */
+  public JsonLinesRecordReader(Reader reader) {
+    this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+  }
+
+  /**
+   * read the next record.
+   *
+   * @return the next record or null, if the end of the input is reached. A line which is not a flat JSON object
+   * is returned as malformed record, see {@link PaymentRecord#malformed(long, String)}
+   * @throws IOException if the input cannot be read
+   */
+  @Override
+  public PaymentRecord next() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+      lineNumber++;
+    } while (line.isBlank());
+
+    Map<String, String> values;
+    try {
+      values = FlatJson.parse(line);
+    } catch (EpcException ex) {
+      return PaymentRecord.malformed(lineNumber, String.format("line %d: %s", lineNumber, ex.getMessage()));
+    }
+    return new PaymentRecord(lineNumber, values.get("recipient"), values.get("iban"), values.get("bic"),
+      values.get("amount"), values.get("purpose"));
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * a single payment read from a delimited file. The values are kept as read, they are only validated when the
+ * record is converted into an {@link EpcBuilder}. A line which cannot be split into the values of a payment is
+ * returned as malformed record, see {@link #malformed(long, String)}, so a bulk run reports it and continues.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class PaymentRecord {
+
+  private final long lineNumber;
+  private final String recipient;
+  private final String iban;
+  private final String bic;
+  private final String amount;
+  private final String purposeText;
+
+  /**
+   * the reason why the line could not be read, null for a well-formed record.
+   */
+  private final String error;
+
+  /**
+   * create a new record.
+   *
+   * @param lineNumber  the line number of the record in the input file
+   * @param recipient   the name of the recipient
+   * @param iban        the iban of the recipient
+   * @param bic         the bic of the recipient, might be empty
+   * @param amount      the payment amount, using a dot as decimal separator
+   * @param purposeText the purpose text
+   */
+  public PaymentRecord(long lineNumber, String recipient, String iban, String bic, String amount,
+    String purposeText) {
+    this(lineNumber, recipient, iban, bic, amount, purposeText, null);
+  }
+
+  private PaymentRecord(long lineNumber, String recipient, String iban, String bic, String amount,
+    String purposeText, String error) {
+    this.lineNumber = lineNumber;
+    this.recipient = recipient;
+    this.iban = iban;
+    this.bic = bic;
+    this.amount = amount;
+    this.purposeText = purposeText;
+    this.error = error;
+  }
+
+  /**
+   * create a record for a line which could not be read, e.g. because of a wrong number of columns.
+   *
+   * @param lineNumber the line number in the input file
+   * @param error      the reason why the line could not be read
+   * @return the record, all values are null
+   */
+  public static PaymentRecord malformed(long lineNumber, String error) {
+    return new PaymentRecord(lineNumber, null, null, null, null, null, error);
+  }
+
+  /**
+   * returns true, if the line of this record could not be read.
+   *
+   * @return true for records created by {@link #malformed(long, String)}
+   */
+  public boolean isMalformed() {
+    return error != null;
+  }
+
+  /**
+   * convert the record into a builder.
+   *
+   * @return the builder with all values of this record set
+   * @throws EpcException if the record is malformed or a value of the record is not valid
+   */
+  public EpcBuilder toBuilder() throws EpcException {
+    if (error != null) {
+      throw new EpcException(error);
+    }
+    EpcBuilder builder = new EpcBuilder()
+      .withRecipient(recipient)
+      .withIban(iban)
+      .withPaymentAmount(toAmount(amount))
+      .withPurposeText(purposeText);
+    if (bic != null && !bic.isEmpty()) {
+      builder.withBic(bic);
+    }
+    return builder;
+  }
+
+  private static BigDecimal toAmount(String amount) throws EpcException {
+    if (amount == null || amount.isEmpty()) {
+      throw new EpcException("amount must not be empty");
+    }
+    try {
+      return new BigDecimal(amount);
+    } catch (NumberFormatException ex) {
+      throw new EpcException(String.format("amount %s is not a valid number", amount), ex);
+    }
+  }
+}
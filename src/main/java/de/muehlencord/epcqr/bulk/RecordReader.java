@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * reads payment records one after another from an input.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface RecordReader extends Closeable {
+
+  /**
+   * read the next record.
+   *
+   * @return the next record or null, if the end of the input is reached. A line which cannot be read as payment
+   * is returned as {@link PaymentRecord#malformed(long, String) malformed record}, so the caller can report it and
+   * continue with the next line
+   * @throws IOException if the input cannot be read
+   */
+  PaymentRecord next() throws IOException;
+}
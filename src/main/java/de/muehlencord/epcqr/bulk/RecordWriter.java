@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+
+import java.io.IOException;
+
+/**
+ * target of the bulk generation, renders the payment of one record and stores the image. Implementations must
+ * support concurrent calls of {@link #write(String, EpcBuilder)}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@FunctionalInterface
+public interface RecordWriter {
+
+  /**
+   * render and store the payment of one record.
+   *
+   * @param name    the name of the image without extension, the line number of the record with nine digits
+   * @param builder the payment of the record
+   * @throws EpcException if the payment cannot be rendered, the record is reported as failed
+   * @throws IOException  if the image cannot be stored, the bulk generation is aborted
+   */
+  void write(String name, EpcBuilder builder) throws EpcException, IOException;
+
+  /**
+   * returns a writer storing each image with the given generator in directory mode, using the name as value of
+   * the placeholder {key}. A file which cannot be written aborts the bulk generation.
+   *
+   * @param generator the generator to use, must be in directory mode
+   * @return the writer
+   */
+  static RecordWriter files(ImageFileGenerator generator) {
+    return (name, builder) -> {
+      try {
+        generator.generate(builder, name);
+      } catch (EpcException ex) {
+        if (ex.getCause() instanceof IOException) {
+          throw (IOException) ex.getCause();
+        }
+        throw ex;
+      }
+    };
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * writes all entries into a single ZIP file. The images are already compressed, so the entries are stored without
+ * additional compression. The checksum is calculated by the calling thread, only the write itself is serialized.
+ * The {@link ZipOutputStream} keeps every entry until it is closed, so memory grows with the number of entries.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class ZipEntryWriter implements EntryWriter {
+
+  private final ZipOutputStream outputStream;
+
+  ZipEntryWriter(Path zipFile) throws IOException {
+    this.outputStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipFile)));
+  }
+
+  @Override
+  public void write(String name, byte[] data) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(data);
+
+    ZipEntry entry = new ZipEntry(name);
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(data.length);
+    entry.setCompressedSize(data.length);
+    entry.setCrc(crc.getValue());
+
+    synchronized (outputStream) {
+      outputStream.putNextEntry(entry);
+      outputStream.write(data);
+      outputStream.closeEntry();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (outputStream) {
+      outputStream.close();
+    }
+  }
+}
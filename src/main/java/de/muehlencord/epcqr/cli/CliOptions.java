@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.cli;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.ImageFormat;
+import de.muehlencord.epcqr.model.VectorFormat;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * command line options of {@link EpcQrCli}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+final class CliOptions {
+
+  static final String USAGE = String.join(System.lineSeparator(),
+    "usage: java -jar epc-qr-cli.jar --input <file> (--output <directory> | --archive <file> | --validate-only)",
+    "       [options]",
+    "",
+    "  --input <file>          CSV (recipient;iban;bic;amount;purpose) or JSON lines input",
+    "  --input-format <f>      csv or jsonl, default by file extension",
+    "  --delimiter <c>         CSV delimiter, default ;",
+    "  --no-header             the CSV file has no header line",
+    "  --output <directory>    write one image per record, named by line number",
+    "  --archive <file>        append the images to an archive, keyed by line number",
+    "  --validate-only         only check the records and print all violations, no images are written",
+    "  --format <f>            png, gif, bmp, pnm, jpg, tif, pcx, svg, pdf or eps, default png",
+    "  --size <n>              image size in pixel, default 300",
+    "  --encoding <e>          EPC character set, e.g. UTF_8 or 1 to 8, default UTF_8, or auto to use the",
+    "                          most compact character set per record",
+    "  --account-validation    check IBAN and BIC in detail, when generating and with --validate-only",
+    "  --threads <n>           number of render threads, default number of processors",
+    "  --quiet                 do not print the progress every second",
+    "  --help                  print this help",
+    "",
+    "exit codes: 0 all records written or valid, 1 records failed validation, 2 invalid arguments or I/O failure");
+
+  private Path input;
+  private boolean jsonLines;
+  private char delimiter = ';';
+  private boolean header = true;
+  private Path output;
+  private Path archive;
+  private ImageFormat imageFormat = ImageFormat.PNG;
+  private VectorFormat vectorFormat;
+  private int size = 300;
+  private Encoding encoding;
+  private boolean automaticEncoding;
+  private boolean accountValidation;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private boolean quiet;
+  private boolean validateOnly;
+  private boolean help;
+
+  private CliOptions() {
+    // created by parse
+  }
+
+  /**
+   * parse the command line.
+   *
+   * @param args the arguments, options as --name value or --name=value
+   * @return the options
+   * @throws EpcException if an option is unknown, a value is missing or invalid
+   */
+  static CliOptions parse(String[] args) throws EpcException {
+    CliOptions options = new CliOptions();
+    Boolean jsonLines = null;
+    for (int i = 0; i < args.length; i++) {
+      String name = args[i];
+      String value = null;
+      int separator = name.indexOf('=');
+      if (separator > 0) {
+        value = name.substring(separator + 1);
+        name = name.substring(0, separator);
+      }
+      switch (name) {
+        case "--help":
+          options.help = true;
+          continue;
+        case "--no-header":
+          options.header = false;
+          continue;
+        case "--quiet":
+          options.quiet = true;
+          continue;
+        case "--validate-only":
+          options.validateOnly = true;
+          continue;
+        case "--account-validation":
+          options.accountValidation = true;
+          continue;
+        default:
+          break;
+      }
+      if (value == null) {
+        if (i + 1 >= args.length) {
+          throw new EpcException(String.format("Missing value of %s", name));
+        }
+        value = args[++i];
+      }
+      switch (name) {
+        case "--input":
+          options.input = Path.of(value);
+          break;
+        case "--input-format":
+          if (!value.equals("csv") && !value.equals("jsonl")) {
+            throw new EpcException(String.format("Unsupported input format %s, supported are csv and jsonl", value));
+          }
+          jsonLines = value.equals("jsonl");
+          break;
+        case "--delimiter":
+          if (value.length() != 1) {
+            throw new EpcException(String.format("Delimiter must be one character, but is %s", value));
+          }
+          options.delimiter = value.charAt(0);
+          break;
+        case "--output":
+          options.output = Path.of(value);
+          break;
+        case "--archive":
+          options.archive = Path.of(value);
+          break;
+        case "--format":
+          options.format(value);
+          break;
+        case "--size":
+          options.size = integer(name, value, 1, 10_000);
+          break;
+        case "--encoding":
+          if ("auto".equalsIgnoreCase(value)) {
+            options.automaticEncoding = true;
+          } else {
+            options.encoding = encoding(value);
+          }
+          break;
+        case "--threads":
+          options.threads = integer(name, value, 1, 1024);
+          break;
+        default:
+          throw new EpcException(String.format("Unknown option %s", name));
+      }
+    }
+    if (options.help) {
+      return options;
+    }
+    if (options.input == null) {
+      throw new EpcException("Missing option --input");
+    }
+    if (options.validateOnly) {
+      if (options.output != null || options.archive != null) {
+        throw new EpcException("--validate-only cannot be combined with --output or --archive");
+      }
+    } else if ((options.output == null) == (options.archive == null)) {
+      throw new EpcException("Either --output, --archive or --validate-only is required");
+    }
+    String fileName = options.input.getFileName().toString().toLowerCase(Locale.ROOT);
+    options.jsonLines = jsonLines != null ? jsonLines : fileName.endsWith(".jsonl") || fileName.endsWith(".json");
+    return options;
+  }
+
+  private void format(String value) throws EpcException {
+    String upper = value.toUpperCase(Locale.ROOT);
+    for (VectorFormat format : VectorFormat.values()) {
+      if (format.name().equals(upper)) {
+        vectorFormat = format;
+        return;
+      }
+    }
+    for (ImageFormat format : ImageFormat.values()) {
+      if (format.name().equals(upper)) {
+        imageFormat = format;
+        vectorFormat = null;
+        return;
+      }
+    }
+    throw new EpcException(String.format("Unsupported format %s", value));
+  }
+
+  private static Encoding encoding(String value) throws EpcException {
+    try {
+      return Encoding.getInstanceByValue(Integer.parseInt(value));
+    } catch (NumberFormatException ex) {
+      try {
+        return Encoding.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+      } catch (IllegalArgumentException nameEx) {
+        throw new EpcException(String.format("Unsupported encoding %s", value), nameEx);
+      }
+    }
+  }
+
+  private static int integer(String name, String value, int min, int max) throws EpcException {
+    try {
+      int result = Integer.parseInt(value);
+      if (result >= min && result <= max) {
+        return result;
+      }
+    } catch (NumberFormatException ex) {
+      // reported below
+    }
+    throw new EpcException(String.format("%s must be between %d and %d, but is %s", name, min, max, value));
+  }
+}
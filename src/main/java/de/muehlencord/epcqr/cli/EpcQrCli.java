@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.cli;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+import de.muehlencord.epcqr.VectorImageGenerator;
+import de.muehlencord.epcqr.archive.ArchiveWriter;
+import de.muehlencord.epcqr.bulk.BulkGenerator;
+import de.muehlencord.epcqr.bulk.BulkListener;
+import de.muehlencord.epcqr.bulk.BulkResult;
+import de.muehlencord.epcqr.bulk.BulkValidationResult;
+import de.muehlencord.epcqr.bulk.BulkValidator;
+import de.muehlencord.epcqr.bulk.DelimitedRecordReader;
+import de.muehlencord.epcqr.bulk.JsonLinesRecordReader;
+import de.muehlencord.epcqr.bulk.PaymentRecord;
+import de.muehlencord.epcqr.bulk.RecordReader;
+import de.muehlencord.epcqr.bulk.RecordWriter;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.JmxGenerationMetrics;
+import de.muehlencord.epcqr.metrics.PhaseStatistics;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.validation.PaymentValidator;
+import de.muehlencord.epcqr.validation.Violation;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * command line tool rendering EPC QR codes from a CSV or JSON lines file into a directory or an archive, see
+ * {@link CliOptions#USAGE}. Prints the progress every second and a summary with throughput and latency per phase
+ * at the end. The records are rendered by a {@link BulkGenerator}, directories are written by an
+ * {@link ImageFileGenerator}. Records failing validation are reported on standard error with their line number.
+ * With {@code --validate-only} the records are only checked by a {@link BulkValidator}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class EpcQrCli {
+
+  /**
+   * all records have been written.
+   */
+  public static final int EXIT_OK = 0;
+
+  /**
+   * at least one record failed validation, all others have been written.
+   */
+  public static final int EXIT_INVALID_RECORDS = 1;
+
+  /**
+   * invalid arguments, the input cannot be read or the output cannot be written.
+   */
+  public static final int EXIT_FAILURE = 2;
+
+  private final CliOptions options;
+  private final PrintStream out;
+  private final PrintStream err;
+  private final AtomicLong generated = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+
+  private EpcQrCli(CliOptions options, PrintStream out, PrintStream err) {
+    this.options = options;
+    this.out = out;
+    this.err = err;
+  }
+
+  /**
+   * run the tool and exit with its exit code.
+   *
+   * @param args the command line arguments
+   */
+  public static void main(String[] args) {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  /**
+   * run the tool.
+   *
+   * @param args the command line arguments
+   * @param out  the stream to print the summary to
+   * @param err  the stream to print progress and errors to
+   * @return the exit code
+   */
+  static int run(String[] args, PrintStream out, PrintStream err) {
+    CliOptions options;
+    try {
+      options = CliOptions.parse(args);
+    } catch (EpcException ex) {
+      err.println(ex.getMessage());
+      err.println(CliOptions.USAGE);
+      return EXIT_FAILURE;
+    }
+    if (options.isHelp()) {
+      out.println(CliOptions.USAGE);
+      return EXIT_OK;
+    }
+
+    if (options.isValidateOnly()) {
+      return new EpcQrCli(options, out, err).validate();
+    }
+
+    return new EpcQrCli(options, out, err).run(new JmxGenerationMetrics());
+  }
+
+  private int run(JmxGenerationMetrics metrics) {
+    long start = System.nanoTime();
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "epc-qr-cli-progress");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (!options.isQuiet()) {
+      AtomicLong last = new AtomicLong();
+      progress.scheduleAtFixedRate(() -> {
+        long current = generated.get();
+        err.printf("%d codes, %d codes/s, %d errors%n", current, current - last.getAndSet(current), failed.get());
+      }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    BulkResult result;
+    try (RecordReader reader = reader(); ArchiveWriter archive = archive()) {
+      BulkGenerator bulkGenerator = new BulkGenerator()
+        .withParallelism(options.getThreads())
+        .withEncoding(options.getEncoding())
+        .withAutomaticEncoding(options.isAutomaticEncoding())
+        .withAccountValidation(options.isAccountValidation());
+      RecordWriter writer = archive == null ? files(metrics) : archive(archive, metrics);
+      result = bulkGenerator.generate(reader, writer, new BulkListener() {
+        @Override
+        public void generated(PaymentRecord paymentRecord) {
+          generated.incrementAndGet();
+        }
+
+        @Override
+        public void failed(PaymentRecord paymentRecord, Exception cause) {
+          failed.incrementAndGet();
+          err.printf("line %d: %s%n", paymentRecord.getLineNumber(), cause.getMessage());
+        }
+      });
+    } catch (IOException | EpcException ex) {
+      err.println(String.format("Failed to generate QR codes. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)));
+      return EXIT_FAILURE;
+    } finally {
+      progress.shutdownNow();
+    }
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    out.printf("records: %d, generated: %d, failed: %d%n", result.getRecords(), result.getGenerated(),
+      result.getFailed());
+    out.printf("elapsed: %.3f s, throughput: %.1f codes/s%n", seconds,
+      result.getGenerated() / Math.max(seconds, 1e-9));
+    for (Map.Entry<String, PhaseStatistics> phase : metrics.getPhases().entrySet()) {
+      PhaseStatistics statistics = phase.getValue();
+      out.printf("%-8s count=%d p50=%.1f us p99=%.1f us max=%.1f us%n", phase.getKey().toLowerCase(),
+        statistics.getCount(), statistics.getP50Nanos() / 1e3, statistics.getP99Nanos() / 1e3,
+        statistics.getMaxNanos() / 1e3);
+    }
+    return result.getFailed() == 0 ? EXIT_OK : EXIT_INVALID_RECORDS;
+  }
+
+  private int validate() {
+    long start = System.nanoTime();
+    BulkValidationResult result;
+    try (RecordReader reader = reader()) {
+      PaymentValidator validator = new PaymentValidator()
+        .withEncoding(options.getEncoding() == null ? Encoding.UTF_8 : options.getEncoding())
+        .withAutomaticEncoding(options.isAutomaticEncoding())
+        .withAccountValidation(options.isAccountValidation());
+      BulkValidator bulkValidator = new BulkValidator()
+        .withValidator(validator)
+        .withParallelism(options.getThreads());
+      result = bulkValidator.validate(reader, report -> {
+        for (Violation violation : report.getViolations()) {
+          err.printf("line %d: %s %s: %s%n", report.getLineNumber(), violation.getCode(), violation.getField(),
+            violation.getMessage());
+        }
+      });
+    } catch (IOException | EpcException ex) {
+      err.println(String.format("Failed to validate records. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)));
+      return EXIT_FAILURE;
+    }
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    out.printf("records: %d, valid: %d, invalid: %d, violations: %d%n", result.getRecords(), result.getValid(),
+      result.getInvalid(), result.getViolations());
+    out.printf("elapsed: %.3f s, throughput: %.1f records/s%n", seconds,
+      result.getRecords() / Math.max(seconds, 1e-9));
+    return result.getInvalid() == 0 ? EXIT_OK : EXIT_INVALID_RECORDS;
+  }
+
+  private RecordReader reader() throws IOException {
+    if (options.isJsonLines()) {
+      return new JsonLinesRecordReader(Files.newBufferedReader(options.getInput(), StandardCharsets.UTF_8));
+    }
+    return new DelimitedRecordReader(Files.newBufferedReader(options.getInput(), StandardCharsets.UTF_8),
+      options.getDelimiter(), options.isHeader());
+  }
+
+  private ArchiveWriter archive() throws EpcException {
+    return options.getArchive() == null ? null : ArchiveWriter.open(options.getArchive());
+  }
+
+  private RecordWriter files(GenerationMetrics metrics) throws IOException, EpcException {
+    ImageFileGenerator generator = new ImageFileGenerator()
+      .withOutputDirectory(Files.createDirectories(options.getOutput()).toString())
+      .withFileNamePattern("{key}")
+      .withWidth(options.getSize())
+      .withHeight(options.getSize())
+      .withMetrics(metrics);
+    if (options.getVectorFormat() != null) {
+      return RecordWriter.files(generator.withVectorFormat(options.getVectorFormat()));
+    }
+    return RecordWriter.files(generator.withFormat(options.getImageFormat()));
+  }
+
+  private RecordWriter archive(ArchiveWriter archive, GenerationMetrics metrics) {
+    Renderer renderer = renderer(metrics);
+    return (name, builder) -> {
+      byte[] image = renderer.render(builder);
+      try {
+        archive.append(name, image);
+      } catch (EpcException ex) {
+        // a failed append is an output failure and aborts the run, not a failed record
+        throw new IOException(ex.getMessage(), ex);
+      }
+    };
+  }
+
+  private Renderer renderer(GenerationMetrics metrics) {
+    if (options.getVectorFormat() != null) {
+      VectorImageGenerator generator = new VectorImageGenerator()
+        .withFormat(options.getVectorFormat())
+        .withSize(options.getSize())
+        .withMetrics(metrics);
+      // all vector formats are plain ASCII
+      return builder -> generator.generate(builder).getBytes(StandardCharsets.US_ASCII);
+    }
+    ByteArrayImageGenerator generator = new ByteArrayImageGenerator()
+      .withFormat(options.getImageFormat())
+      .withWidth(options.getSize())
+      .withHeight(options.getSize())
+      .withMetrics(metrics);
+    return generator::generate;
+  }
+
+  @FunctionalInterface
+  private interface Renderer {
+
+    byte[] render(EpcBuilder builder) throws EpcException;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * writes a matrix as 1 bit BMP with a two colour palette. Rows are stored bottom up and padded to four bytes.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class BmpMatrixWriter implements MatrixImageWriter {
+
+  private static final int FILE_HEADER_SIZE = 14;
+  private static final int INFO_HEADER_SIZE = 40;
+  private static final int PALETTE_SIZE = 8;
+
+  /**
+   * 72 dpi in pixel per meter.
+   */
+  private static final int RESOLUTION = 2835;
+
+  @Override
+  public void write(BitMatrix matrix, OutputStream outputStream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int stride = ((width + 31) / 32) * 4;
+    int offset = FILE_HEADER_SIZE + INFO_HEADER_SIZE + PALETTE_SIZE;
+    int imageSize = stride * height;
+
+    ByteBuffer header = ByteBuffer.allocate(offset).order(ByteOrder.LITTLE_ENDIAN);
+    // file header
+    header.put((byte) 'B').put((byte) 'M');
+    header.putInt(offset + imageSize);
+    header.putInt(0);
+    header.putInt(offset);
+    // info header
+    header.putInt(INFO_HEADER_SIZE);
+    header.putInt(width);
+    header.putInt(height);
+    header.putShort((short) 1); // planes
+    header.putShort((short) 1); // bits per pixel
+    header.putInt(0); // no compression
+    header.putInt(imageSize);
+    header.putInt(RESOLUTION);
+    header.putInt(RESOLUTION);
+    header.putInt(2); // colours used
+    header.putInt(0); // all colours important
+    // palette: index 0 black, index 1 white
+    header.putInt(0x000000);
+    header.putInt(0xFFFFFF);
+    outputStream.write(header.array());
+
+    RowPacker packer = new RowPacker(matrix, false, stride);
+    for (int y = height - 1; y >= 0; y--) {
+      packer.pack(y);
+      outputStream.write(packer.packed(), 0, stride);
+    }
+    outputStream.flush();
+  }
+}
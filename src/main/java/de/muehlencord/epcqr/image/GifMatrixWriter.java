@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * writes a matrix as two colour GIF. The pixels are LZW compressed using the minimum code size of 2 bits. As there
+ * are only two pixel values, the string table is a plain array of two children per code.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class GifMatrixWriter implements MatrixImageWriter {
+
+  private static final int MIN_CODE_SIZE = 2;
+  private static final int CLEAR_CODE = 1 << MIN_CODE_SIZE;
+  private static final int END_CODE = CLEAR_CODE + 1;
+  private static final int FIRST_CODE = CLEAR_CODE + 2;
+  private static final int MAX_CODE_SIZE = 12;
+  private static final int MAX_CODES = 1 << MAX_CODE_SIZE;
+
+  private static final int BLACK = 0;
+  private static final int WHITE = 1;
+
+  @Override
+  public void write(BitMatrix matrix, OutputStream outputStream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+
+    // header and logical screen descriptor with a global colour table of two entries
+    outputStream.write(new byte[]{'G', 'I', 'F', '8', '9', 'a'});
+    writeShort(outputStream, width);
+    writeShort(outputStream, height);
+    outputStream.write(0x80);
+    outputStream.write(WHITE);
+    outputStream.write(0);
+    outputStream.write(new byte[]{0, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+
+    // image descriptor
+    outputStream.write(0x2C);
+    writeShort(outputStream, 0);
+    writeShort(outputStream, 0);
+    writeShort(outputStream, width);
+    writeShort(outputStream, height);
+    outputStream.write(0);
+
+    outputStream.write(MIN_CODE_SIZE);
+    new LzwEncoder(outputStream).encode(matrix);
+    outputStream.write(0x3B);
+    outputStream.flush();
+  }
+
+  private static void writeShort(OutputStream outputStream, int value) throws IOException {
+    outputStream.write(value & 0xFF);
+    outputStream.write((value >> 8) & 0xFF);
+  }
+
+  /**
+   * LZW encoder writing variable length codes into GIF data sub blocks.
+   */
+  private static final class LzwEncoder {
+
+    private final OutputStream outputStream;
+    private final int[] children = new int[MAX_CODES * 2];
+    private final byte[] block = new byte[255];
+    private int blockLength = 0;
+    private int bitBuffer = 0;
+    private int bitCount = 0;
+    private int codeSize;
+    private int nextCode;
+
+    LzwEncoder(OutputStream outputStream) {
+      this.outputStream = outputStream;
+    }
+
+    void encode(BitMatrix matrix) throws IOException {
+      reset();
+      writeCode(CLEAR_CODE);
+
+      int prefix = -1;
+      BitArray row = new BitArray(matrix.getWidth());
+      for (int y = 0; y < matrix.getHeight(); y++) {
+        row = matrix.getRow(y, row);
+        for (int x = 0; x < matrix.getWidth(); x++) {
+          int pixel = row.get(x) ? BLACK : WHITE;
+          if (prefix < 0) {
+            prefix = pixel;
+            continue;
+          }
+          int child = children[prefix * 2 + pixel];
+          if (child != 0) {
+            prefix = child;
+            continue;
+          }
+          writeCode(prefix);
+          if (nextCode < MAX_CODES) {
+            children[prefix * 2 + pixel] = nextCode++;
+          } else {
+            writeCode(CLEAR_CODE);
+            reset();
+          }
+          prefix = pixel;
+        }
+      }
+      if (prefix >= 0) {
+        writeCode(prefix);
+      }
+      writeCode(END_CODE);
+
+      if (bitCount > 0) {
+        writeByte(bitBuffer & 0xFF);
+      }
+      flushBlock();
+      // block terminator
+      outputStream.write(0);
+    }
+
+    private void reset() {
+      Arrays.fill(children, 0);
+      codeSize = MIN_CODE_SIZE + 1;
+      nextCode = FIRST_CODE;
+    }
+
+    private void writeCode(int code) throws IOException {
+      bitBuffer |= code << bitCount;
+      bitCount += codeSize;
+      while (bitCount >= 8) {
+        writeByte(bitBuffer & 0xFF);
+        bitBuffer >>>= 8;
+        bitCount -= 8;
+      }
+      // the decoder increases the code size once the table reaches the current limit
+      if (nextCode >= (1 << codeSize) && codeSize < MAX_CODE_SIZE) {
+        codeSize++;
+      }
+    }
+
+    private void writeByte(int value) throws IOException {
+      block[blockLength++] = (byte) value;
+      if (blockLength == block.length) {
+        flushBlock();
+      }
+    }
+
+    private void flushBlock() throws IOException {
+      if (blockLength > 0) {
+        outputStream.write(blockLength);
+        outputStream.write(block, 0, blockLength);
+        blockLength = 0;
+      }
+    }
+  }
+}
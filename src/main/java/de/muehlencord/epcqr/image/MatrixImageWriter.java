@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * writes a QR code matrix as image. Set bits of the matrix are written black, unset bits white. Implementations
+ * are stateless and can be shared between threads.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface MatrixImageWriter {
+
+  /**
+   * write the matrix as image.
+   *
+   * @param matrix       the matrix to write, one pixel per bit
+   * @param outputStream the stream to write the image to
+   * @throws IOException if the image cannot be written
+   */
+  void write(BitMatrix matrix, OutputStream outputStream) throws IOException;
+}
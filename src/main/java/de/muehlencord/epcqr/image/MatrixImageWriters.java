@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import de.muehlencord.epcqr.model.ImageFormat;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * provides the image writer for an image format. PNG, BMP, PNM and GIF are written directly from the matrix as two
+ * colour images, all other formats are written using ImageIO.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class MatrixImageWriters {
+
+  private static final Map<ImageFormat, MatrixImageWriter> WRITERS = new EnumMap<>(ImageFormat.class);
+
+  static {
+    WRITERS.put(ImageFormat.PNG, new PngMatrixWriter());
+    WRITERS.put(ImageFormat.BMP, new BmpMatrixWriter());
+    WRITERS.put(ImageFormat.PNM, new PnmMatrixWriter());
+    WRITERS.put(ImageFormat.GIF, new GifMatrixWriter());
+    for (ImageFormat format : ImageFormat.values()) {
+      WRITERS.putIfAbsent(format, (matrix, outputStream) ->
+        MatrixToImageWriter.writeToStream(matrix, format.getName(), outputStream));
+    }
+  }
+
+  private MatrixImageWriters() {
+    // utility class
+  }
+
+  /**
+   * returns the writer for the given format.
+   *
+   * @param format the image format
+   * @return the writer to use
+   */
+  public static MatrixImageWriter forFormat(ImageFormat format) {
+    return WRITERS.get(format);
+  }
+}
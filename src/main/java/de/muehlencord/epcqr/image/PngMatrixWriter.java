@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * writes a matrix as 1 bit greyscale PNG. A row equal to the previous row is written with the Up filter, which
+ * turns it into a row of zeros, so repeated scanlines of a scaled QR code cost next to nothing to compress.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class PngMatrixWriter implements MatrixImageWriter {
+
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+  private static final int FILTER_NONE = 0;
+  private static final int FILTER_UP = 2;
+
+  @Override
+  public void write(BitMatrix matrix, OutputStream outputStream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int stride = (width + 7) / 8;
+
+    DataOutputStream out = new DataOutputStream(outputStream);
+    out.write(SIGNATURE);
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    DataOutputStream headerData = new DataOutputStream(header);
+    headerData.writeInt(width);
+    headerData.writeInt(height);
+    headerData.writeByte(1); // bit depth
+    headerData.writeByte(0); // colour type greyscale
+    headerData.writeByte(0); // compression
+    headerData.writeByte(0); // filter
+    headerData.writeByte(0); // interlace
+    writeChunk(out, "IHDR", header.toByteArray(), header.size());
+
+    ByteArrayOutputStream imageData = new ByteArrayOutputStream(stride * 8);
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(imageData, deflater, 4096)) {
+      // greyscale 0 is black
+      RowPacker packer = new RowPacker(matrix, false, stride);
+      byte[] zeros = new byte[stride];
+      for (int y = 0; y < height; y++) {
+        if (packer.pack(y)) {
+          deflaterStream.write(FILTER_NONE);
+          deflaterStream.write(packer.packed(), 0, stride);
+        } else {
+          deflaterStream.write(FILTER_UP);
+          deflaterStream.write(zeros, 0, stride);
+        }
+      }
+    } finally {
+      deflater.end();
+    }
+    writeChunk(out, "IDAT", imageData.toByteArray(), imageData.size());
+    writeChunk(out, "IEND", new byte[0], 0);
+    out.flush();
+  }
+
+  private static void writeChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data, 0, length);
+
+    out.writeInt(length);
+    out.write(typeBytes);
+    out.write(data, 0, length);
+    out.writeInt((int) crc.getValue());
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * writes a matrix as binary PBM (portable bitmap, P4), the two colour variant of the PNM formats.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class PnmMatrixWriter implements MatrixImageWriter {
+
+  @Override
+  public void write(BitMatrix matrix, OutputStream outputStream) throws IOException {
+    int width = matrix.getWidth();
+    int height = matrix.getHeight();
+    int stride = (width + 7) / 8;
+
+    outputStream.write(String.format("P4\n%d %d\n", width, height).getBytes(StandardCharsets.US_ASCII));
+    // in PBM 1 is black
+    RowPacker packer = new RowPacker(matrix, true, stride);
+    for (int y = 0; y < height; y++) {
+      packer.pack(y);
+      outputStream.write(packer.packed(), 0, stride);
+    }
+    outputStream.flush();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+
+import java.util.Arrays;
+
+/**
+ * packs the rows of a matrix into one bit per pixel scanlines, most significant bit first, as used by all two
+ * colour formats. Rows of a scaled QR code repeat many times, so the packer tells whether a row equals the
+ * previous one and only packs changed rows.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class RowPacker {
+
+  private final BitMatrix matrix;
+  private final boolean blackBit;
+  private final byte[] packed;
+  private BitArray row;
+  private int[] previous;
+
+  /**
+   * create a new packer.
+   *
+   * @param matrix the matrix to pack
+   * @param black  the value of the bit to write for black pixels
+   * @param stride the number of bytes per packed row, at least (width + 7) / 8
+   */
+  RowPacker(BitMatrix matrix, boolean black, int stride) {
+    this.matrix = matrix;
+    this.blackBit = black;
+    this.packed = new byte[stride];
+    this.row = new BitArray(matrix.getWidth());
+  }
+
+  /**
+   * pack the given row.
+   *
+   * @param y the row to pack
+   * @return true, if the row differs from the row packed before and the packed bytes changed
+   */
+  boolean pack(int y) {
+    row = matrix.getRow(y, row);
+    int[] bits = row.getBitArray();
+    if (previous != null && Arrays.equals(bits, previous)) {
+      return false;
+    }
+    previous = previous == null ? bits.clone() : copy(bits, previous);
+
+    Arrays.fill(packed, (byte) 0);
+    int width = matrix.getWidth();
+    for (int x = 0; x < width; x++) {
+      // black pixels are set in the matrix
+      boolean black = (bits[x >>> 5] & (1 << (x & 0x1F))) != 0;
+      if (black == blackBit) {
+        packed[x >>> 3] |= (byte) (0x80 >>> (x & 7));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * returns the packed bytes of the last row packed.
+   *
+   * @return the packed row, must not be modified
+   */
+  byte[] packed() {
+    return packed;
+  }
+
+  private static int[] copy(int[] source, int[] target) {
+    System.arraycopy(source, 0, target, 0, source.length);
+    return target;
+  }
+}
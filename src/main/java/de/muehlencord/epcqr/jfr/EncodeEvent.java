@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when a payload is encoded into a QR code module matrix.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Name("de.muehlencord.epcqr.Encode")
+@Label("EPC QR Encode")
+@Category({"EPC QR"})
+@Description("Encoding of the payload into the QR code module matrix")
+public final class EncodeEvent extends Event {
+
+  @Label("Payload Length")
+  @DataAmount
+  private int payloadLength;
+
+  @Label("Error Correction Level")
+  private String errorCorrectionLevel;
+
+  @Label("Version")
+  private int version;
+
+  @Label("Modules")
+  @Description("Number of modules per side")
+  private int modules;
+
+  /**
+   * set the fields of the event.
+   *
+   * @param payloadLength        the length of the payload in bytes
+   * @param errorCorrectionLevel the error correction level used
+   * @param version              the QR code version
+   * @param modules              the number of modules per side
+   */
+  public void set(int payloadLength, String errorCorrectionLevel, int version, int modules) {
+    this.payloadLength = payloadLength;
+    this.errorCorrectionLevel = errorCorrectionLevel;
+    this.version = version;
+    this.modules = modules;
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when a QR code image file is written, including opening and closing the file.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Name("de.muehlencord.epcqr.FileWrite")
+@Label("EPC QR File Write")
+@Category({"EPC QR"})
+@Description("Writing a QR code image file")
+public final class FileWriteEvent extends Event {
+
+  @Label("Path")
+  private String path;
+
+  @Label("Format")
+  private String format;
+
+  @Label("Output Size")
+  @DataAmount
+  private long outputSize;
+
+  /**
+   * set the fields of the event.
+   *
+   * @param path       the file written
+   * @param format     the name of the image format
+   * @param outputSize the size of the file in bytes
+   */
+  public void set(String path, String format, long outputSize) {
+    this.path = path;
+    this.format = format;
+    this.outputSize = outputSize;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when a rendered QR code is compressed into an image.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Name("de.muehlencord.epcqr.ImageWrite")
+@Label("EPC QR Image Write")
+@Category({"EPC QR"})
+@Description("Compressing a QR code into an image")
+public final class ImageWriteEvent extends Event {
+
+  @Label("Format")
+  private String format;
+
+  @Label("Width")
+  private int width;
+
+  @Label("Height")
+  private int height;
+
+  @Label("Output Size")
+  @DataAmount
+  private long outputSize;
+
+  /**
+   * set the fields of the event.
+   *
+   * @param format     the name of the image format
+   * @param width      the width of the image
+   * @param height     the height of the image
+   * @param outputSize the size of the image in bytes
+   */
+  public void set(String format, int width, int height, long outputSize) {
+    this.format = format;
+    this.width = width;
+    this.height = height;
+    this.outputSize = outputSize;
+  }
+}
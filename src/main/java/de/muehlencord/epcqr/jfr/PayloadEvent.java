@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when the EPC payload of a builder is serialized.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Name("de.muehlencord.epcqr.Payload")
+@Label("EPC Payload")
+@Category({"EPC QR"})
+@Description("Serialization of the EPC payload")
+public final class PayloadEvent extends Event {
+
+  @Label("Payload Length")
+  @DataAmount
+  private int payloadLength;
+
+  @Label("Encoding")
+  private String encoding;
+
+  /**
+   * set the fields of the event.
+   *
+   * @param payloadLength the length of the payload in bytes
+   * @param encoding      the name of the encoding of the payload
+   */
+  public void set(int payloadLength, String encoding) {
+    this.payloadLength = payloadLength;
+    this.encoding = encoding;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import de.muehlencord.epcqr.EpcException;
+
+/**
+ * service provider interface receiving measurements of the QR code generation. Implementations must be
+ * thread-safe, they are called concurrently from all generating threads.
+ * <p>
+ * The active implementation is set by {@link Metrics#install(GenerationMetrics)} or loaded on startup by the
+ * {@link java.util.ServiceLoader}. See {@link JmxGenerationMetrics} for an implementation publishing the
+ * measurements via JMX.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface GenerationMetrics {
+
+  /**
+   * returns whether measurements are taken. If false, the generators do not read the clock and do not call any
+   * other method.
+   *
+   * @return true, if the metrics are enabled
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * record the duration of a phase of one generation.
+   *
+   * @param phase the phase
+   * @param nanos the duration in nanoseconds
+   */
+  void recordPhase(Phase phase, long nanos);
+
+  /**
+   * record an image written.
+   *
+   * @param format the name of the image format, e.g. png or svg
+   * @param width  the configured width of the image
+   * @param height the configured height of the image
+   * @param bytes  the size of the image in bytes
+   */
+  void recordImage(String format, int width, int height, long bytes);
+
+  /**
+   * record a failed generation.
+   *
+   * @param phase     the phase the generation failed in, null if it failed outside of a timed phase, e.g. because
+   *                  of an invalid setup of the generator
+   * @param exception the exception the generation failed with
+   */
+  void recordFailure(Phase phase, EpcException exception);
+}
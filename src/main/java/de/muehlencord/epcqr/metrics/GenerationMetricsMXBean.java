@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import java.util.Map;
+
+/**
+ * management interface of {@link JmxGenerationMetrics}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public interface GenerationMetricsMXBean {
+
+  /**
+   * returns the latency statistics per phase.
+   *
+   * @return the statistics by phase name
+   */
+  Map<String, PhaseStatistics> getPhases();
+
+  /**
+   * returns the number of images written per format.
+   *
+   * @return the number of images by format name
+   */
+  Map<String, Long> getImagesByFormat();
+
+  /**
+   * returns the number of images written per size.
+   *
+   * @return the number of images by size, e.g. 300x300
+   */
+  Map<String, Long> getImagesBySize();
+
+  /**
+   * returns the number of images written.
+   *
+   * @return the number of images
+   */
+  long getImages();
+
+  /**
+   * returns the total size of all images written.
+   *
+   * @return the size in bytes
+   */
+  long getOutputBytes();
+
+  /**
+   * returns the number of failed generations per phase, e.g. PAYLOAD for invalid payments or WRITE for images
+   * which could not be written. Failures outside of a timed phase are counted as OTHER.
+   *
+   * @return the number of failures by phase
+   */
+  Map<String, Long> getFailuresByPhase();
+
+  /**
+   * reset all statistics.
+   */
+  void reset();
+}
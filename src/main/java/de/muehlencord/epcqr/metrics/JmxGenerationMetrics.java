@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import de.muehlencord.epcqr.EpcException;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * metrics collecting latency histograms per {@link Phase}, image counts by format and size, output bytes and
+ * failures by phase, published as MXBean. Percentiles are approximated with a relative error below 1/32.
+ *
+ * <pre>
+ *   JmxGenerationMetrics metrics = new JmxGenerationMetrics();
+ *   metrics.register();
+ *   Metrics.install(metrics);
+ * </pre>
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public class JmxGenerationMetrics implements GenerationMetrics, GenerationMetricsMXBean {
+
+  /**
+   * the object name used by {@link #register()}.
+   */
+  public static final String DEFAULT_OBJECT_NAME = "de.muehlencord.epcqr:type=GenerationMetrics";
+
+  private final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+  private final Map<String, LongAdder> imagesByFormat = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> imagesBySize = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> failuresByPhase = new ConcurrentHashMap<>();
+  private final LongAdder images = new LongAdder();
+  private final LongAdder outputBytes = new LongAdder();
+
+  /**
+   * create new metrics. Call {@link Metrics#install(GenerationMetrics)} to activate them.
+   */
+  public JmxGenerationMetrics() {
+    for (Phase phase : Phase.values()) {
+      phases.put(phase, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * register the metrics at the platform MBean server using {@link #DEFAULT_OBJECT_NAME}.
+   *
+   * @return the name the metrics are registered under
+   * @throws EpcException if the metrics cannot be registered, e.g. because the name is already in use
+   */
+  public ObjectName register() throws EpcException {
+    return register(DEFAULT_OBJECT_NAME);
+  }
+
+  /**
+   * register the metrics at the platform MBean server.
+   *
+   * @param name the object name to use
+   * @return the name the metrics are registered under
+   * @throws EpcException if the metrics cannot be registered, e.g. because the name is already in use
+   */
+  public ObjectName register(String name) throws EpcException {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      return server.registerMBean(this, new ObjectName(name)).getObjectName();
+    } catch (JMException ex) {
+      throw new EpcException(String.format("Failed to register metrics. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /* *** recording *** */
+
+  @Override
+  public void recordPhase(Phase phase, long nanos) {
+    phases.get(phase).record(nanos);
+  }
+
+  @Override
+  public void recordImage(String format, int width, int height, long bytes) {
+    images.increment();
+    outputBytes.add(bytes);
+    imagesByFormat.computeIfAbsent(format, key -> new LongAdder()).increment();
+    imagesBySize.computeIfAbsent(width + "x" + height, key -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void recordFailure(Phase phase, EpcException exception) {
+    String key = phase == null ? "OTHER" : phase.name();
+    failuresByPhase.computeIfAbsent(key, name -> new LongAdder()).increment();
+  }
+
+  /* *** MXBean *** */
+
+  @Override
+  public Map<String, PhaseStatistics> getPhases() {
+    Map<String, PhaseStatistics> result = new TreeMap<>();
+    phases.forEach((phase, histogram) -> result.put(phase.name(), histogram.snapshot()));
+    return result;
+  }
+
+  @Override
+  public Map<String, Long> getImagesByFormat() {
+    return snapshot(imagesByFormat);
+  }
+
+  @Override
+  public Map<String, Long> getImagesBySize() {
+    return snapshot(imagesBySize);
+  }
+
+  @Override
+  public long getImages() {
+    return images.sum();
+  }
+
+  @Override
+  public long getOutputBytes() {
+    return outputBytes.sum();
+  }
+
+  @Override
+  public Map<String, Long> getFailuresByPhase() {
+    return snapshot(failuresByPhase);
+  }
+
+  @Override
+  public void reset() {
+    phases.values().forEach(LatencyHistogram::reset);
+    imagesByFormat.clear();
+    imagesBySize.clear();
+    failuresByPhase.clear();
+    images.reset();
+    outputBytes.reset();
+  }
+
+  private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+    Map<String, Long> result = new TreeMap<>();
+    counters.forEach((key, counter) -> result.put(key, counter.sum()));
+    return result;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * lock free histogram of durations in nanoseconds. Buckets are log-linear: each power of two is split into 32
+ * buckets, so percentiles are reported with a relative error below 1/32. Recording is allocation free.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * record a duration.
+   *
+   * @param nanos the duration in nanoseconds, negative values are recorded as 0
+   */
+  void record(long nanos) {
+    long value = Math.max(0L, nanos);
+    counts.incrementAndGet(index(value));
+    max.accumulate(value);
+  }
+
+  /**
+   * returns the statistics of all durations recorded so far. Concurrent recordings may or may not be included.
+   *
+   * @return the statistics
+   */
+  PhaseStatistics snapshot() {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    long maximum = max.get();
+    return new PhaseStatistics(total, percentile(snapshot, total, 0.5D, maximum),
+      percentile(snapshot, total, 0.99D, maximum), maximum);
+  }
+
+  /**
+   * reset the histogram. Recordings running concurrently may be lost.
+   */
+  void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0L);
+    }
+    max.reset();
+  }
+
+  private static long percentile(long[] snapshot, long total, double percentile, long maximum) {
+    if (total == 0) {
+      return 0L;
+    }
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+    for (int i = 0; i < snapshot.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        // upper bound of the bucket, but never above the largest value recorded
+        return Math.min(lowerBound(i + 1) - 1, maximum);
+      }
+    }
+    return maximum;
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long lowerBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long bound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    // the bucket above the last one starts beyond Long.MAX_VALUE
+    return bound < 0 ? Long.MAX_VALUE : bound;
+  }
+}
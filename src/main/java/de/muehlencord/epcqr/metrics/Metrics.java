@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import de.muehlencord.epcqr.EpcException;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * holds the active {@link GenerationMetrics} and provides the timing helpers used by the generators. By default
+ * the first implementation found by the {@link ServiceLoader} is active, if there is none, metrics are disabled.
+ * <p>
+ * If metrics are disabled, {@link #start()} returns 0 without reading the clock and all other methods return
+ * immediately.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class Metrics {
+
+  private static final GenerationMetrics DISABLED = new GenerationMetrics() {
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void recordPhase(Phase phase, long nanos) {
+      // disabled
+    }
+
+    @Override
+    public void recordImage(String format, int width, int height, long bytes) {
+      // disabled
+    }
+
+    @Override
+    public void recordFailure(Phase phase, EpcException exception) {
+      // disabled
+    }
+  };
+
+  /**
+   * the phase started last on the current thread which has not been stopped yet. Only tracked for enabled metrics,
+   * a failure is recorded for this phase.
+   */
+  private static final ThreadLocal<Phase> ACTIVE_PHASE = new ThreadLocal<>();
+
+  private static volatile GenerationMetrics current = load();
+
+  private Metrics() {
+    // utility class
+  }
+
+  private static GenerationMetrics load() {
+    try {
+      return ServiceLoader.load(GenerationMetrics.class).findFirst().orElse(DISABLED);
+    } catch (ServiceConfigurationError ex) {
+      return DISABLED;
+    }
+  }
+
+  /**
+   * set the active metrics.
+   *
+   * @param metrics the metrics to use, null to disable metrics
+   */
+  public static void install(GenerationMetrics metrics) {
+    current = metrics == null ? DISABLED : metrics;
+  }
+
+  /**
+   * returns the active metrics.
+   *
+   * @return the active metrics, never null
+   */
+  public static GenerationMetrics get() {
+    return current;
+  }
+
+  /**
+   * returns the given metrics or the active metrics, if none are given. Allows generators to record into their
+   * own metrics instead of the active ones, see e.g. {@code ByteArrayImageGenerator.withMetrics}.
+   *
+   * @param metrics the metrics of a generator, null to use the active metrics
+   * @return the metrics to record into, never null
+   */
+  public static GenerationMetrics resolve(GenerationMetrics metrics) {
+    return metrics == null ? current : metrics;
+  }
+
+  /**
+   * returns whether the active metrics are enabled.
+   *
+   * @return true, if measurements are taken
+   */
+  public static boolean isEnabled() {
+    return current.isEnabled();
+  }
+
+  /**
+   * start timing a phase.
+   *
+   * @return the start time to pass to {@link #stop(Phase, long)}, 0 if metrics are disabled
+   */
+  public static long start() {
+    return start(current);
+  }
+
+  /**
+   * start timing a phase recorded into the given metrics.
+   *
+   * @param metrics the metrics to record into
+   * @return the start time to pass to {@link #stop(GenerationMetrics, Phase, long)}, 0 if metrics are disabled
+   */
+  public static long start(GenerationMetrics metrics) {
+    return metrics.isEnabled() ? System.nanoTime() : 0L;
+  }
+
+  /**
+   * start timing the given phase recorded into the given metrics. A failure recorded before the phase is stopped
+   * is attributed to it, see {@link #failure(GenerationMetrics, EpcException)}.
+   *
+   * @param metrics the metrics to record into
+   * @param phase   the phase started
+   * @return the start time to pass to {@link #stop(GenerationMetrics, Phase, long)}, 0 if metrics are disabled
+   */
+  public static long start(GenerationMetrics metrics, Phase phase) {
+    if (!metrics.isEnabled()) {
+      return 0L;
+    }
+    ACTIVE_PHASE.set(phase);
+    return System.nanoTime();
+  }
+
+  /**
+   * stop timing a phase and record its duration.
+   *
+   * @param phase the phase
+   * @param start the value returned by {@link #start()}
+   */
+  public static void stop(Phase phase, long start) {
+    stop(current, phase, start);
+  }
+
+  /**
+   * stop timing a phase and record its duration into the given metrics.
+   *
+   * @param metrics the metrics to record into
+   * @param phase   the phase
+   * @param start   the value returned by {@link #start(GenerationMetrics)}
+   */
+  public static void stop(GenerationMetrics metrics, Phase phase, long start) {
+    if (start != 0L) {
+      metrics.recordPhase(phase, System.nanoTime() - start);
+      ACTIVE_PHASE.set(null);
+    }
+  }
+
+  /**
+   * record an image written, if metrics are enabled.
+   *
+   * @param format the name of the image format
+   * @param width  the configured width of the image
+   * @param height the configured height of the image
+   * @param bytes  the size of the image in bytes
+   */
+  public static void image(String format, int width, int height, long bytes) {
+    image(current, format, width, height, bytes);
+  }
+
+  /**
+   * record an image written into the given metrics, if they are enabled.
+   *
+   * @param metrics the metrics to record into
+   * @param format  the name of the image format
+   * @param width   the configured width of the image
+   * @param height  the configured height of the image
+   * @param bytes   the size of the image in bytes
+   */
+  public static void image(GenerationMetrics metrics, String format, int width, int height, long bytes) {
+    if (metrics.isEnabled()) {
+      metrics.recordImage(format, width, height, bytes);
+    }
+  }
+
+  /**
+   * record a failed generation, if metrics are enabled.
+   *
+   * @param exception the exception the generation failed with
+   */
+  public static void failure(EpcException exception) {
+    failure(current, exception);
+  }
+
+  /**
+   * record a failed generation into the given metrics, if they are enabled. The failure is attributed to the phase
+   * started by {@link #start(GenerationMetrics, Phase)} on the current thread and not stopped yet.
+   *
+   * @param metrics   the metrics to record into
+   * @param exception the exception the generation failed with
+   */
+  public static void failure(GenerationMetrics metrics, EpcException exception) {
+    if (metrics.isEnabled()) {
+      Phase phase = ACTIVE_PHASE.get();
+      ACTIVE_PHASE.set(null);
+      metrics.recordFailure(phase, exception);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+/**
+ * phases of the QR code generation which are timed separately.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public enum Phase {
+
+  /**
+   * serializing the EPC payload of the builder
+   */
+  PAYLOAD,
+  /**
+   * encoding the payload into the QR code module matrix
+   */
+  ENCODE,
+  /**
+   * decoding the module matrix again to verify it against the payload, see
+   * {@link de.muehlencord.epcqr.QrOptions#withVerification(int)}
+   */
+  VERIFY,
+  /**
+   * rendering the module matrix into pixels or vector commands
+   */
+  RENDER,
+  /**
+   * compressing the pixels into the image format, e.g. the deflate compression of PNG
+   */
+  COMPRESS,
+  /**
+   * writing the compressed image to its target, including Base64 encoding, stream and file I/O
+   */
+  WRITE
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import lombok.Getter;
+
+/**
+ * latency statistics of one {@link Phase}. Percentiles are approximated, see {@link JmxGenerationMetrics}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class PhaseStatistics {
+
+  /**
+   * the number of durations recorded.
+   */
+  private final long count;
+
+  /**
+   * the median duration in nanoseconds.
+   */
+  private final long p50Nanos;
+
+  /**
+   * the 99th percentile of the durations in nanoseconds.
+   */
+  private final long p99Nanos;
+
+  /**
+   * the longest duration in nanoseconds.
+   */
+  private final long maxNanos;
+
+  PhaseStatistics(long count, long p50Nanos, long p99Nanos, long maxNanos) {
+    this.count = count;
+    this.p50Nanos = p50Nanos;
+    this.p99Nanos = p99Nanos;
+    this.maxNanos = maxNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d, p50=%dns, p99=%dns, max=%dns", count, p50Nanos, p99Nanos, maxNanos);
+  }
+}
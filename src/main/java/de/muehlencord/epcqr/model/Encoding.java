@@ -21,7 +21,9 @@ import de.muehlencord.epcqr.EpcException;
 import lombok.Getter;
 
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -75,6 +77,19 @@ public enum Encoding {
 
   private final static Map<Integer, Encoding> valueMap = new HashMap<>();
 
+  /**
+   * single byte encodings in the order they are tried by {@link #compact(Encoding, CharSequence...)}, Western
+   * European first.
+   */
+  private static final Encoding[] COMPACT_ORDER = {ISO_8859_1, ISO_8859_15, ISO_8859_2, ISO_8859_4, ISO_8859_5,
+    ISO_8859_7};
+
+  /**
+   * encoders are not thread-safe, so each thread keeps its own.
+   */
+  private static final ThreadLocal<Map<Encoding, CharsetEncoder>> ENCODERS =
+    ThreadLocal.withInitial(() -> new EnumMap<>(Encoding.class));
+
   static {
     for (Encoding encoding : Encoding.values()) {
       valueMap.put(encoding.getValue(), encoding);
@@ -94,4 +109,71 @@ public enum Encoding {
     }
     return valueMap.get(value);
   }
+
+  /**
+   * checks if the given value can be represented in this encoding without replacement characters.
+   *
+   * @param value the value to check, may be null
+   * @return true, if the value is null or all its characters can be encoded
+   */
+  public boolean canEncode(CharSequence value) {
+    if (value == null || isAscii(value)) {
+      // all supported encodings are ASCII compatible
+      return true;
+    }
+    return ENCODERS.get().computeIfAbsent(this, e -> e.getCharset().newEncoder()).canEncode(value);
+  }
+
+  /**
+   * returns true, if each character is encoded in one byte.
+   *
+   * @return true for all encodings but UTF-8
+   */
+  public boolean isSingleByte() {
+    return this != UTF_8;
+  }
+
+  /**
+   * returns the encoding which represents all given values in the least number of bytes. The preferred encoding is
+   * kept if all values are ASCII or if it is a single byte encoding which can represent all values. Otherwise the
+   * first of ISO-8859-1, ISO-8859-15, ISO-8859-2, ISO-8859-4, ISO-8859-5 and ISO-8859-7 which can represent all
+   * values is used and UTF-8 if none can.
+   *
+   * @param preferred the encoding to keep if possible
+   * @param values    the values to encode, null values are ignored
+   * @return the most compact encoding
+   */
+  public static Encoding compact(Encoding preferred, CharSequence... values) {
+    boolean ascii = true;
+    for (int i = 0; i < values.length && ascii; i++) {
+      ascii = values[i] == null || isAscii(values[i]);
+    }
+    if (ascii || (preferred.isSingleByte() && preferred.canEncode(values))) {
+      return preferred;
+    }
+    for (Encoding encoding : COMPACT_ORDER) {
+      if (encoding.canEncode(values)) {
+        return encoding;
+      }
+    }
+    return UTF_8;
+  }
+
+  private boolean canEncode(CharSequence[] values) {
+    for (CharSequence value : values) {
+      if (!canEncode(value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAscii(CharSequence value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.model;
+
+/**
+ * defines when written image files are forced to the storage device. Files are always written to a temporary file
+ * and renamed atomically, so readers never see partially written files. Forcing the data in addition protects
+ * against empty or truncated files after a power loss or operating system crash, at the cost of throughput.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public enum FsyncPolicy {
+
+  /**
+   * do not force, the operating system writes the data eventually
+   */
+  NONE,
+  /**
+   * force the file content before it is renamed
+   */
+  FILE,
+  /**
+   * force the file content before it is renamed and the directory after the rename, so the new name is durable, too
+   */
+  FILE_AND_DIRECTORY
+}
@@ -31,35 +31,37 @@ public enum ImageFormat {
   /**
    * image format bmp
    */
-  BMP("bmp"),
+  BMP("bmp", "image/bmp"),
   /**
    * image format tif
    */
-  TIF("tif"),
+  TIF("tif", "image/tiff"),
   /**
    * image format pnm
    */
-  PNM("pnm"),
+  PNM("pnm", "image/x-portable-bitmap"),
   /**
    * image format pcx
    */
-  PCX("pcx"),
+  PCX("pcx", "image/x-pcx"),
   /**
    * image format png
    */
-  PNG("png"),
+  PNG("png", "image/png"),
   /**
    * image format gif
    */
-  GIF("gif"),
+  GIF("gif", "image/gif"),
   /**
    * image format jpg
    */
-  JPG("jpg");
+  JPG("jpg", "image/jpeg");
 
   private String name;
+  private String mimeType;
 
-  ImageFormat(String name) {
+  ImageFormat(String name, String mimeType) {
     this.name = name;
+    this.mimeType = mimeType;
   }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.model;
+
+/**
+ * encoding of an image written to a stream
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public enum StreamEncoding {
+
+  /**
+   * the image bytes as is
+   */
+  RAW,
+  /**
+   * the image bytes base64 encoded
+   */
+  BASE64,
+  /**
+   * the image as data URI, e.g. data:image/png;base64,...
+   */
+  DATA_URI
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.model;
+
+import lombok.Getter;
+
+/**
+ * supported vector output formats
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public enum VectorFormat {
+
+  /**
+   * scalable vector graphics
+   */
+  SVG("svg", "image/svg+xml"),
+  /**
+   * single page PDF document
+   */
+  PDF("pdf", "application/pdf"),
+  /**
+   * encapsulated PostScript
+   */
+  EPS("eps", "application/postscript");
+
+  private String name;
+  private String mimeType;
+
+  VectorFormat(String name, String mimeType) {
+    this.name = name;
+    this.mimeType = mimeType;
+  }
+}
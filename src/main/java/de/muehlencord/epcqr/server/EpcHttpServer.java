@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import com.sun.net.httpserver.HttpServer;
+import de.muehlencord.epcqr.EpcException;
+import lombok.Getter;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * embedded HTTP endpoint rendering EPC QR codes, built on the HTTP server of the JDK (module jdk.httpserver).
+ * <p>
+ * The endpoint accepts the fields version, encoding, bic, recipient, iban, currency, amount, purpose and note as
+ * query parameters of GET requests, or as JSON object or form in the body of POST requests. The parameter format
+ * selects png (default), svg or base64, the parameter size the size in pixel (default 300). Responses carry a
+ * strong ETag, requests with a matching If-None-Match header are answered with 304 Not Modified. Invalid payments
+ * are answered with 400 and the reason as text.
+ * <pre>
+ * GET /epc?recipient=Max%20Mustermann&amp;iban=GB33BUKB20201555555555&amp;amount=48.81&amp;purpose=Test&amp;format=svg
+ * </pre>
+ * <p>
+ * Handlers run on virtual threads if the runtime supports them (Java 21 and later), otherwise on a pool of
+ * platform threads. The number of concurrent renders is limited independently of the number of handlers.
+ * <p>
+ * The JDK server sends headers and body in separate writes, with Nagle's algorithm enabled each rendered response
+ * waits for the delayed acknowledgement of the client, about 40 ms. Applications should therefore start the JVM
+ * with {@code -Dsun.net.httpserver.nodelay=true}. The property applies to all JDK HTTP servers of the process and
+ * is read when the first one is created, so it is not set by this class.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class EpcHttpServer {
+
+  /**
+   * the host name or address to bind to. Defaults to localhost.
+   */
+  private final String host;
+
+  /**
+   * the port to listen on, 0 selects a free port. Defaults to 8080.
+   */
+  private final int port;
+
+  /**
+   * the path of the render endpoint. Defaults to /epc.
+   */
+  private final String path;
+
+  /**
+   * the maximum number of codes rendered at the same time. Defaults to the number of processors.
+   */
+  private final int maxConcurrentRenders;
+
+  /**
+   * how long a request waits for a render slot before it is answered with 503. Defaults to 5 seconds.
+   */
+  private final Duration queueTimeout;
+
+  /**
+   * the executor running the handlers, null for the default executor.
+   */
+  private final Executor executor;
+
+  /**
+   * create a new server configuration using the defaults.
+   */
+  public EpcHttpServer() {
+    this("localhost", 8080, "/epc", Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(5), null);
+  }
+
+  private EpcHttpServer(String host, int port, String path, int maxConcurrentRenders, Duration queueTimeout,
+    Executor executor) {
+    this.host = host;
+    this.port = port;
+    this.path = path;
+    this.maxConcurrentRenders = maxConcurrentRenders;
+    this.queueTimeout = queueTimeout;
+    this.executor = executor;
+  }
+
+  /* *** builder *** */
+
+  /**
+   * set the host name or address to bind to, e.g. 0.0.0.0 for all interfaces.
+   *
+   * @param host the host to bind to
+   * @return a new configuration using the given host
+   */
+  public EpcHttpServer withHost(String host) {
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /**
+   * set the port to listen on.
+   *
+   * @param port the port, 0 to select a free port
+   * @return a new configuration using the given port
+   * @throws EpcException if the port is out of range
+   */
+  public EpcHttpServer withPort(int port) throws EpcException {
+    if (port < 0 || port > 65535) {
+      throw new EpcException(String.format("Port must be between 0 and 65535, but is %d", port));
+    }
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /**
+   * set the path of the render endpoint.
+   *
+   * @param path the path, starting with /
+   * @return a new configuration using the given path
+   * @throws EpcException if the path does not start with /
+   */
+  public EpcHttpServer withPath(String path) throws EpcException {
+    if (path == null || !path.startsWith("/")) {
+      throw new EpcException(String.format("Path must start with /, but is %s", path));
+    }
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /**
+   * set the maximum number of codes rendered at the same time.
+   *
+   * @param maxConcurrentRenders the maximum, at least 1
+   * @return a new configuration using the given maximum
+   * @throws EpcException if the maximum is less than 1
+   */
+  public EpcHttpServer withMaxConcurrentRenders(int maxConcurrentRenders) throws EpcException {
+    if (maxConcurrentRenders < 1) {
+      throw new EpcException(String.format("Max concurrent renders must be at least 1, but is %d", maxConcurrentRenders));
+    }
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /**
+   * set how long a request waits for a render slot before it is answered with 503 Service Unavailable.
+   *
+   * @param queueTimeout the timeout, zero to reject immediately
+   * @return a new configuration using the given timeout
+   * @throws EpcException if the timeout is null or negative
+   */
+  public EpcHttpServer withQueueTimeout(Duration queueTimeout) throws EpcException {
+    if (queueTimeout == null || queueTimeout.isNegative()) {
+      throw new EpcException(String.format("Queue timeout must not be negative, but is %s", queueTimeout));
+    }
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /**
+   * set the executor running the handlers. The executor is not shut down when the server is closed.
+   *
+   * @param executor the executor to use, null for the default executor
+   * @return a new configuration using the given executor
+   */
+  public EpcHttpServer withExecutor(Executor executor) {
+    return new EpcHttpServer(host, port, path, maxConcurrentRenders, queueTimeout, executor);
+  }
+
+  /* *** server *** */
+
+  /**
+   * start a server using this configuration.
+   *
+   * @return the running server, close it to stop the server
+   * @throws EpcException if the server cannot be started, e.g. because the port is in use
+   */
+  public RunningServer start() throws EpcException {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+      server.createContext(path, new RenderHandler(maxConcurrentRenders, queueTimeout.toMillis()));
+      ExecutorService ownExecutor = executor == null ? defaultExecutor() : null;
+      server.setExecutor(executor == null ? ownExecutor : executor);
+      server.start();
+      return new RunningServer(server, ownExecutor);
+    } catch (IOException ex) {
+      throw new EpcException(String.format("Failed to start server. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  private static ExecutorService defaultExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+      // no virtual threads before Java 21, use platform threads
+    }
+    AtomicInteger counter = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "epc-qr-http-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    // handlers mostly wait for the network or a render slot, so use more threads than processors
+    return Executors.newFixedThreadPool(Math.max(8, 4 * Runtime.getRuntime().availableProcessors()), threadFactory);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import de.muehlencord.epcqr.EpcException;
+
+import java.util.Locale;
+
+/**
+ * response formats of the render endpoint, selected by the parameter format.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+enum OutputFormat {
+
+  /**
+   * PNG image
+   */
+  PNG("image/png"),
+  /**
+   * SVG image
+   */
+  SVG("image/svg+xml"),
+  /**
+   * PNG image as Base64 text
+   */
+  BASE64("text/plain; charset=US-ASCII");
+
+  private final String contentType;
+
+  OutputFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  String getContentType() {
+    return contentType;
+  }
+
+  static OutputFormat of(String name) throws EpcException {
+    if (name == null) {
+      return PNG;
+    }
+    try {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new EpcException(String.format("Unsupported format %s, supported are png, svg and base64", name), ex);
+    }
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import de.muehlencord.epcqr.Base64ImageGenerator;
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayloadWriter;
+import de.muehlencord.epcqr.VectorImageGenerator;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * renders an EPC QR code per request. The payment is read from the query of GET and HEAD requests, or from the
+ * JSON or form body of POST requests. The response carries a strong ETag computed from the payload and the render
+ * parameters, conditional requests with a matching If-None-Match header are answered with 304 without rendering.
+ * Concurrent renders are limited by a semaphore, requests waiting longer than the queue timeout get 503.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class RenderHandler implements HttpHandler {
+
+  static final int DEFAULT_SIZE = 300;
+  static final int MAX_SIZE = 2048;
+  static final int MAX_BODY_SIZE = 8 * 1024;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final Semaphore renders;
+  private final long queueTimeoutMillis;
+  private final ByteArrayImageGenerator pngGenerator = new ByteArrayImageGenerator();
+  private final Base64ImageGenerator base64Generator = new Base64ImageGenerator();
+  private final VectorImageGenerator svgGenerator = new VectorImageGenerator();
+
+  RenderHandler(int maxConcurrentRenders, long queueTimeoutMillis) {
+    this.renders = new Semaphore(maxConcurrentRenders);
+    this.queueTimeoutMillis = queueTimeoutMillis;
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    try {
+      String method = exchange.getRequestMethod();
+      Map<String, String> parameters;
+      if (method.equals("GET") || method.equals("HEAD")) {
+        // consume the empty body, otherwise the server closes the connection after responses without body (304)
+        exchange.getRequestBody().close();
+        parameters = RequestParameters.parseQuery(exchange.getRequestURI().getRawQuery());
+      } else if (method.equals("POST")) {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+          body = in.readNBytes(MAX_BODY_SIZE + 1);
+        }
+        if (body.length > MAX_BODY_SIZE) {
+          sendText(exchange, 413, "Request body too large");
+          return;
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String text = new String(body, StandardCharsets.UTF_8);
+        parameters = contentType != null && contentType.contains("json")
+          ? RequestParameters.parseJson(text) : RequestParameters.parseQuery(text);
+      } else {
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD, POST");
+        sendText(exchange, 405, "Method not allowed");
+        return;
+      }
+      render(exchange, method.equals("HEAD"), parameters);
+    } catch (EpcException ex) {
+      sendText(exchange, 400, ex.getMessage());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      sendText(exchange, 503, "Interrupted");
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void render(HttpExchange exchange, boolean head, Map<String, String> parameters)
+    throws EpcException, IOException, InterruptedException {
+    OutputFormat format = OutputFormat.of(parameters.remove("format"));
+    int size = size(parameters.remove("size"));
+    EpcBuilder builder = builder(parameters);
+    byte[] payload = EpcPayloadWriter.toByteArray(builder);
+
+    String etag = etag(payload, format, size);
+    Headers headers = exchange.getResponseHeaders();
+    headers.set("ETag", etag);
+    if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+      exchange.sendResponseHeaders(304, -1);
+      return;
+    }
+    headers.set("Content-Type", format.getContentType());
+    if (head) {
+      exchange.sendResponseHeaders(200, -1);
+      return;
+    }
+
+    if (!renders.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+      headers.remove("ETag");
+      headers.set("Retry-After", "1");
+      sendText(exchange, 503, "Too many concurrent renders");
+      return;
+    }
+    byte[] body;
+    try {
+      switch (format) {
+        case SVG:
+          body = svgGenerator.withSize(size).generate(builder).getBytes(StandardCharsets.UTF_8);
+          break;
+        case BASE64:
+          body = base64Generator.withWidth(size).withHeight(size).generate(builder).getBytes(StandardCharsets.US_ASCII);
+          break;
+        default:
+          body = pngGenerator.withWidth(size).withHeight(size).generate(builder);
+          break;
+      }
+    } finally {
+      renders.release();
+    }
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static int size(String value) throws EpcException {
+    if (value == null) {
+      return DEFAULT_SIZE;
+    }
+    try {
+      int size = Integer.parseInt(value);
+      if (size >= 1 && size <= MAX_SIZE) {
+        return size;
+      }
+    } catch (NumberFormatException ex) {
+      // reported below
+    }
+    throw new EpcException(String.format("Size must be between 1 and %d, but is %s", MAX_SIZE, value));
+  }
+
+  private static EpcBuilder builder(Map<String, String> parameters) throws EpcException {
+    EpcBuilder builder = new EpcBuilder();
+    for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+      String value = parameter.getValue();
+      switch (parameter.getKey()) {
+        case "version":
+          builder.withVersion(value);
+          break;
+        case "encoding":
+          builder.withEncoding(integer(parameter.getKey(), value));
+          break;
+        case "bic":
+          builder.withBic(value);
+          break;
+        case "recipient":
+          builder.withRecipient(value);
+          break;
+        case "iban":
+          builder.withIban(value);
+          break;
+        case "currency":
+          builder.withCurrency(value);
+          break;
+        case "amount":
+          try {
+            builder.withPaymentAmount(new BigDecimal(value));
+          } catch (NumberFormatException ex) {
+            throw new EpcException(String.format("Invalid amount %s", value), ex);
+          }
+          break;
+        case "purposeCode":
+          builder.withPurposeCode(value);
+          break;
+        case "reference":
+          builder.withReference(value);
+          break;
+        case "purpose":
+          builder.withPurposeText(value);
+          break;
+        case "note":
+          builder.withNote(value);
+          break;
+        default:
+          throw new EpcException(String.format("Unknown parameter %s", parameter.getKey()));
+      }
+    }
+    return builder;
+  }
+
+  private static int integer(String name, String value) throws EpcException {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
+      throw new EpcException(String.format("Invalid %s %s", name, value), ex);
+    }
+  }
+
+  /**
+   * the strong entity tag of a response: the first 16 bytes of the SHA-256 hash over payload and render parameters.
+   */
+  static String etag(byte[] payload, OutputFormat format, int size) throws EpcException {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(payload);
+      digest.update((byte) '\n');
+      digest.update((format.name() + '\n' + size).getBytes(StandardCharsets.US_ASCII));
+      byte[] hash = digest.digest();
+      char[] etag = new char[34];
+      etag[0] = '"';
+      for (int i = 0; i < 16; i++) {
+        etag[1 + 2 * i] = HEX[(hash[i] >> 4) & 0x0f];
+        etag[2 + 2 * i] = HEX[hash[i] & 0x0f];
+      }
+      etag[33] = '"';
+      return new String(etag);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new EpcException(String.format("Failed to generate QR code. Reason: %s", ExceptionUtils.getRootCauseMessage(ex)), ex);
+    }
+  }
+
+  /**
+   * If-None-Match uses the weak comparison, so weak tags of the same value match as well.
+   */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    int start = 0;
+    while (start < ifNoneMatch.length()) {
+      int end = ifNoneMatch.indexOf(',', start);
+      if (end < 0) {
+        end = ifNoneMatch.length();
+      }
+      String tag = ifNoneMatch.substring(start, end).trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+    byte[] body = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
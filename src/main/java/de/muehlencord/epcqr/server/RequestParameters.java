@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.bulk.FlatJson;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * parses the parameters of a render request, either an URL encoded query or form, or a flat JSON object with
+ * string, number and boolean values. Numbers are kept as written, so amounts are not rounded.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+final class RequestParameters {
+
+  private RequestParameters() {
+    // utility class
+  }
+
+  /**
+   * parse an URL encoded query or form body.
+   *
+   * @param query the raw query, may be null
+   * @return the parameters, later values replace earlier ones
+   * @throws EpcException if the query is not properly encoded
+   */
+  static Map<String, String> parseQuery(String query) throws EpcException {
+    Map<String, String> parameters = new HashMap<>();
+    if (query == null || query.isEmpty()) {
+      return parameters;
+    }
+    try {
+      int start = 0;
+      while (start <= query.length()) {
+        int end = query.indexOf('&', start);
+        if (end < 0) {
+          end = query.length();
+        }
+        if (end > start) {
+          int separator = query.indexOf('=', start);
+          if (separator < 0 || separator > end) {
+            separator = end;
+          }
+          String name = URLDecoder.decode(query.substring(start, separator), StandardCharsets.UTF_8);
+          String value = separator == end ? "" : URLDecoder.decode(query.substring(separator + 1, end), StandardCharsets.UTF_8);
+          parameters.put(name, value);
+        }
+        start = end + 1;
+      }
+    } catch (IllegalArgumentException ex) {
+      throw new EpcException(String.format("Invalid query: %s", ex.getMessage()), ex);
+    }
+    return parameters;
+  }
+
+  /**
+   * parse a flat JSON object. Null values are skipped, nested objects and arrays are rejected.
+   *
+   * @param json the JSON text
+   * @return the parameters
+   * @throws EpcException if the text is not a flat JSON object
+   */
+  static Map<String, String> parseJson(String json) throws EpcException {
+    return FlatJson.parse(json);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * a server started by {@link EpcHttpServer#start()}. Closing it stops the server.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class RunningServer implements Closeable {
+
+  private final HttpServer server;
+  private final ExecutorService ownExecutor;
+
+  RunningServer(HttpServer server, ExecutorService ownExecutor) {
+    this.server = server;
+    this.ownExecutor = ownExecutor;
+  }
+
+  /**
+   * @return the address the server listens on
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * @return the port the server listens on, useful if port 0 was configured
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * stop the server. Requests in progress are given one second to complete.
+   */
+  @Override
+  public void close() {
+    server.stop(1);
+    if (ownExecutor != null) {
+      ownExecutor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import de.muehlencord.epcqr.EpcException;
+
+/**
+ * validates the structure of a BIC (ISO 9362): four letters for the institution, two letters for the country, two
+ * letters or digits for the location and an optional branch of three letters or digits. Letters are accepted in
+ * upper and lower case. Whether the BIC is assigned to a bank is not checked.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class BicValidator {
+
+  private BicValidator() {
+    // only static methods
+  }
+
+  /**
+   * @param bic the BIC, may be null
+   * @return true, if the BIC has a valid structure
+   */
+  public static boolean isValid(CharSequence bic) {
+    return problem(bic) == null;
+  }
+
+  /**
+   * validate the BIC.
+   *
+   * @param bic the BIC
+   * @throws EpcException if the BIC is not valid, the message names the reason
+   */
+  public static void assertValid(CharSequence bic) throws EpcException {
+    String problem = problem(bic);
+    if (problem != null) {
+      throw new EpcException(String.format("BIC %s not valid. %s", bic, problem));
+    }
+  }
+
+  /**
+   * @param bic the BIC to check
+   * @return the reason the BIC is not valid, or null if it is valid
+   */
+  static String problem(CharSequence bic) {
+    if (bic == null) {
+      return "BIC must not be null";
+    }
+    if (bic.length() != 8 && bic.length() != 11) {
+      return "BIC must have 8 or 11 characters";
+    }
+    for (int i = 0; i < 6; i++) {
+      if (!isLetter(bic.charAt(i))) {
+        return i < 4 ? "Institution code must consist of letters" : "Country code must consist of letters";
+      }
+    }
+    for (int i = 6; i < bic.length(); i++) {
+      char c = bic.charAt(i);
+      if (!isLetter(c) && (c < '0' || c > '9')) {
+        return i < 8 ? "Location code must consist of letters and digits" : "Branch code must consist of letters and digits";
+      }
+    }
+    return null;
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+}
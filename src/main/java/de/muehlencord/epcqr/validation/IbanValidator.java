@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import de.muehlencord.epcqr.EpcException;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * validates IBANs in electronic format, without spaces. Checks the length and the structure of the basic bank
+ * account number (BBAN) per country, see the SWIFT IBAN registry, and the mod-97 check digits (ISO 13616). Letters
+ * are accepted in upper and lower case. The check does not allocate, so it is cheap enough for every payment.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public final class IbanValidator {
+
+  /**
+   * country code, IBAN length and BBAN structure: n digits, a upper case letters, c letters and digits. Countries of
+   * the SEPA scheme include the structure, other countries are checked for their length only.
+   */
+  private static final String COUNTRIES = ""
+    // SEPA
+    + "AD24:4n4n12c,AL28:8n16c,AT20:5n11n,BE16:3n7n2n,BG22:4a4n2n8c,CH21:5n12c,CY28:3n5n16c,CZ24:4n6n10n,"
+    + "DE22:8n10n,DK18:4n9n1n,EE20:2n2n11n1n,ES24:4n4n1n1n10n,FI18:3n11n,FO18:4n9n1n,FR27:5n5n11c2n,GB22:4a6n8n,"
+    + "GI23:4a15c,GL18:4n9n1n,GR27:3n4n16c,HR21:7n10n,HU28:3n4n1n15n1n,IE22:4a6n8n,IS26:4n2n6n10n,IT27:1a5n5n12c,"
+    + "LI21:5n12c,LT20:5n11n,LU20:3n13c,LV21:4a13c,MC27:5n5n11c2n,MD24:2c18c,ME22:3n13n2n,MK19:3n10c2n,"
+    + "MT31:4a5n18c,NL18:4a10n,NO15:4n6n1n,PL28:8n16n,PT25:4n4n11n2n,RO24:4a16c,RS22:3n13n2n,SE24:3n16n1n,"
+    + "SI19:5n8n2n,SK24:4n6n10n,SM27:1a5n5n12c,VA22:3n15n,"
+    // French overseas territories use the French structure
+    + "BL27:5n5n11c2n,GF27:5n5n11c2n,GP27:5n5n11c2n,MF27:5n5n11c2n,MQ27:5n5n11c2n,NC27:5n5n11c2n,PF27:5n5n11c2n,"
+    + "PM27:5n5n11c2n,RE27:5n5n11c2n,TF27:5n5n11c2n,WF27:5n5n11c2n,YT27:5n5n11c2n,"
+    // other countries
+    + "AE23,AZ28,BA20,BH22,BI27,BR29,BY28,CR22,DJ27,DO28,EG29,FK18,GE22,GT28,IL23,IQ23,JO30,KW30,KZ20,LB28,LC32,"
+    + "LY25,MN20,MR27,MU30,NI28,OM23,PK24,PS29,QA29,RU33,SA24,SC31,SD18,SO23,ST25,SV28,TL23,TN24,TR26,UA29,VG24,"
+    + "XK20,YE30";
+
+  private static final long MOD_THRESHOLD = 10_000_000_000_000_000L;
+
+  private static final byte[] LENGTHS = new byte[26 * 26];
+  private static final String[] STRUCTURES = new String[26 * 26];
+
+  static {
+    for (String country : COUNTRIES.split(",")) {
+      int index = (country.charAt(0) - 'A') * 26 + country.charAt(1) - 'A';
+      LENGTHS[index] = Byte.parseByte(country.substring(2, 4));
+      STRUCTURES[index] = country.length() > 5 ? country.substring(5) : null;
+    }
+  }
+
+  private IbanValidator() {
+    // only static methods
+  }
+
+  /**
+   * @param iban the IBAN in electronic format, may be null
+   * @return true, if the IBAN has the length and structure of its country and valid check digits
+   */
+  public static boolean isValid(CharSequence iban) {
+    return problem(iban) == null;
+  }
+
+  /**
+   * validate the IBAN.
+   *
+   * @param iban the IBAN in electronic format
+   * @throws EpcException if the IBAN is not valid, the message names the reason
+   */
+  public static void assertValid(CharSequence iban) throws EpcException {
+    String problem = problem(iban);
+    if (problem != null) {
+      throw new EpcException(String.format("IBAN %s not valid. %s", iban, problem));
+    }
+  }
+
+  /**
+   * validate many IBANs in parallel.
+   *
+   * @param ibans the IBANs in electronic format
+   * @return the indexes of the invalid IBANs
+   */
+  public static BitSet findInvalid(List<? extends CharSequence> ibans) {
+    // chunks are multiples of 64, so each chunk writes its own words of the bit set
+    int chunkSize = 64 * 1024;
+    int size = ibans.size();
+    long[] words = new long[(size + 63) / 64];
+    IntStream.range(0, (size + chunkSize - 1) / chunkSize).parallel().forEach(chunk -> {
+      int end = Math.min(size, (chunk + 1) * chunkSize);
+      for (int i = chunk * chunkSize; i < end; i++) {
+        if (!isValid(ibans.get(i))) {
+          words[i >>> 6] |= 1L << i;
+        }
+      }
+    });
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * @param iban the IBAN to check
+   * @return the reason the IBAN is not valid, or null if it is valid
+   */
+  static String problem(CharSequence iban) {
+    if (iban == null) {
+      return "IBAN must not be null";
+    }
+    int length = iban.length();
+    if (length < 5) {
+      return "IBAN too short";
+    }
+    int c0 = upper(iban.charAt(0));
+    int c1 = upper(iban.charAt(1));
+    if (c0 < 'A' || c0 > 'Z' || c1 < 'A' || c1 > 'Z' || LENGTHS[(c0 - 'A') * 26 + c1 - 'A'] == 0) {
+      return "Unknown country code";
+    }
+    int country = (c0 - 'A') * 26 + c1 - 'A';
+    if (length != LENGTHS[country]) {
+      return String.format("Expected length %d for country %c%c, but is %d", LENGTHS[country], c0, c1, length);
+    }
+    if (!isDigit(iban.charAt(2)) || !isDigit(iban.charAt(3))) {
+      return "Check digits must be numeric";
+    }
+    if (!matchesStructure(iban, STRUCTURES[country])) {
+      return "Account number does not match the format of the country";
+    }
+    if (mod97(iban) != 1) {
+      return "Invalid check digits";
+    }
+    return null;
+  }
+
+  private static boolean matchesStructure(CharSequence iban, String structure) {
+    int position = 4;
+    if (structure == null) {
+      for (; position < iban.length(); position++) {
+        if (!isAlphanumeric(iban.charAt(position))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    int count = 0;
+    for (int i = 0; i < structure.length(); i++) {
+      char c = structure.charAt(i);
+      if (isDigit(c)) {
+        count = count * 10 + c - '0';
+        continue;
+      }
+      for (int end = position + count; position < end; position++) {
+        char value = iban.charAt(position);
+        boolean valid = c == 'n' ? isDigit(value) : c == 'a' ? upper(value) >= 'A' && upper(value) <= 'Z' : isAlphanumeric(value);
+        if (!valid) {
+          return false;
+        }
+      }
+      count = 0;
+    }
+    return position == iban.length();
+  }
+
+  /**
+   * computes the remainder of the rearranged IBAN, the first four characters moved to the end and letters replaced
+   * by 10 to 35, without creating the large number. Requires the characters to be letters or digits.
+   */
+  static int mod97(CharSequence iban) {
+    int length = iban.length();
+    long remainder = 0;
+    for (int i = 0; i < length; i++) {
+      int value = upper(iban.charAt(i < length - 4 ? i + 4 : i - length + 4));
+      remainder = value <= '9' ? remainder * 10 + value - '0' : remainder * 100 + value - 'A' + 10;
+      // reduce only when the next step could overflow, instead of dividing for every character
+      if (remainder >= MOD_THRESHOLD) {
+        remainder %= 97;
+      }
+    }
+    return (int) (remainder % 97);
+  }
+
+  private static int upper(char c) {
+    return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isAlphanumeric(char c) {
+    return isDigit(c) || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.EpcPayloadWriter;
+import de.muehlencord.epcqr.bulk.PaymentRecord;
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * checks a payment against all rules of the EPC guidelines without generating a code. In contrast to the setters
+ * of {@link EpcBuilder}, which stop at the first invalid value, all violations are collected into a
+ * {@link ValidationReport}. No exception is thrown for invalid payments, so large batches can be checked in
+ * advance at low cost, see {@link de.muehlencord.epcqr.bulk.BulkValidator}.
+ * <p>
+ * Instances are immutable and thread safe.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class PaymentValidator {
+
+  /**
+   * the maximum size of the encoded payload allowed by the EPC guidelines
+   */
+  public static final int MAX_PAYLOAD_BYTES = 331;
+
+  private static final int MAX_RECIPIENT = 70;
+  private static final int MAX_IBAN = 34;
+  private static final int MAX_PURPOSE_TEXT = 140;
+  private static final int MAX_NOTE = 70;
+  private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+  private static final BigDecimal MAX_AMOUNT = new BigDecimal("999999999.99");
+
+  private static final ThreadLocal<EpcPayloadWriter> WRITER = ThreadLocal.withInitial(EpcPayloadWriter::new);
+
+  /**
+   * whether IBAN and BIC are checked for country specific length, format and check digits
+   */
+  private final boolean accountValidation;
+
+  /**
+   * the encoding records are checked for
+   */
+  private final Encoding encoding;
+
+  /**
+   * whether each record is checked for the most compact encoding, see {@link Encoding#compact(Encoding,
+   * CharSequence...)}
+   */
+  private final boolean automaticEncoding;
+
+  /**
+   * the version records are checked for
+   */
+  private final Version version;
+
+  /**
+   * create a new validator for records, checking version 002 payloads in UTF-8. As for {@link EpcBuilder}, IBAN and
+   * BIC are only checked in detail if enabled by {@link #withAccountValidation(boolean)}.
+   */
+  public PaymentValidator() {
+    this(false, Encoding.UTF_8, false, Version.V002);
+  }
+
+  private PaymentValidator(boolean accountValidation, Encoding encoding, boolean automaticEncoding,
+    Version version) {
+    this.accountValidation = accountValidation;
+    this.encoding = encoding;
+    this.automaticEncoding = automaticEncoding;
+    this.version = version;
+  }
+
+  /* *** builder *** */
+
+  /**
+   * defines whether IBAN and BIC of records are checked in detail, see {@link IbanValidator} and
+   * {@link BicValidator}.
+   *
+   * @param accountValidation true to check IBAN and BIC
+   * @return a new validator using the given setting
+   */
+  public PaymentValidator withAccountValidation(boolean accountValidation) {
+    return new PaymentValidator(accountValidation, encoding, automaticEncoding, version);
+  }
+
+  /**
+   * sets the encoding records are checked for.
+   *
+   * @param encoding the encoding the payload will use
+   * @return a new validator using the given encoding
+   * @throws EpcException if the encoding is null
+   */
+  public PaymentValidator withEncoding(Encoding encoding) throws EpcException {
+    if (encoding == null) {
+      throw new EpcException("Encoding must not be null");
+    }
+    return new PaymentValidator(accountValidation, encoding, automaticEncoding, version);
+  }
+
+  /**
+   * checks each record for the most compact encoding which can represent its fields instead of the configured
+   * encoding, the same as {@link EpcBuilder#withAutomaticEncoding(boolean)}.
+   *
+   * @param automaticEncoding true to select the encoding per record
+   * @return a new validator using the given setting
+   */
+  public PaymentValidator withAutomaticEncoding(boolean automaticEncoding) {
+    return new PaymentValidator(accountValidation, encoding, automaticEncoding, version);
+  }
+
+  /**
+   * sets the version records are checked for.
+   *
+   * @param version the version the payload will use
+   * @return a new validator using the given version
+   * @throws EpcException if the version is null
+   */
+  public PaymentValidator withVersion(Version version) throws EpcException {
+    if (version == null) {
+      throw new EpcException("Version must not be null");
+    }
+    return new PaymentValidator(accountValidation, encoding, automaticEncoding, version);
+  }
+
+  /* *** validation *** */
+
+  /**
+   * validate a record as read from a batch, using the settings of this validator.
+   *
+   * @param paymentRecord the record to validate
+   * @return the report, holding the line number of the record
+   */
+  public ValidationReport validate(PaymentRecord paymentRecord) {
+    if (paymentRecord.isMalformed()) {
+      return new ValidationReport(paymentRecord.getLineNumber(),
+        List.of(new Violation(ViolationCode.MALFORMED_RECORD, "record", paymentRecord.getError())));
+    }
+    List<Violation> violations = new ArrayList<>(0);
+    String bic = paymentRecord.getBic();
+    // spaces are removed from the IBAN the same way EpcBuilder#withIban does
+    String iban = paymentRecord.getIban() == null ? null : paymentRecord.getIban().trim().replace(" ", "");
+    Encoding encoding = automaticEncoding
+      ? Encoding.compact(this.encoding, bic, paymentRecord.getRecipient(), iban, paymentRecord.getPurposeText())
+      : this.encoding;
+    checkPayee(violations, version, encoding, accountValidation, bic, paymentRecord.getRecipient(), iban,
+      Currency.EUR);
+    BigDecimal amount = parseAmount(violations, paymentRecord.getAmount());
+    checkPayment(violations, encoding, amount, paymentRecord.getPurposeText(), null);
+
+    if (violations.isEmpty()) {
+      try {
+        EpcBuilder builder = new EpcBuilder()
+          .withVersion(version)
+          .withEncoding(encoding)
+          .withRecipient(paymentRecord.getRecipient())
+          .withIban(iban)
+          .withPaymentAmount(amount)
+          .withPurposeText(paymentRecord.getPurposeText());
+        if (bic != null && !bic.isEmpty()) {
+          builder.withBic(bic);
+        }
+        checkPayloadSize(violations, builder);
+      } catch (EpcException ex) {
+        // not expected, all values have been checked above
+        violations.add(new Violation(ViolationCode.PAYLOAD_TOO_LARGE, "payload", ex.getMessage()));
+      }
+    }
+    return new ValidationReport(paymentRecord.getLineNumber(), violations.isEmpty() ? null : violations);
+  }
+
+  /**
+   * validate the current state of a builder, using its version, encoding and account validation setting.
+   *
+   * @param builder the builder to validate
+   * @return the report, line number is 0
+   */
+  public static ValidationReport validate(EpcBuilder builder) {
+    List<Violation> violations = new ArrayList<>(0);
+    // resolved once, automatic encoding checks all fields on each call
+    Encoding encoding = builder.getEncoding();
+    checkPayee(violations, builder.getVersion(), encoding, builder.isAccountValidation(),
+      builder.getBic(), builder.getRecipient(), builder.getIban(), builder.getCurrency());
+    BigDecimal amount = builder.getPaymentAmount();
+    if (amount == null) {
+      violations.add(new Violation(ViolationCode.AMOUNT_MISSING, "amount", "amount is missing"));
+    } else {
+      checkAmountRange(violations, amount);
+    }
+    checkPayment(violations, encoding, amount, builder.getPurposeText(), builder.getNote());
+
+    if (violations.isEmpty()) {
+      checkPayloadSize(violations, builder);
+    }
+    return new ValidationReport(0, violations.isEmpty() ? null : violations);
+  }
+
+  private static void checkPayee(List<Violation> violations, Version version, Encoding encoding,
+    boolean accountValidation, String bic, String recipient, String iban, Currency currency) {
+    boolean bicSet = bic != null && !bic.isEmpty();
+    if (!bicSet && Version.V001.equals(version)) {
+      violations.add(new Violation(ViolationCode.BIC_REQUIRED, "bic", "BIC must be set when using Version 001"));
+    } else if (bicSet && accountValidation) {
+      String problem = BicValidator.problem(bic);
+      if (problem != null) {
+        violations.add(new Violation(ViolationCode.BIC_INVALID, "bic", String.format("BIC %s not valid. %s", bic, problem)));
+      }
+    }
+
+    if (recipient == null || recipient.isEmpty()) {
+      violations.add(new Violation(ViolationCode.RECIPIENT_MISSING, "recipient", "recipient is missing"));
+    } else if (recipient.length() > MAX_RECIPIENT) {
+      violations.add(new Violation(ViolationCode.RECIPIENT_TOO_LONG, "recipient",
+        String.format("recipient has %s characters, maximum is %s", recipient.length(), MAX_RECIPIENT)));
+    } else {
+      checkMappable(violations, encoding, "recipient", recipient);
+    }
+
+    if (iban == null || iban.isEmpty()) {
+      violations.add(new Violation(ViolationCode.IBAN_MISSING, "iban", "IBAN is missing"));
+    } else if (iban.length() > MAX_IBAN) {
+      violations.add(new Violation(ViolationCode.IBAN_TOO_LONG, "iban",
+        String.format("IBAN has %s characters, maximum is %s", iban.length(), MAX_IBAN)));
+    } else if (accountValidation) {
+      String problem = IbanValidator.problem(iban);
+      if (problem != null) {
+        violations.add(new Violation(ViolationCode.IBAN_INVALID, "iban", String.format("IBAN %s not valid. %s", iban, problem)));
+      }
+    }
+
+    if (currency == null) {
+      violations.add(new Violation(ViolationCode.CURRENCY_MISSING, "currency", "currency is missing"));
+    }
+  }
+
+  private static void checkPayment(List<Violation> violations, Encoding encoding, BigDecimal amount,
+    String purposeText, String note) {
+    if (purposeText == null || purposeText.isEmpty()) {
+      violations.add(new Violation(ViolationCode.PURPOSE_TEXT_MISSING, "purposeText", "purpose text is missing"));
+    } else if (purposeText.length() > MAX_PURPOSE_TEXT) {
+      violations.add(new Violation(ViolationCode.PURPOSE_TEXT_TOO_LONG, "purposeText",
+        String.format("purpose text has %s characters, maximum is %s", purposeText.length(), MAX_PURPOSE_TEXT)));
+    } else {
+      checkMappable(violations, encoding, "purposeText", purposeText);
+    }
+
+    if (note != null) {
+      if (note.isEmpty()) {
+        violations.add(new Violation(ViolationCode.NOTE_EMPTY, "note", "note must not be empty"));
+      } else if (note.length() > MAX_NOTE) {
+        violations.add(new Violation(ViolationCode.NOTE_TOO_LONG, "note",
+          String.format("note has %s characters, maximum is %s", note.length(), MAX_NOTE)));
+      } else {
+        checkMappable(violations, encoding, "note", note);
+      }
+    }
+  }
+
+  /**
+   * parse the amount of a record. The syntax is checked up front, so invalid amounts do not cause a
+   * NumberFormatException.
+   */
+  private static BigDecimal parseAmount(List<Violation> violations, String amount) {
+    if (amount == null || amount.isEmpty()) {
+      violations.add(new Violation(ViolationCode.AMOUNT_MISSING, "amount", "amount is missing"));
+      return null;
+    }
+    int start = amount.charAt(0) == '-' || amount.charAt(0) == '+' ? 1 : 0;
+    int digits = 0;
+    boolean separator = false;
+    for (int i = start; i < amount.length(); i++) {
+      char c = amount.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits++;
+      } else if (c == '.' && !separator) {
+        separator = true;
+      } else {
+        digits = -1;
+        break;
+      }
+    }
+    if (digits <= 0) {
+      violations.add(new Violation(ViolationCode.AMOUNT_INVALID, "amount",
+        String.format("amount %s is not a valid number", amount)));
+      return null;
+    }
+    BigDecimal value = new BigDecimal(amount);
+    checkAmountRange(violations, value);
+    return value;
+  }
+
+  private static void checkAmountRange(List<Violation> violations, BigDecimal amount) {
+    BigDecimal rounded = amount.setScale(2, RoundingMode.HALF_EVEN);
+    if (rounded.compareTo(MIN_AMOUNT) < 0 || rounded.compareTo(MAX_AMOUNT) > 0) {
+      violations.add(new Violation(ViolationCode.AMOUNT_OUT_OF_RANGE, "amount",
+        String.format("amount %s is not between %s and %s", amount.toPlainString(), MIN_AMOUNT, MAX_AMOUNT)));
+    }
+  }
+
+  private static void checkMappable(List<Violation> violations, Encoding encoding, String field, String value) {
+    if (encoding.canEncode(value)) {
+      return;
+    }
+    violations.add(new Violation(ViolationCode.UNMAPPABLE_CHARACTER, field,
+      String.format("%s contains characters not supported by %s", field, encoding.getCharset().name())));
+  }
+
+  private static void checkPayloadSize(List<Violation> violations, EpcBuilder builder) {
+    try {
+      // the writer enforces MAX_PAYLOAD_BYTES
+      WRITER.get().write(builder);
+    } catch (EpcException ex) {
+      violations.add(new Violation(ViolationCode.PAYLOAD_TOO_LARGE, "payload", ex.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * all violations of one payment, see {@link PaymentValidator}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class ValidationReport {
+
+  /**
+   * the line number of the record in the input, 0 if the payment was not read from an input
+   */
+  private final long lineNumber;
+
+  /**
+   * the violations in the order the fields appear in the payload, empty if the payment is valid
+   */
+  private final List<Violation> violations;
+
+  ValidationReport(long lineNumber, List<Violation> violations) {
+    this.lineNumber = lineNumber;
+    this.violations = violations == null ? Collections.emptyList() : Collections.unmodifiableList(violations);
+  }
+
+  /**
+   * @return true, if the payment has no violations
+   */
+  public boolean isValid() {
+    return violations.isEmpty();
+  }
+
+  /**
+   * @param code the rule to look for
+   * @return true, if the payment violates the given rule
+   */
+  public boolean hasViolation(ViolationCode code) {
+    for (Violation violation : violations) {
+      if (violation.getCode() == code) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "line " + lineNumber + ": " + (isValid() ? "valid" : violations.toString());
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import lombok.Getter;
+
+/**
+ * a rule violated by a payment.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+@Getter
+public final class Violation {
+
+  /**
+   * the violated rule
+   */
+  private final ViolationCode code;
+
+  /**
+   * the name of the violating field, e.g. recipient, or payload for the payload size
+   */
+  private final String field;
+
+  /**
+   * a description for humans, with the offending value where helpful
+   */
+  private final String message;
+
+  Violation(ViolationCode code, String field, String message) {
+    this.code = code;
+    this.field = field;
+    this.message = message;
+  }
+
+  @Override
+  public String toString() {
+    return code + " (" + field + "): " + message;
+  }
+}
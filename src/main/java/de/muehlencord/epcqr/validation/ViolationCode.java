@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+/**
+ * the rules a payment can violate, see {@link PaymentValidator}.
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+public enum ViolationCode {
+
+  /**
+   * the line of the record could not be read, e.g. it has a wrong number of columns
+   */
+  MALFORMED_RECORD,
+  /**
+   * the recipient is missing or empty
+   */
+  RECIPIENT_MISSING,
+  /**
+   * the recipient has more than 70 characters
+   */
+  RECIPIENT_TOO_LONG,
+  /**
+   * the IBAN is missing or empty
+   */
+  IBAN_MISSING,
+  /**
+   * the IBAN has more than 34 characters
+   */
+  IBAN_TOO_LONG,
+  /**
+   * the IBAN has not the length or format of its country or invalid check digits, only checked with account
+   * validation
+   */
+  IBAN_INVALID,
+  /**
+   * the BIC is missing, but required by version 001
+   */
+  BIC_REQUIRED,
+  /**
+   * the BIC has no valid structure, only checked with account validation
+   */
+  BIC_INVALID,
+  /**
+   * the currency is missing
+   */
+  CURRENCY_MISSING,
+  /**
+   * the amount is missing
+   */
+  AMOUNT_MISSING,
+  /**
+   * the amount is not a decimal number
+   */
+  AMOUNT_INVALID,
+  /**
+   * the amount is less than 0.01 or more than 999999999.99
+   */
+  AMOUNT_OUT_OF_RANGE,
+  /**
+   * the purpose text is missing or empty
+   */
+  PURPOSE_TEXT_MISSING,
+  /**
+   * the purpose text has more than 140 characters
+   */
+  PURPOSE_TEXT_TOO_LONG,
+  /**
+   * the note is empty, it must be missing or have 1 to 70 characters
+   */
+  NOTE_EMPTY,
+  /**
+   * the note has more than 70 characters
+   */
+  NOTE_TOO_LONG,
+  /**
+   * a text contains characters the encoding cannot represent, they would be replaced by '?'
+   */
+  UNMAPPABLE_CHARACTER,
+  /**
+   * the encoded payload exceeds 331 bytes
+   */
+  PAYLOAD_TOO_LARGE
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test asynchronous generation
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class AsyncGenerationTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  /**
+   * generator blocking until it is interrupted.
+   */
+  private static QrCodeGenerator<String> blocking(CountDownLatch started, CountDownLatch interrupted) {
+    return builder -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException ex) {
+        interrupted.countDown();
+      }
+      return "late";
+    };
+  }
+
+  @Test
+  void testSameOutput() throws Exception {
+    Base64ImageGenerator generator = new Base64ImageGenerator();
+    assertThat(generator.generateAsync(builder()).get(10, TimeUnit.SECONDS)).isEqualTo(generator.generate(builder()));
+  }
+
+  @Test
+  void testFailure() {
+    CompletableFuture<String> future = new Base64ImageGenerator().generateAsync(new EpcBuilder());
+    assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(EpcException.class);
+  }
+
+  @Test
+  void testCancelInterrupts() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<String> future = blocking(started, interrupted).generateAsync(builder());
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    future.cancel(true);
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(future).isCancelled();
+  }
+
+  @Test
+  void testTimeoutInterrupts() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    CompletableFuture<String> future = blocking(started, interrupted).generateAsync(builder())
+      .orTimeout(50, TimeUnit.MILLISECONDS);
+
+    assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+    assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void testCancelBeforeStartSkips() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch interrupted = new CountDownLatch(1);
+      CompletableFuture<String> running = blocking(started, interrupted).generateAsync(builder(), executor);
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+      AtomicBoolean called = new AtomicBoolean();
+      QrCodeGenerator<String> queued = builder -> {
+        called.set(true);
+        return "queued";
+      };
+      CompletableFuture<String> future = queued.generateAsync(builder(), executor);
+      future.cancel(true);
+      running.cancel(true);
+      executor.shutdown();
+
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(called).isFalse();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test base64 image generator
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class Base64ImageGeneratorTest {
+
+  private static final int THREADS = 16;
+  private static final int ITERATIONS = 100;
+
+  private static EpcBuilder builder(Encoding encoding) throws EpcException {
+    String recipient;
+    switch (encoding) {
+      case ISO_8859_5:
+        recipient = "Иван Иванов";
+        break;
+      case ISO_8859_7:
+        recipient = "Γιώργος Παπαδόπουλος";
+        break;
+      default:
+        recipient = "Jörg Müller";
+    }
+    return new EpcBuilder()
+      .withEncoding(encoding)
+      .withRecipient(recipient)
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(12.34D)
+      .withPurposeText("Test " + encoding.name());
+  }
+
+  @Test
+  void testWithReturnsNewInstance() {
+    Base64ImageGenerator generator = new Base64ImageGenerator();
+    Base64ImageGenerator resized = generator.withWidth(150).withHeight(200);
+
+    assertThat(generator.getWidth()).isEqualTo(300);
+    assertThat(generator.getHeight()).isEqualTo(300);
+    assertThat(resized.getWidth()).isEqualTo(150);
+    assertThat(resized.getHeight()).isEqualTo(200);
+  }
+
+  @Test
+  void testGenerateAll() throws EpcException {
+    Base64ImageGenerator generator = new Base64ImageGenerator().withWidth(150).withHeight(150);
+    List<EpcBuilder> builders = new ArrayList<>();
+    for (Encoding encoding : Encoding.values()) {
+      builders.add(builder(encoding));
+    }
+    // incomplete builder, must not abort the batch
+    builders.add(3, new EpcBuilder().withRecipient("Max Mustermann"));
+
+    List<GenerationResult<String>> results = generator.generateAll(builders, 4);
+
+    assertThat(results).hasSize(builders.size());
+    for (int i = 0; i < results.size(); i++) {
+      GenerationResult<String> result = results.get(i);
+      assertThat(result.getIndex()).isEqualTo(i);
+      assertThat(result.getBuilder()).isSameAs(builders.get(i));
+      if (i == 3) {
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getError()).isNotNull();
+      } else {
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getValue()).isEqualTo(generator.generate(builders.get(i)));
+      }
+    }
+  }
+
+  @Test
+  void testGenerateAllRejected() throws EpcException {
+    Base64ImageGenerator generator = new Base64ImageGenerator().withWidth(150).withHeight(150);
+    List<EpcBuilder> builders = List.of(builder(Encoding.UTF_8), builder(Encoding.ISO_8859_1),
+      builder(Encoding.ISO_8859_2));
+    AtomicInteger submitted = new AtomicInteger();
+    // accepts the first two tasks only, like a saturated bounded pool
+    Executor executor = command -> {
+      if (submitted.getAndIncrement() >= 2) {
+        throw new RejectedExecutionException("queue full");
+      }
+      command.run();
+    };
+
+    List<GenerationResult<String>> results = generator.generateAll(builders, executor);
+
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).isSuccess()).isTrue();
+    assertThat(results.get(1).isSuccess()).isTrue();
+    assertThat(results.get(2).isSuccess()).isFalse();
+    assertThat(results.get(2).getIndex()).isEqualTo(2);
+    assertThat(results.get(2).getBuilder()).isSameAs(builders.get(2));
+    assertThat(results.get(2).getError()).hasMessageContaining("queue full");
+  }
+
+  @Test
+  void testSharedInstance() throws Exception {
+    Base64ImageGenerator generator = new Base64ImageGenerator().withWidth(200).withHeight(200);
+
+    // reference output rendered sequentially
+    Map<Encoding, String> expected = new EnumMap<>(Encoding.class);
+    for (Encoding encoding : Encoding.values()) {
+      expected.put(encoding, generator.generate(builder(encoding)));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int offset = thread;
+        Callable<Integer> task = () -> {
+          int verified = 0;
+          for (int i = 0; i < ITERATIONS; i++) {
+            Encoding encoding = Encoding.values()[(offset + i) % Encoding.values().length];
+            assertThat(generator.generate(builder(encoding))).isEqualTo(expected.get(encoding));
+            verified++;
+          }
+          return verified;
+        };
+        results.add(executor.submit(task));
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isEqualTo(ITERATIONS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
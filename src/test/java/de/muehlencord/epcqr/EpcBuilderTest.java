@@ -18,14 +18,19 @@
 package de.muehlencord.epcqr;
 
 import com.google.zxing.WriterException;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.validation.Violation;
+import de.muehlencord.epcqr.validation.ViolationCode;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -82,4 +87,87 @@ class EpcBuilderTest {
     assertTrue (Paths.get(fileName).toFile().exists());
   }
 
+  @Test
+  void testPayloadLimit() throws EpcException {
+    // 70 + 140 characters, 420 bytes in UTF-8
+    var builder = new EpcBuilder()
+      .withRecipient("ä".repeat(70))
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(1.23D)
+      .withPurposeText("ü".repeat(140));
+
+    assertThatThrownBy(builder::build).isInstanceOf(EpcException.class).hasMessageContaining("maximum is 331");
+    assertThatThrownBy(builder::toPayment).isInstanceOf(EpcException.class);
+    assertThatThrownBy(() -> new Base64ImageGenerator().generate(builder)).isInstanceOf(EpcException.class);
+
+    // one byte per character, the payload has exactly 331 bytes
+    builder.withAutomaticEncoding(true).withNote("ö".repeat(70));
+    assertThat(builder.getEncoding()).isEqualTo(Encoding.ISO_8859_1);
+    assertThat(builder.build()).startsWith("BCD\n002\n2\n");
+    assertThat(builder.toPayment().getPayloadLength()).isEqualTo(331);
+  }
+
+  @Test
+  void testSameRulesAsValidator() throws EpcException {
+    var builder = new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withEncoding(Encoding.ISO_8859_1)
+      .withPaymentAmount(BigDecimal.ZERO)
+      .withPurposeText("Rechnung 5 €");
+    assertThat(builder.validateAll().getViolations()).extracting(Violation::getCode)
+      .containsExactlyInAnyOrder(ViolationCode.AMOUNT_OUT_OF_RANGE, ViolationCode.UNMAPPABLE_CHARACTER);
+    assertThatThrownBy(builder::build).isInstanceOf(EpcException.class).hasMessageContaining("paymentAmount");
+    assertThatThrownBy(() -> new Base64ImageGenerator().generate(builder)).isInstanceOf(EpcException.class);
+
+    builder.withPaymentAmount(new BigDecimal("5"));
+    assertThatThrownBy(builder::build).isInstanceOf(EpcException.class).hasMessageContaining("purposeText");
+    assertThatThrownBy(builder::toPayment).isInstanceOf(EpcException.class);
+    assertThat(builder.withAutomaticEncoding(true).build()).contains("Rechnung 5 €");
+    assertThat(builder.validateAll().isValid()).isTrue();
+
+    builder.withPaymentAmount(new BigDecimal("999999999.994"));
+    assertThat(builder.build()).contains("EUR999999999.99");
+    builder.withPaymentAmount(new BigDecimal("999999999.995"));
+    assertThatThrownBy(builder::build).isInstanceOf(EpcException.class).hasMessageContaining("paymentAmount");
+    builder.withPaymentAmount(new BigDecimal("0.005"));
+    assertThatThrownBy(builder::build).isInstanceOf(EpcException.class).hasMessageContaining("paymentAmount");
+  }
+
+  @Test
+  void testAutomaticEncoding() throws EpcException {
+    var builder = new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test")
+      .withAutomaticEncoding(true);
+    assertThat(builder.getEncoding()).isEqualTo(Encoding.UTF_8);
+
+    assertThat(builder.withRecipient("Jörg Müller").getEncoding()).isEqualTo(Encoding.ISO_8859_1);
+    assertThat(builder.withPurposeText("Rechnung über 48,81 €").getEncoding()).isEqualTo(Encoding.ISO_8859_15);
+    assertThat(builder.withRecipient("Αθηνά").withPurposeText("Test").getEncoding()).isEqualTo(Encoding.ISO_8859_7);
+    assertThat(builder.withNote("Москва").getEncoding()).isEqualTo(Encoding.UTF_8);
+
+    // a single byte encoding which can represent all fields is kept
+    builder = new EpcBuilder()
+      .withRecipient("Łukasz Wójcik")
+      .withEncoding(Encoding.ISO_8859_2)
+      .withAutomaticEncoding(true);
+    assertThat(builder.getEncoding()).isEqualTo(Encoding.ISO_8859_2);
+    assertThat(builder.withAutomaticEncoding(false).withRecipient("Αθηνά").getEncoding())
+      .isEqualTo(Encoding.ISO_8859_2);
+  }
+
+  @Test
+  void testAutomaticEncodingSmallerSymbol() throws EpcException {
+    var builder = new EpcBuilder()
+      .withRecipient("Jürgen Müller-Lüdenscheidt")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Überweisung für Gebühren, Lieferung nach Köln, Düsseldorf und Großräschen");
+    QrMatrix utf8 = QrMatrix.encode(builder, QrOptions.DEFAULT);
+    QrMatrix compact = QrMatrix.encode(builder.withAutomaticEncoding(true), QrOptions.DEFAULT);
+    assertThat(compact.getVersion()).isLessThan(utf8.getVersion());
+  }
 }
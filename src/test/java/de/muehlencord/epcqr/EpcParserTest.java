@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test parsing of scanned payloads
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class EpcParserTest {
+
+  @Test
+  void testRoundTrip() throws EpcException {
+    EpcBuilder builder = new EpcBuilder()
+      .withVersion(Version.V001)
+      .withEncoding(Encoding.ISO_8859_1)
+      .withBic("BUKBGB22")
+      .withRecipient("Jörg Müller")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(new BigDecimal("48.8"))
+      .withPurposeText("Rechnung 4711")
+      .withNote("Danke");
+
+    byte[] bytes = builder.build().getBytes(StandardCharsets.ISO_8859_1);
+    for (ParsedPayment payment : new ParsedPayment[]{EpcParser.parse(builder.build()), EpcParser.parse(bytes)}) {
+      assertThat(payment.getVersion()).isEqualTo(Version.V001);
+      assertThat(payment.getEncoding()).isEqualTo(Encoding.ISO_8859_1);
+      assertThat(payment.getBic()).isEqualTo("BUKBGB22");
+      assertThat(payment.getRecipient()).isEqualTo("Jörg Müller");
+      assertThat(payment.getIban()).isEqualTo("GB33BUKB20201555555555");
+      assertThat(payment.getCurrency()).isEqualTo(Currency.EUR);
+      assertThat(payment.getAmount()).isEqualTo(new BigDecimal("48.8"));
+      assertThat(payment.getPurposeCode()).isNull();
+      assertThat(payment.getStructuredReference()).isNull();
+      assertThat(payment.getPurposeText()).isEqualTo("Rechnung 4711");
+      assertThat(payment.getNote()).isEqualTo("Danke");
+      assertThat(payment.toBuilder().build()).isEqualTo(builder.build());
+    }
+  }
+
+  @Test
+  void testLineSeparatorsAndOmittedLines() throws EpcException {
+    ParsedPayment payment = EpcParser.parse("BCD\r\n002\r\n1\r\nSCT\r\n\r\nMax Mustermann\r\nGB33BUKB20201555555555");
+    assertThat(payment.getBic()).isNull();
+    assertThat(payment.getAmount()).isNull();
+    assertThat(payment.getCurrency()).isNull();
+    assertThat(payment.getNote()).isNull();
+
+    payment = EpcParser.parse("BCD\n002\n1\nSCT\n\nMax\nGB33BUKB20201555555555\nEUR1000\nGDDS\nRF18539007547034\n\n");
+    assertThat(payment.getAmount()).isEqualTo(new BigDecimal("1000"));
+    assertThat(payment.getPurposeCode()).isEqualTo("GDDS");
+    assertThat(payment.getStructuredReference()).isEqualTo("RF18539007547034");
+    assertThat(payment.getPurposeText()).isNull();
+  }
+
+  @Test
+  void testUtf8Bytes() throws EpcException {
+    byte[] bytes = "BCD\n002\n1\nSCT\n\nΟλυμπία\nGR1601101250000000012300695\nEUR0.01\n\n\nΑθήνα"
+      .getBytes(StandardCharsets.UTF_8);
+    ParsedPayment payment = EpcParser.parse(bytes);
+    assertThat(payment.getRecipient()).isEqualTo("Ολυμπία");
+    assertThat(payment.getPurposeText()).isEqualTo("Αθήνα");
+
+    bytes[22] = (byte) 0xFF;
+    assertThatThrownBy(() -> EpcParser.parse(bytes))
+      .hasMessage("Invalid EPC payload, line 6 (recipient): contains bytes not valid in UTF-8");
+  }
+
+  @Test
+  void testErrors() {
+    String valid = "BCD\n002\n1\nSCT\nBUKBGB22\nMax\nGB33BUKB20201555555555\nEUR12.34\n\n\nTest";
+    assertError(valid.replace("BCD", "BCX"), "line 1 (service tag): expected BCD, but is 'BCX'");
+    assertError(valid.replace("002", "003"), "line 2 (version): expected 001 or 002, but is '003'");
+    assertError(valid.replace("\n1\n", "\n7\n"), "line 3 (encoding): unsupported encoding '7'");
+    assertError(valid.replace("SCT", "INST"), "line 4 (identification): expected SCT, but is 'INST'");
+    assertError(valid.replace("002", "001").replace("BUKBGB22", ""), "line 5 (BIC): must be set when using version 001");
+    assertError(valid.replace("BUKBGB22", "BUKB"), "line 5 (BIC): must have 8 or 11 characters, but has 4");
+    assertError(valid.replace("Max", ""), "line 6 (recipient): must have 1 to 70 characters, but is empty");
+    assertError(valid.replace("Max", "M".repeat(71)), "line 6 (recipient): must have 1 to 70 characters, but has 71");
+    assertError(valid.replace("EUR12.34", "USD12.34"), "line 8 (amount): unsupported currency 'USD'");
+    assertError(valid.replace("EUR12.34", "EUR12,34"),
+      "line 8 (amount): invalid amount '12,34' at position 6, expected up to 9 digits with up to 2 decimals");
+    assertError(valid.replace("EUR12.34", "EUR12.345"),
+      "line 8 (amount): invalid amount '12.345' at position 9, expected up to 9 digits with up to 2 decimals");
+    assertError(valid.replace("EUR12.34", "EUR12."),
+      "line 8 (amount): invalid amount '12.', expected digits after the decimal point");
+    assertError(valid.replace("EUR12.34", "EUR0.00"), "line 8 (amount): amount 0.00 is not between 0.01 and 999999999.99");
+    assertError(valid.replace("EUR12.34", "EUR1000000000"),
+      "line 8 (amount): amount 1000000000 is not between 0.01 and 999999999.99");
+    assertError(valid.replace("\n\n\nTest", "\n\nRF18\nTest"),
+      "line 11 (purpose text): must be empty if a structured reference is given");
+    assertError(valid.replace("\nMax\n", "\nM\rx\n"),
+      "line 6 (recipient): carriage return without line feed at position 2");
+    assertError(valid + "\nnote\nmore", "Invalid EPC payload: more than 12 lines");
+    assertError("BCD\n002\n1\nSCT\n\nMax", "Invalid EPC payload: expected at least 7 lines up to the IBAN, but found 6");
+  }
+
+  @Test
+  void testPayloadSize() throws EpcException {
+    String payload = "BCD\n002\n1\nSCT\n\n" + "ä".repeat(70) + "\nGB33BUKB20201555555555\nEUR1\n\n\n" + "ö".repeat(140)
+      + "\n" + "ü".repeat(10);
+    assertThatThrownBy(() -> EpcParser.parse(payload)).hasMessage("Invalid EPC payload: 487 bytes, maximum is 331");
+    assertThatThrownBy(() -> EpcParser.parse(payload.getBytes(StandardCharsets.UTF_8)))
+      .hasMessage("Invalid EPC payload: 487 bytes, maximum is 331");
+
+    // one byte per character in ISO-8859-1
+    String iso = payload.replace("\n1\n", "\n2\n");
+    assertThat(EpcParser.parse(iso).getRecipient()).hasSize(70);
+    assertThat(EpcParser.parse(iso.getBytes(StandardCharsets.ISO_8859_1)).getNote()).isEqualTo("ü".repeat(10));
+  }
+
+  private static void assertError(String payload, String message) {
+    assertThatThrownBy(() -> EpcParser.parse(payload))
+      .isInstanceOf(EpcException.class)
+      .hasMessageEndingWith(message);
+  }
+}
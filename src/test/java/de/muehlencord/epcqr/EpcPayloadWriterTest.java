@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Currency;
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test payload writer
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class EpcPayloadWriterTest {
+
+  @Test
+  void testSameAsBuild() throws EpcException {
+    EpcPayloadWriter writer = new EpcPayloadWriter();
+    String[] recipients = {"Max Mustermann", "Jörg Müller €", "Иван Иванов", "Γιώργος", "Zoë 😀 Łukasz"};
+    for (Encoding encoding : Encoding.values()) {
+      for (String recipient : recipients) {
+        EpcBuilder builder = new EpcBuilder()
+          .withEncoding(encoding)
+          .withBic("BUKBGB22")
+          .withRecipient(recipient)
+          .withIban("GB33 BUKB 2020 1555 5555 55")
+          .withPaymentAmount(new BigDecimal("1234.50"))
+          .withPurposeText(" Test ")
+          .withNote("Note");
+        if (!encoding.canEncode(recipient)) {
+          assertThrows(EpcException.class, () -> writer.write(builder));
+          assertThrows(EpcException.class, builder::build);
+          continue;
+        }
+
+        int length = writer.write(builder);
+
+        assertThat(length).isEqualTo(writer.getLength());
+        assertThat(writer.toByteArray()).isEqualTo(builder.build().getBytes(encoding.getCharset()));
+        assertThat(writer.getEncoding()).isEqualTo(encoding);
+        assertThat(EpcPayloadWriter.toByteArray(builder)).isEqualTo(writer.toByteArray());
+      }
+    }
+  }
+
+  @Test
+  void testAutomaticEncoding() throws EpcException {
+    EpcBuilder builder = new EpcBuilder()
+      .withAutomaticEncoding(true)
+      .withBic("BUKBGB22")
+      .withRecipient("Jörg Müller")
+      .withIban("GB33 BUKB 2020 1555 5555 55")
+      .withPaymentAmount(new BigDecimal("1.23"))
+      .withPurposeText("Test");
+
+    EpcPayloadWriter writer = new EpcPayloadWriter();
+    writer.write(builder);
+
+    assertThat(writer.getEncoding()).isEqualTo(builder.getEncoding()).isNotEqualTo(Encoding.UTF_8);
+    assertThat(writer.toByteArray()).isEqualTo(builder.build().getBytes(writer.getEncoding().getCharset()));
+  }
+
+  @Test
+  void testIncompleteSetup() {
+    assertThrows(EpcException.class, () -> new EpcPayloadWriter().write(new EpcBuilder()));
+  }
+
+  @Test
+  void testFormatAmount() throws EpcException {
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("48.81"))).isEqualTo("EUR48.81");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("48.80"))).isEqualTo("EUR48.8");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("48"))).isEqualTo("EUR48");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("0.01"))).isEqualTo("EUR0.01");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("0.005"))).isEqualTo("EUR0");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("0.015"))).isEqualTo("EUR0.02");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("1E+3"))).isEqualTo("EUR1000");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, BigDecimal.valueOf(48.81D))).isEqualTo("EUR48.81");
+    // exceeds the precision of a double
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("9007199254740993.07")))
+      .isEqualTo("EUR9007199254740993.07");
+    assertThat(EpcPayloadWriter.formatAmount(Currency.EUR, new BigDecimal("123456789012345678901234.10")))
+      .isEqualTo("EUR123456789012345678901234.1");
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.archive.ArchiveReader;
+import de.muehlencord.epcqr.archive.ArchiveWriter;
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test the immutable payment
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class EpcPaymentTest {
+
+  @TempDir
+  Path dir;
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withEncoding(Encoding.ISO_8859_1)
+      .withRecipient("Jörg Müller")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(new BigDecimal("48.81"))
+      .withPurposeText("Invoice 4711");
+  }
+
+  @Test
+  void testPayload() throws Exception {
+    EpcBuilder builder = builder();
+    EpcPayment payment = builder.toPayment();
+
+    byte[] expected = builder.build().getBytes(StandardCharsets.ISO_8859_1);
+    assertThat(payment.getPayload()).isEqualTo(expected);
+    assertThat(payment.getPayloadLength()).isEqualTo(expected.length);
+    assertThat(payment.getSha256()).isEqualTo(MessageDigest.getInstance("SHA-256").digest(expected));
+    assertThat(payment.getSha256Hex()).isEqualTo(HexFormat.of().formatHex(payment.getSha256()));
+
+    // later changes of the builder do not affect the payment
+    builder.withPurposeText("changed");
+    assertThat(payment.getPurposeText()).isEqualTo("Invoice 4711");
+    assertThat(payment.getPayload()).isEqualTo(expected);
+    assertThat(payment.toBuilder().build()).isEqualTo(builder().build());
+  }
+
+  @Test
+  void testEquality() throws EpcException {
+    EpcPayment payment = builder().toPayment();
+    assertThat(payment).isEqualTo(builder().toPayment()).hasSameHashCodeAs(builder().toPayment());
+    assertThat(payment).isNotEqualTo(builder().withNote("note").toPayment());
+    assertThat(payment).isNotEqualTo(builder().withEncoding(Encoding.UTF_8).toPayment());
+  }
+
+  @Test
+  void testValidation() {
+    assertThatThrownBy(() -> new EpcBuilder().withRecipient("Max").toPayment())
+      .isInstanceOf(EpcException.class)
+      .hasMessage("iban must not be null");
+  }
+
+  @Test
+  void testGenerators() throws Exception {
+    EpcPayment payment = builder().toPayment();
+    RenderCache<String> cache = new RenderCache<>(10);
+    Base64ImageGenerator generator = new Base64ImageGenerator().withCache(cache);
+
+    String image = generator.generate(payment);
+    assertThat(image).isEqualTo(new Base64ImageGenerator().generate(builder()));
+    assertThat(generator.generate(builder())).isEqualTo(image);
+    assertThat(cache.getHits()).isEqualTo(1);
+
+    assertThat(new VectorImageGenerator().generate(payment)).isEqualTo(new VectorImageGenerator().generate(builder()));
+    assertThat(generator.generateAsync(payment).join()).isEqualTo(image);
+
+    List<GenerationResult<String>> results = generator.generateAllPayments(List.of(payment, payment), 2);
+    assertThat(results).hasSize(2);
+    assertThat(results.get(1).getValue()).isEqualTo(image);
+    assertThat(results.get(1).getPayment()).isSameAs(payment);
+    assertThat(results.get(1).getBuilder()).isNull();
+
+    String file = new ImageFileGenerator()
+      .withOutputDirectory(dir.toString())
+      .withFileNamePattern("{recipient}-{amount}")
+      .generate(payment);
+    assertThat(Path.of(file).getFileName().toString()).isEqualTo("J_rg_M_ller-48.81.png");
+  }
+
+  @Test
+  void testArchive() throws Exception {
+    EpcPayment payment = builder().toPayment();
+    Path segment = dir.resolve("codes.seg");
+    String key;
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      key = writer.append(payment, new ByteArrayImageGenerator());
+    }
+    try (ArchiveReader reader = ArchiveReader.open(segment)) {
+      assertThat(payment.getSha256Hex()).startsWith(key);
+      assertThat(reader.get(payment)).isNotNull().isEqualTo(reader.get(builder()));
+    }
+  }
+}
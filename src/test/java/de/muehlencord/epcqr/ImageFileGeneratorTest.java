@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.FsyncPolicy;
+import de.muehlencord.epcqr.model.ImageFormat;
+import de.muehlencord.epcqr.model.VectorFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test image file generator in single file and directory mode
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class ImageFileGeneratorTest {
+
+  @TempDir
+  Path dir;
+
+  private static EpcBuilder builder(int i) throws EpcException {
+    return new EpcBuilder()
+      .withBic("BUKBGB22")
+      .withRecipient("Max Mustermann")
+      .withIban("GB33 BUKB 2020 1555 5555 55")
+      .withPaymentAmount(new BigDecimal(i).movePointLeft(2))
+      .withPurposeText("Invoice " + i);
+  }
+
+  private List<Path> files() throws IOException {
+    try (Stream<Path> files = Files.walk(dir)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  @Test
+  void testOutputFile() throws EpcException, IOException {
+    Path file = dir.resolve("qr.png");
+    ImageFileGenerator generator = new ImageFileGenerator().withOutputFile(file.toString());
+    assertThat(generator.generate(builder(1))).isEqualTo(file.toString());
+    generator.generate(builder(2));
+    assertThat(files()).containsExactly(file);
+    assertThat(Files.size(file)).isPositive();
+  }
+
+  @Test
+  void testFileNamePattern() throws EpcException {
+    ImageFileGenerator generator = new ImageFileGenerator()
+      .withOutputDirectory(dir.toString())
+      .withFileNamePattern("{key}-{recipient}-{amount}");
+    assertThat(generator.generate(builder(4881), "inv/1"))
+      .isEqualTo(dir.resolve("inv_1-Max_Mustermann-48.81.png").toString());
+
+    String hashed = new ImageFileGenerator().withOutputDirectory(dir.toString()).generate(builder(4881));
+    assertThat(Path.of(hashed).getFileName().toString()).matches("[0-9a-f]{16}\\.png");
+    assertThat(new ImageFileGenerator().withOutputDirectory(dir.toString()).generate(builder(4881))).isEqualTo(hashed);
+  }
+
+  @Test
+  void testVectorFormat() throws EpcException, IOException {
+    ImageFileGenerator generator = new ImageFileGenerator()
+      .withOutputDirectory(dir.toString())
+      .withFileNamePattern("{key}")
+      .withVectorFormat(VectorFormat.SVG);
+    String svg = generator.generate(builder(1), "000000001");
+    assertThat(svg).isEqualTo(dir.resolve("000000001.svg").toString());
+    assertThat(Files.readString(Path.of(svg)))
+      .isEqualTo(new VectorImageGenerator().generate(builder(1)));
+
+    Path file = dir.resolve("qr.eps");
+    generator.withOutputFile(file.toString()).withVectorFormat(VectorFormat.EPS).generate(builder(2));
+    assertThat(Files.readString(file)).startsWith("%!PS-Adobe");
+
+    String png = generator.withFormat(ImageFormat.PNG).generate(builder(3), "000000003");
+    assertThat(png).endsWith("000000003.png");
+  }
+
+  @Test
+  void testInvalid() {
+    ImageFileGenerator generator = new ImageFileGenerator();
+    assertThrows(EpcException.class, () -> generator.withFileNamePattern(""));
+    assertThrows(EpcException.class, () -> generator.withFileNamePattern("a/{key}"));
+    assertThrows(EpcException.class, () -> generator.withFileNamePattern("{key"));
+    assertThrows(EpcException.class, () -> generator.withFileNamePattern("{unknown}"));
+    assertThrows(EpcException.class, () -> generator.withShardDepth(5));
+    assertThrows(EpcException.class, () -> generator.generate(builder(1), "key"));
+    assertThrows(EpcException.class, () -> generator.withOutputDirectory(dir.toString())
+      .withFileNamePattern("{key}").generate(builder(1)));
+  }
+
+  @Test
+  void testShardingAndAsync() throws Exception {
+    ExecutorService writer = Executors.newFixedThreadPool(2);
+    try {
+      ImageFileGenerator generator = new ImageFileGenerator()
+        .withOutputDirectory(dir.toString())
+        .withFileNamePattern("qr-{key}")
+        .withShardDepth(2)
+        .withFsync(FsyncPolicy.FILE_AND_DIRECTORY)
+        .withWriteExecutor(writer);
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        futures.add(generator.writeAsync(builder(i + 1), Integer.toString(i)));
+      }
+      for (CompletableFuture<String> future : futures) {
+        Path file = Path.of(future.get());
+        assertThat(dir.relativize(file).toString()).matches("[0-9a-f]{2}/[0-9a-f]{2}/qr-\\d+\\.png");
+        assertThat(Files.size(file)).isPositive();
+      }
+      List<Path> files = files();
+      assertThat(files).hasSize(200);
+      assertThat(files).noneMatch(file -> file.getFileName().toString().endsWith(".tmp"));
+    } finally {
+      writer.shutdown();
+    }
+  }
+
+  @Test
+  void testTemplate() throws EpcException {
+    ImageFileGenerator generator = new ImageFileGenerator().withOutputDirectory(dir.toString());
+    PayeeTemplate template = new PayeeTemplate(builder(1));
+    assertThat(template.generate(generator, new BigDecimal("0.01"), "Invoice 1", null))
+      .isEqualTo(generator.generate(builder(1)));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.ImageFormat;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test payee template
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class PayeeTemplateTest {
+
+  private static EpcBuilder payee(Encoding encoding, String recipient) throws EpcException {
+    return new EpcBuilder()
+      .withEncoding(encoding)
+      .withBic("BUKBGB22")
+      .withRecipient(recipient)
+      .withIban("GB33 BUKB 2020 1555 5555 55");
+  }
+
+  @Test
+  void testSameAsBuilder() throws EpcException {
+    String[] recipients = {"Max Mustermann", "Jörg Müller €", "Иван Иванов", "Γιώργος"};
+    BigDecimal[] amounts = {new BigDecimal("1234.50"), new BigDecimal("0.01"), new BigDecimal("999999999.99")};
+    for (Encoding encoding : Encoding.values()) {
+      for (String recipient : recipients) {
+        if (!encoding.canEncode(recipient)) {
+          assertThrows(EpcException.class, () -> new PayeeTemplate(payee(encoding, recipient)));
+          continue;
+        }
+        PayeeTemplate template = new PayeeTemplate(payee(encoding, recipient));
+        for (BigDecimal amount : amounts) {
+          EpcBuilder builder = payee(encoding, recipient).withPaymentAmount(amount).withPurposeText(" Miete März ");
+          if (!encoding.canEncode(" Miete März ")) {
+            assertThrows(EpcException.class, builder::build);
+            continue;
+          }
+          assertThat(template.payload(amount, " Miete März ", null))
+            .isEqualTo(builder.build().getBytes(encoding.getCharset()));
+          builder.withNote("Note");
+          assertThat(template.payload(amount, " Miete März ", "Note"))
+            .isEqualTo(builder.build().getBytes(encoding.getCharset()));
+          assertThat(template.build(amount, " Miete März ", "Note")).isEqualTo(builder.build());
+        }
+      }
+    }
+  }
+
+  @Test
+  void testGenerate() throws EpcException {
+    PayeeTemplate template = new PayeeTemplate(payee(Encoding.UTF_8, "Max Mustermann"));
+    EpcBuilder builder = payee(Encoding.UTF_8, "Max Mustermann")
+      .withPaymentAmount(new BigDecimal("48.81"))
+      .withPurposeText("Invoice 4711");
+
+    Base64ImageGenerator generator = new Base64ImageGenerator().withFormat(ImageFormat.GIF);
+    assertThat(template.generate(generator, new BigDecimal("48.81"), "Invoice 4711", null))
+      .isEqualTo(generator.generate(builder));
+    VectorImageGenerator vectorGenerator = new VectorImageGenerator();
+    assertThat(template.generate(vectorGenerator, new BigDecimal("48.81"), "Invoice 4711", null))
+      .isEqualTo(vectorGenerator.generate(builder));
+  }
+
+  @Test
+  void testValidation() throws EpcException {
+    assertThrows(EpcException.class, () -> new PayeeTemplate(new EpcBuilder().withRecipient("Max Mustermann")));
+    assertThrows(EpcException.class, () -> new PayeeTemplate(new EpcBuilder().withVersion("001")
+      .withRecipient("Max Mustermann").withIban("GB33BUKB20201555555555")));
+
+    PayeeTemplate template = new PayeeTemplate(payee(Encoding.UTF_8, "Max Mustermann"));
+    assertThrows(EpcException.class, () -> template.payload(null, "Test", null));
+    assertThrows(EpcException.class, () -> template.payload(BigDecimal.ONE, null, null));
+    assertThrows(EpcException.class, () -> template.payload(BigDecimal.ONE, "x".repeat(141), null));
+    assertThrows(EpcException.class, () -> template.generate(new Base64ImageGenerator(), BigDecimal.ONE, "Test", ""));
+    assertThrows(EpcException.class, () -> template.payload(BigDecimal.ZERO, "Test", null));
+  }
+
+  @Test
+  void testAutomaticEncoding() throws EpcException {
+    PayeeTemplate template = new PayeeTemplate(payee(Encoding.UTF_8, "Jörg Müller").withAutomaticEncoding(true));
+    assertThat(template.getEncoding()).isEqualTo(Encoding.ISO_8859_1);
+    assertThat(template.build(BigDecimal.TEN, "Rechnung 5 EUR", "Danke")).contains("Rechnung 5 EUR");
+
+    // the encoding is resolved from the payee only, characters it cannot represent are not replaced by '?'
+    assertThatThrownBy(() -> template.build(BigDecimal.TEN, "Rechnung 5 €", null))
+      .isInstanceOf(EpcException.class).hasMessageContaining("purposeText");
+    assertThatThrownBy(() -> template.payload(BigDecimal.TEN, "Rechnung", "5 €"))
+      .isInstanceOf(EpcException.class).hasMessageContaining("note");
+    assertThrows(EpcException.class,
+      () -> template.generate(new Base64ImageGenerator(), BigDecimal.TEN, "Rechnung 5 €", null));
+  }
+}
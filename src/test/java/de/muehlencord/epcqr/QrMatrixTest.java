@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.muehlencord.epcqr.metrics.GenerationMetrics;
+import de.muehlencord.epcqr.metrics.JmxGenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test module matrix
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class QrMatrixTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  @Test
+  void testEncode() throws EpcException {
+    QrMatrix matrix = QrMatrix.encode(builder(), ErrorCorrectionLevel.M);
+
+    assertThat(matrix.getErrorCorrectionLevel()).isEqualTo(ErrorCorrectionLevel.M);
+    assertThat(matrix.getSize()).isEqualTo(17 + 4 * matrix.getVersion());
+    // finder pattern in the upper left corner
+    assertThat(matrix.get(0, 0)).isTrue();
+    assertThat(matrix.get(1, 1)).isFalse();
+    assertThat(matrix.get(3, 3)).isTrue();
+  }
+
+  @Test
+  void testRenderSameAsZxing() throws Exception {
+    String content = EpcPayloadWriter.content(builder());
+    QrMatrix matrix = QrMatrix.encode(builder(), ErrorCorrectionLevel.L);
+    for (int[] size : new int[][]{{1, 1}, {150, 150}, {300, 300}, {301, 299}, {1200, 1200}}) {
+      BitMatrix expected = new MultiFormatWriter().encode(content, BarcodeFormat.QR_CODE, size[0], size[1]);
+      assertThat(matrix.render(size[0], size[1], QrMatrix.DEFAULT_QUIET_ZONE)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void testRenderModuleSize() throws EpcException {
+    QrMatrix matrix = QrMatrix.encode(builder(), ErrorCorrectionLevel.L);
+    BitMatrix image = matrix.render(3, 2);
+
+    int dimension = (matrix.getSize() + 4) * 3;
+    assertThat(image.getWidth()).isEqualTo(dimension);
+    assertThat(image.getHeight()).isEqualTo(dimension);
+    for (int y = 0; y < matrix.getSize(); y++) {
+      for (int x = 0; x < matrix.getSize(); x++) {
+        assertThat(image.get(6 + x * 3 + 2, 6 + y * 3 + 1)).isEqualTo(matrix.get(x, y));
+      }
+    }
+    assertThat(image.get(5, 5)).isFalse();
+  }
+
+  @Test
+  void testVerify() throws Exception {
+    EpcBuilder builder = builder().withRecipient("Jörg Müller").withEncoding(Encoding.ISO_8859_1);
+    for (QrOptions options : new QrOptions[]{QrOptions.DEFAULT, QrOptions.smallestSymbol().withEci(true)}) {
+      QrMatrix matrix = QrMatrix.encode(builder, options.withVerification(1));
+      byte[] payload = EpcPayloadWriter.content(builder).getBytes(StandardCharsets.ISO_8859_1);
+      matrix.verify(payload);
+
+      payload[payload.length - 2] = 'x';
+      assertThatThrownBy(() -> matrix.verify(payload))
+        .isInstanceOf(EpcException.class)
+        .hasMessageStartingWith("Failed to verify QR code");
+    }
+  }
+
+  @Test
+  void testVerificationSampling() throws Exception {
+    GenerationMetrics previous = Metrics.get();
+    JmxGenerationMetrics metrics = new JmxGenerationMetrics();
+    Metrics.install(metrics);
+    try {
+      Base64ImageGenerator generator = new Base64ImageGenerator()
+        .withOptions(QrOptions.DEFAULT.withVerification(5));
+      for (int i = 0; i < 10; i++) {
+        generator.generate(builder());
+      }
+      assertThat(metrics.getPhases().get("ENCODE").getCount()).isEqualTo(10);
+      assertThat(metrics.getPhases().get("VERIFY").getCount()).isEqualTo(2);
+
+      new Base64ImageGenerator().generate(builder());
+      assertThat(metrics.getPhases().get("VERIFY").getCount()).isEqualTo(2);
+    } finally {
+      Metrics.install(previous);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.DecoderResult;
+import com.google.zxing.qrcode.decoder.Decoder;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test symbol options
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class QrOptionsTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withEncoding(Encoding.UTF_8)
+      .withRecipient("Jörg Müller")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Miete März");
+  }
+
+  private static BitMatrix modules(QrMatrix matrix) {
+    BitMatrix bits = new BitMatrix(matrix.getSize());
+    for (int y = 0; y < matrix.getSize(); y++) {
+      for (int x = 0; x < matrix.getSize(); x++) {
+        if (matrix.get(x, y)) {
+          bits.set(x, y);
+        }
+      }
+    }
+    return bits;
+  }
+
+  @Test
+  void testValidation() {
+    assertThatThrownBy(() -> QrOptions.DEFAULT.withMargin(-1)).isInstanceOf(EpcException.class);
+    assertThatThrownBy(() -> QrOptions.DEFAULT.withVersion(41)).isInstanceOf(EpcException.class);
+    assertThatThrownBy(() -> QrOptions.DEFAULT.withErrorCorrectionLevel(null)).isInstanceOf(EpcException.class);
+    assertThatThrownBy(() -> QrMatrix.encode(builder(), QrOptions.DEFAULT.withVersion(1)))
+      .isInstanceOf(EpcException.class);
+  }
+
+  @Test
+  void testSmallestSymbol() throws EpcException {
+    QrMatrix atM = QrMatrix.encode(builder(), ErrorCorrectionLevel.M);
+    QrMatrix smallest = QrMatrix.encode(builder(), QrOptions.smallestSymbol());
+
+    assertThat(smallest.getVersion()).isEqualTo(atM.getVersion());
+    assertThat(smallest.getErrorCorrectionLevel()).isIn(ErrorCorrectionLevel.M, ErrorCorrectionLevel.Q,
+      ErrorCorrectionLevel.H);
+    // the next higher level does not fit into the chosen version
+    if (smallest.getErrorCorrectionLevel() != ErrorCorrectionLevel.H) {
+      ErrorCorrectionLevel next = ErrorCorrectionLevel.values()[smallest.getErrorCorrectionLevel().ordinal() + 1];
+      assertThat(QrMatrix.encode(builder(), next).getVersion()).isGreaterThan(smallest.getVersion());
+    }
+
+    QrMatrix fixed = QrMatrix.encode(builder(), QrOptions.smallestSymbol().withVersion(10));
+    assertThat(fixed.getVersion()).isEqualTo(10);
+    assertThat(fixed.getErrorCorrectionLevel()).isEqualTo(ErrorCorrectionLevel.H);
+  }
+
+  @Test
+  void testEci() throws Exception {
+    String payload = builder().build();
+    QrMatrix matrix = QrMatrix.encode(builder(), QrOptions.DEFAULT.withEci(true));
+
+    DecoderResult result = new Decoder().decode(modules(matrix));
+    assertThat(result.getText()).isEqualTo(payload);
+  }
+
+  @Test
+  void testGeneratorsApplyOptions() throws EpcException {
+    QrOptions options = QrOptions.DEFAULT.withErrorCorrectionLevel(ErrorCorrectionLevel.H).withMargin(0);
+    QrMatrix matrix = QrMatrix.encode(builder(), options);
+
+    ByteArrayImageGenerator generator = new ByteArrayImageGenerator().withOptions(options).withWidth(1).withHeight(1);
+    byte[] png = generator.generate(builder());
+    assertThat(png).isEqualTo(generator.render(matrix));
+    // IHDR width without quiet zone
+    assertThat(png[19]).isEqualTo((byte) matrix.getSize());
+    assertThat(new VectorImageGenerator().withOptions(options).generate(builder()))
+      .contains("viewBox=\"0 0 " + matrix.getSize() + " " + matrix.getSize() + "\"");
+  }
+
+  @Test
+  void testToString() throws EpcException {
+    assertThat(QrOptions.DEFAULT.withVerification(10).toString()).contains("verification=10");
+  }
+
+  @Test
+  void testVerificationSample() throws EpcException {
+    QrOptions options = QrOptions.DEFAULT.withVerification(3);
+    assertThat(options.nextVerification()).isTrue();
+    assertThat(options.nextVerification()).isFalse();
+    assertThat(options.nextVerification()).isFalse();
+    assertThat(options.nextVerification()).isTrue();
+
+    // counted per instance, other options are not affected
+    QrOptions other = QrOptions.DEFAULT.withVerification(3);
+    assertThat(other).isEqualTo(options);
+    assertThat(other.nextVerification()).isTrue();
+    assertThat(QrOptions.DEFAULT.nextVerification()).isFalse();
+    assertThat(QrOptions.DEFAULT.withVerification(1).nextVerification()).isTrue();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.model.ImageFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test render cache
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class RenderCacheTest {
+
+  private static RenderKey key(String data) {
+    return new RenderKey(data, 300, 300, ImageFormat.PNG, null);
+  }
+
+  @Test
+  void testGenerator() throws EpcException {
+    RenderCache<String> cache = new RenderCache<>(10);
+    Base64ImageGenerator generator = new Base64ImageGenerator().withCache(cache);
+    EpcBuilder builder = new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+
+    String first = generator.generate(builder);
+    String second = generator.generate(builder);
+    String resized = generator.withWidth(150).withHeight(150).generate(builder);
+
+    assertThat(second).isSameAs(first);
+    assertThat(resized).isNotEqualTo(first);
+    assertThat(first).isEqualTo(new Base64ImageGenerator().generate(builder));
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void testEviction() throws EpcException {
+    RenderCache<String> cache = new RenderCache<>(2);
+    cache.get(key("a"), () -> "A");
+    cache.get(key("b"), () -> "B");
+    // access a, so b is the least recently used entry
+    cache.get(key("a"), () -> "A");
+    cache.get(key("c"), () -> "C");
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+    assertThat(cache.get(key("a"), () -> "X")).isEqualTo("A");
+    assertThat(cache.get(key("b"), () -> "X")).isEqualTo("X");
+  }
+
+  @Test
+  void testFailureNotCached() throws EpcException {
+    RenderCache<String> cache = new RenderCache<>(2);
+    assertThrows(EpcException.class, () -> cache.get(key("a"), () -> {
+      throw new EpcException("failed");
+    }));
+    assertThat(cache.get(key("a"), () -> "A")).isEqualTo("A");
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void testCoalescing() throws Exception {
+    RenderCache<String> cache = new RenderCache<>(10);
+    AtomicInteger renderCount = new AtomicInteger();
+    CountDownLatch rendering = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      results.add(executor.submit(() -> cache.get(key("a"), () -> {
+        renderCount.incrementAndGet();
+        rendering.countDown();
+        awaitQuietly(release);
+        return "A";
+      })));
+      assertThat(rendering.await(10, TimeUnit.SECONDS)).isTrue();
+      for (int i = 0; i < 7; i++) {
+        results.add(executor.submit(() -> cache.get(key("a"), () -> {
+          renderCount.incrementAndGet();
+          return "A";
+        })));
+      }
+      // give the waiting threads time to reach the cache
+      Thread.sleep(200);
+      release.countDown();
+
+      for (Future<String> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("A");
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(renderCount.get()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+    assertThat(cache.getCoalesced() + cache.getHits()).isEqualTo(7);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import de.muehlencord.epcqr.metrics.JmxGenerationMetrics;
+import de.muehlencord.epcqr.metrics.Metrics;
+import de.muehlencord.epcqr.model.ImageFormat;
+import de.muehlencord.epcqr.model.StreamEncoding;
+import de.muehlencord.epcqr.model.VectorFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test writing QR codes to streams, channels and buffers
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class StreamingQrCodeGeneratorTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  @Test
+  void testEncodingsMatchGenerate() throws Exception {
+    byte[] image = new ByteArrayImageGenerator().generate(builder());
+
+    ByteArrayOutputStream raw = new ByteArrayOutputStream();
+    new Base64ImageGenerator().writeTo(builder(), raw);
+    assertThat(raw.toByteArray()).isEqualTo(image);
+
+    ByteArrayOutputStream base64 = new ByteArrayOutputStream();
+    new ByteArrayImageGenerator().writeTo(builder(), base64, StreamEncoding.BASE64);
+    assertThat(base64.toString(StandardCharsets.US_ASCII))
+      .isEqualTo(Base64.getEncoder().encodeToString(image))
+      .isEqualTo(new Base64ImageGenerator().generate(builder()));
+
+    ByteArrayOutputStream dataUri = new ByteArrayOutputStream();
+    new ByteArrayImageGenerator().writeTo(builder(), dataUri, StreamEncoding.DATA_URI);
+    assertThat(dataUri.toString(StandardCharsets.US_ASCII))
+      .isEqualTo("data:image/png;base64," + Base64.getEncoder().encodeToString(image));
+  }
+
+  @Test
+  void testStreamStaysOpen() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Base64ImageGenerator generator = new Base64ImageGenerator().withFormat(ImageFormat.GIF);
+    generator.writeTo(builder(), out, StreamEncoding.BASE64);
+    out.write(',');
+    generator.writeTo(builder(), Channels.newChannel(out), StreamEncoding.BASE64);
+
+    String gif = generator.generate(builder());
+    assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo(gif + "," + gif);
+  }
+
+  @Test
+  void testByteBuffer() throws Exception {
+    byte[] image = new ByteArrayImageGenerator().generate(builder());
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8192);
+    buffer.put((byte) 1);
+
+    int written = new ByteArrayImageGenerator().writeTo(builder(), buffer, StreamEncoding.RAW);
+    assertThat(written).isEqualTo(image.length);
+    assertThat(buffer.position()).isEqualTo(image.length + 1);
+    byte[] copy = new byte[written];
+    buffer.flip().position(1);
+    buffer.get(copy);
+    assertThat(copy).isEqualTo(image);
+
+    ByteBuffer small = ByteBuffer.allocate(16);
+    small.put((byte) 1);
+    JmxGenerationMetrics active = new JmxGenerationMetrics();
+    JmxGenerationMetrics own = new JmxGenerationMetrics();
+    Metrics.install(active);
+    try {
+      assertThatThrownBy(() -> new ByteArrayImageGenerator().withMetrics(own).writeTo(builder(), small,
+        StreamEncoding.RAW))
+        .isInstanceOf(EpcException.class)
+        .hasMessageContaining("Buffer too small, 15 bytes remaining");
+    } finally {
+      Metrics.install(null);
+    }
+    assertThat(small.position()).isEqualTo(1);
+    assertThat(own.getFailuresByPhase()).containsEntry("WRITE", 1L);
+    assertThat(active.getFailuresByPhase()).isEmpty();
+  }
+
+  @Test
+  void testVector() throws Exception {
+    VectorImageGenerator generator = new VectorImageGenerator().withFormat(VectorFormat.SVG);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    generator.writeTo(builder(), out, StreamEncoding.DATA_URI);
+
+    String svg = generator.generate(builder());
+    String expected = "data:image/svg+xml;base64,"
+      + Base64.getEncoder().encodeToString(svg.getBytes(StandardCharsets.US_ASCII));
+    assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo(expected);
+    assertThat(Arrays.copyOf(Base64.getDecoder().decode(expected.substring(26)), 4))
+      .isEqualTo("<svg".getBytes(StandardCharsets.US_ASCII));
+  }
+}
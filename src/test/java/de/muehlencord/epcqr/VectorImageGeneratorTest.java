@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr;
+
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import de.muehlencord.epcqr.model.VectorFormat;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test vector image generator
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class VectorImageGeneratorTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  @Test
+  void testSvgMatchesModules() throws Exception {
+    String svg = new VectorImageGenerator().withSize(600).generate(builder());
+    ByteMatrix modules = Encoder.encode(EpcPayloadWriter.content(builder()), ErrorCorrectionLevel.L).getMatrix();
+    int dimension = modules.getWidth() + 8;
+
+    assertThat(svg).startsWith("<svg").endsWith("</svg>")
+      .contains("width=\"600\"", "viewBox=\"0 0 " + dimension + " " + dimension + "\"");
+
+    boolean[][] dark = new boolean[dimension][dimension];
+    Matcher run = Pattern.compile("M(\\d+),(\\d+)h(\\d+)v1h-(\\d+)z").matcher(svg);
+    while (run.find()) {
+      int x = Integer.parseInt(run.group(1));
+      int y = Integer.parseInt(run.group(2));
+      int length = Integer.parseInt(run.group(3));
+      assertThat(run.group(4)).isEqualTo(run.group(3));
+      for (int i = 0; i < length; i++) {
+        dark[y][x + i] = true;
+      }
+    }
+    for (int y = 0; y < dimension; y++) {
+      for (int x = 0; x < dimension; x++) {
+        boolean inside = x >= 4 && y >= 4 && x < dimension - 4 && y < dimension - 4;
+        boolean expected = inside && modules.get(x - 4, y - 4) == 1;
+        assertThat(dark[y][x]).as("module %d,%d", x, y).isEqualTo(expected);
+      }
+    }
+    assertThat(svg.length()).isLessThan(8000);
+  }
+
+  @Test
+  void testPdf() throws EpcException {
+    String pdf = new VectorImageGenerator().withFormat(VectorFormat.PDF).generate(builder());
+
+    assertThat(pdf).startsWith("%PDF-1.4\n").endsWith("%%EOF\n").contains("/MediaBox [0 0 300 300]");
+    Matcher startXref = Pattern.compile("startxref\n(\\d+)\n").matcher(pdf);
+    assertThat(startXref.find()).isTrue();
+    int xref = Integer.parseInt(startXref.group(1));
+    assertThat(pdf.substring(xref)).startsWith("xref\n0 5\n");
+
+    Matcher entry = Pattern.compile("(\\d{10}) 00000 n").matcher(pdf.substring(xref));
+    int object = 1;
+    while (entry.find()) {
+      assertThat(pdf.substring(Integer.parseInt(entry.group(1)))).startsWith(object + " 0 obj\n");
+      object++;
+    }
+    assertThat(object).isEqualTo(5);
+  }
+
+  @Test
+  void testEps() throws EpcException {
+    String eps = new VectorImageGenerator().withFormat(VectorFormat.EPS).withSize(200).generate(builder());
+
+    assertThat(eps).startsWith("%!PS-Adobe-3.0 EPSF-3.0\n").contains("%%BoundingBox: 0 0 200 200").endsWith("%%EOF\n");
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.archive;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.PayeeTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test writing and reading archives
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class ArchiveTest {
+
+  private static final int CODES = 100_000;
+
+  /**
+   * number of distinct payments rendered, rendering 100k codes would dominate the test run time.
+   */
+  private static final int PAYMENTS = 1_000;
+
+  @TempDir
+  Path dir;
+
+  private static EpcBuilder builder(int i) throws EpcException {
+    return new EpcBuilder()
+      .withBic("BUKBGB22")
+      .withRecipient("Max Mustermann")
+      .withIban("GB33 BUKB 2020 1555 5555 55")
+      .withPaymentAmount(amount(i))
+      .withPurposeText(purpose(i));
+  }
+
+  private static BigDecimal amount(int i) {
+    return BigDecimal.valueOf(100 + i, 2);
+  }
+
+  private static String purpose(int i) {
+    return "Invoice " + i;
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  @Test
+  void testRandomReads() throws EpcException, IOException {
+    Path segment = dir.resolve("codes.seg");
+    ByteArrayImageGenerator generator = new ByteArrayImageGenerator().withWidth(66).withHeight(66);
+    PayeeTemplate template = new PayeeTemplate(builder(0));
+    byte[][] images = new byte[PAYMENTS][];
+    for (int i = 0; i < PAYMENTS; i++) {
+      images[i] = template.generate(generator, amount(i), purpose(i), null);
+    }
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      for (int i = 0; i < CODES; i++) {
+        writer.append("invoice-" + i, images[i % PAYMENTS]);
+      }
+      assertThat(writer.size()).isEqualTo(CODES);
+    }
+
+    Random random = new Random(4711);
+    try (ArchiveReader reader = ArchiveReader.open(segment)) {
+      assertThat(reader.size()).isEqualTo(CODES);
+      for (int n = 0; n < 1000; n++) {
+        int i = random.nextInt(CODES);
+        ByteBuffer image = reader.get("invoice-" + i);
+        assertThat(image.isReadOnly()).isTrue();
+        assertThat(bytes(image)).isEqualTo(generator.generate(builder(i % PAYMENTS)));
+      }
+      assertThat(reader.get("invoice-" + CODES)).isNull();
+      assertThat(reader.contains("invoice-" + CODES)).isFalse();
+    }
+  }
+
+  @Test
+  void testPayloadKeyAndTransfer() throws EpcException, IOException {
+    Path segment = dir.resolve("codes.seg");
+    ByteArrayImageGenerator generator = new ByteArrayImageGenerator();
+    String key;
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      key = writer.append(builder(1), generator);
+    }
+    // reopen and append, the later entry of a key wins
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      writer.append(builder(2), generator);
+      writer.append("replaced", new byte[] {1});
+      writer.append("replaced", new byte[] {2, 3});
+    }
+
+    Path copy = dir.resolve("copy.png");
+    try (ArchiveReader reader = ArchiveReader.open(segment);
+         FileChannel target = FileChannel.open(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      assertThat(reader.size()).isEqualTo(3);
+      assertThat(key).matches("[0-9a-f]{32}");
+      assertThat(bytes(reader.get(builder(1)))).isEqualTo(generator.generate(builder(1)));
+      assertThat(bytes(reader.get(builder(2)))).isEqualTo(generator.generate(builder(2)));
+      assertThat(bytes(reader.get("replaced"))).containsExactly(2, 3);
+      assertThat(reader.transferTo(key, target)).isTrue();
+      assertThat(reader.transferTo("missing", target)).isFalse();
+    }
+    assertThat(Files.readAllBytes(copy)).isEqualTo(generator.generate(builder(1)));
+  }
+
+  @Test
+  void testIncompleteEntries() throws EpcException, IOException {
+    Path segment = dir.resolve("codes.seg");
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      writer.append("a", new byte[] {1, 2, 3});
+      writer.append("b", new byte[] {4, 5, 6});
+    }
+    // simulate a crash: the last image and the last index entry were written partially
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 1);
+    }
+    Path index = ArchiveFormat.indexFile(segment);
+    Files.write(index, new byte[] {0, 1, 'c'}, StandardOpenOption.APPEND);
+
+    try (ArchiveReader reader = ArchiveReader.open(segment)) {
+      assertThat(reader.size()).isEqualTo(1);
+      assertThat(bytes(reader.get("a"))).containsExactly(1, 2, 3);
+      assertThat(reader.contains("b")).isFalse();
+    }
+
+    // reopening removes the torn entries, so entries appended afterwards can be read
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      writer.append("c", new byte[] {7, 8});
+    }
+    assertThat(Files.size(segment)).isEqualTo(ArchiveFormat.HEADER_SIZE + 3 + 2);
+    assertThat(Files.size(index)).isEqualTo(ArchiveFormat.HEADER_SIZE + 2 * (2 + 1 + 12));
+    try (ArchiveReader reader = ArchiveReader.open(segment)) {
+      assertThat(reader.size()).isEqualTo(2);
+      assertThat(bytes(reader.get("a"))).containsExactly(1, 2, 3);
+      assertThat(bytes(reader.get("c"))).containsExactly(7, 8);
+      assertThat(reader.contains("b")).isFalse();
+    }
+  }
+
+  @Test
+  void testWriteFailure() throws EpcException, IOException {
+    ByteArrayOutputStream segment = new ByteArrayOutputStream();
+    AtomicBoolean fail = new AtomicBoolean();
+    OutputStream index = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        if (fail.get()) {
+          throw new IOException("disk full");
+        }
+      }
+    };
+    ArchiveWriter writer = new ArchiveWriter(new DataOutputStream(segment), new DataOutputStream(index),
+      ArchiveFormat.HEADER_SIZE);
+    writer.append("a", new byte[] {1, 2, 3});
+
+    fail.set(true);
+    assertThrows(EpcException.class, () -> writer.append("b", new byte[] {4, 5, 6}));
+    fail.set(false);
+    // the image of b is already in the segment, an entry appended now would point at it
+    assertThat(segment.size()).isEqualTo(6);
+    EpcException ex = assertThrows(EpcException.class, () -> writer.append("c", new byte[] {7, 8}));
+    assertThat(ex.getMessage()).contains("must be reopened").contains("disk full");
+    assertThrows(EpcException.class, writer::flush);
+    assertThat(writer.size()).isEqualTo(1);
+    writer.close();
+  }
+
+  @Test
+  void testTransferToFullChannel() throws EpcException, IOException {
+    Path segment = dir.resolve("codes.seg");
+    try (ArchiveWriter writer = ArchiveWriter.open(segment)) {
+      writer.append("a", new byte[] {1, 2, 3});
+    }
+    // behaves like a non-blocking socket with a full send buffer
+    WritableByteChannel full = new WritableByteChannel() {
+      @Override
+      public int write(ByteBuffer src) {
+        return 0;
+      }
+
+      @Override
+      public boolean isOpen() {
+        return true;
+      }
+
+      @Override
+      public void close() {
+        // nothing to close
+      }
+    };
+    try (ArchiveReader reader = ArchiveReader.open(segment)) {
+      assertThrows(EpcException.class, () -> reader.transferTo("a", full));
+    }
+  }
+
+  @Test
+  void testInvalid() throws EpcException, IOException {
+    Path segment = dir.resolve("codes.seg");
+    Files.write(dir.resolve("other.bin"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrows(EpcException.class, () -> ArchiveReader.open(dir.resolve("other.bin")));
+    assertThrows(EpcException.class, () -> ArchiveWriter.open(dir.resolve("other.bin")));
+    assertThrows(EpcException.class, () -> ArchiveReader.open(segment));
+
+    ArchiveWriter writer = ArchiveWriter.open(segment);
+    assertThrows(EpcException.class, () -> writer.append("", new byte[1]));
+    assertThrows(EpcException.class, () -> writer.append("x".repeat(1025), new byte[1]));
+    writer.close();
+    assertThrows(EpcException.class, () -> writer.append("a", new byte[1]));
+  }
+}
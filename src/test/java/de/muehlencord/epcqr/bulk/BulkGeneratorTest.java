@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.model.Encoding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * test bulk generation
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class BulkGeneratorTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path writeInput() throws IOException {
+    Path input = tempDir.resolve("payments.csv");
+    Files.write(input, List.of(
+      "recipient;iban;bic;amount;purpose",
+      "Max Mustermann;GB33BUKB20201555555555;;48.81;Invoice 1",
+      "\"Mustermann; Erika\";GB33BUKB20201555555555;BUKBGB22;12;\"Invoice \"\"2\"\"\"",
+      "Max Mustermann;GB33BUKB20201555555555;;abc;Invoice 3",
+      "",
+      ";GB33BUKB20201555555555;;1.00;Invoice 4",
+      "Max Mustermann;GB33BUKB20201555555555;;0.01;Invoice 5",
+      "Max Mustermann;GB33BUKB20201555555555;48.81;Invoice 6",
+      "Max Mustermann;GB33BUKB20201555555555;;2.00;Invoice 7"
+    ), StandardCharsets.UTF_8);
+    return input;
+  }
+
+  @Test
+  void testToZip() throws IOException, EpcException {
+    Path zipFile = tempDir.resolve("codes.zip");
+    Path errorFile = tempDir.resolve("errors.csv");
+
+    BulkResult result = new BulkGenerator().withParallelism(2).withMaxInFlight(2)
+      .toZip(writeInput(), zipFile, errorFile);
+
+    assertThat(result.getRecords()).isEqualTo(7);
+    assertThat(result.getGenerated()).isEqualTo(4);
+    assertThat(result.getFailed()).isEqualTo(3);
+
+    List<String> entries = new ArrayList<>();
+    try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(zipFile))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        entries.add(entry.getName());
+        assertThat(zip.readAllBytes()).isNotEmpty();
+      }
+    }
+    // the malformed line 8 does not stop the run
+    assertThat(entries).containsExactlyInAnyOrder("000000002.png", "000000003.png", "000000007.png",
+      "000000009.png");
+
+    List<String> errors = Files.readAllLines(errorFile, StandardCharsets.UTF_8);
+    assertThat(errors).hasSize(4);
+    assertThat(errors.get(0)).isEqualTo("line;error");
+    assertThat(errors.subList(1, 4)).anyMatch(line -> line.startsWith("4;"));
+    assertThat(errors.subList(1, 4)).anyMatch(line -> line.startsWith("6;"));
+    assertThat(errors.subList(1, 4)).contains("8;line 8 contains 4 columns, expected 5");
+  }
+
+  @Test
+  void testToDirectory() throws IOException, EpcException {
+    Path directory = tempDir.resolve("codes");
+
+    BulkResult result = new BulkGenerator().toDirectory(writeInput(), directory, tempDir.resolve("errors.csv"));
+
+    assertThat(result.getGenerated()).isEqualTo(4);
+    assertThat(directory.resolve("000000002.png")).isRegularFile();
+    // written atomically, no temporary files are left
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString()))
+        .containsExactlyInAnyOrder("000000002.png", "000000003.png", "000000007.png", "000000009.png");
+    }
+  }
+
+  @Test
+  void testGenerate() throws IOException, EpcException {
+    Set<String> names = ConcurrentHashMap.newKeySet();
+    Set<Encoding> encodings = ConcurrentHashMap.newKeySet();
+    Set<String> failures = ConcurrentHashMap.newKeySet();
+    AtomicLong generated = new AtomicLong();
+    BulkListener listener = new BulkListener() {
+      @Override
+      public void generated(PaymentRecord paymentRecord) {
+        generated.incrementAndGet();
+      }
+
+      @Override
+      public void failed(PaymentRecord paymentRecord, Exception cause) {
+        failures.add(paymentRecord.getLineNumber() + ": " + cause.getMessage());
+      }
+    };
+
+    BulkResult result;
+    try (RecordReader records = new DelimitedRecordReader(Files.newBufferedReader(writeInput()), ';', true)) {
+      result = new BulkGenerator().withParallelism(2).withEncoding(Encoding.ISO_8859_1)
+        .generate(records, (name, builder) -> {
+          encodings.add(builder.getEncoding());
+          names.add(name);
+        }, listener);
+    }
+    assertThat(result.getRecords()).isEqualTo(7);
+    assertThat(result.getGenerated()).isEqualTo(4).isEqualTo(generated.get());
+    assertThat(names).containsExactlyInAnyOrder("000000002", "000000003", "000000007", "000000009");
+    assertThat(encodings).containsExactly(Encoding.ISO_8859_1);
+    assertThat(failures).hasSize(3).contains("8: line 8 contains 4 columns, expected 5");
+
+    try (RecordReader records = new DelimitedRecordReader(Files.newBufferedReader(writeInput()), ';', true)) {
+      BulkGenerator generator = new BulkGenerator();
+      assertThatThrownBy(() -> generator.generate(records, (name, builder) -> {
+        throw new IOException("disk full");
+      }, listener)).isInstanceOf(IOException.class).hasMessage("disk full");
+    }
+  }
+
+  @Test
+  void testFailingListener() throws IOException, EpcException {
+    Set<Long> failures = ConcurrentHashMap.newKeySet();
+    BulkListener listener = new BulkListener() {
+      @Override
+      public void generated(PaymentRecord paymentRecord) {
+        throw new IllegalStateException("listener failed");
+      }
+
+      @Override
+      public void failed(PaymentRecord paymentRecord, Exception cause) {
+        failures.add(paymentRecord.getLineNumber());
+      }
+    };
+
+    BulkResult result;
+    try (RecordReader records = new DelimitedRecordReader(Files.newBufferedReader(writeInput()), ';', true)) {
+      result = new BulkGenerator().withParallelism(2).generate(records, (name, builder) -> {
+      }, listener);
+    }
+    // a record is either generated or failed, even if the listener throws
+    assertThat(result.getGenerated()).isEqualTo(4);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(failures).hasSize(3).doesNotContain(2L, 3L, 7L, 9L);
+  }
+}
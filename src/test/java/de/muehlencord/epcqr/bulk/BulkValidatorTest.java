@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.bulk;
+
+import de.muehlencord.epcqr.validation.PaymentValidator;
+import de.muehlencord.epcqr.validation.ValidationReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test the validation only mode for batches
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class BulkValidatorTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void testReportsInInputOrder() throws Exception {
+    StringBuilder csv = new StringBuilder("recipient;iban;bic;amount;purpose\n");
+    int count = BulkValidator.CHUNK_SIZE * 2 + 17;
+    for (int i = 0; i < count; i++) {
+      boolean invalid = i % 10 == 3;
+      csv.append("Max Mustermann;GB33BUKB20201555555555;BUKBGB22;")
+        .append(invalid ? "abc" : "1.00")
+        .append(";Invoice ").append(i).append('\n');
+    }
+
+    List<ValidationReport> reports = new ArrayList<>();
+    BulkValidationResult result;
+    try (RecordReader reader = new DelimitedRecordReader(new StringReader(csv.toString()), ';', true)) {
+      result = new BulkValidator().withParallelism(4).validate(reader, reports::add);
+    }
+
+    assertThat(result.getRecords()).isEqualTo(count);
+    assertThat(result.getInvalid()).isEqualTo((count + 6) / 10);
+    assertThat(result.getValid()).isEqualTo(count - result.getInvalid());
+    assertThat(result.getViolations()).isEqualTo(result.getInvalid());
+    assertThat(reports).hasSize(count);
+    for (int i = 0; i < count; i++) {
+      assertThat(reports.get(i).getLineNumber()).isEqualTo(i + 2);
+      assertThat(reports.get(i).isValid()).isEqualTo(i % 10 != 3);
+    }
+  }
+
+  @Test
+  void testReportFile() throws Exception {
+    Path input = dir.resolve("payments.csv");
+    Files.write(input, List.of(
+      "recipient;iban;bic;amount;purpose",
+      "Max Mustermann;GB33BUKB20201555555555;BUKBGB22;48.81;Invoice 1",
+      ";GB33BUKB20201555555556;BUKBGB2;0;Invoice 2"));
+    Path reportFile = dir.resolve("report.csv");
+
+    BulkValidationResult result = new BulkValidator()
+      .withValidator(new PaymentValidator().withAccountValidation(true))
+      .validate(input, reportFile);
+
+    assertThat(result.getRecords()).isEqualTo(2);
+    assertThat(result.getInvalid()).isEqualTo(1);
+    assertThat(result.getViolations()).isEqualTo(4);
+    List<String> lines = Files.readAllLines(reportFile, StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(5);
+    assertThat(lines.get(0)).isEqualTo("line;code;field;message");
+    assertThat(lines.get(1)).startsWith("3;BIC_INVALID;bic;");
+    assertThat(lines.get(2)).isEqualTo("3;RECIPIENT_MISSING;recipient;recipient is missing");
+    assertThat(lines.get(3)).startsWith("3;IBAN_INVALID;iban;");
+    assertThat(lines.get(4)).startsWith("3;AMOUNT_OUT_OF_RANGE;amount;");
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.cli;
+
+import de.muehlencord.epcqr.archive.ArchiveReader;
+import de.muehlencord.epcqr.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test the command line tool
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class EpcQrCliTest {
+
+  @TempDir
+  Path dir;
+
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+  private int run(String... args) {
+    return EpcQrCli.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+      new PrintStream(err, true, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testCsvToDirectory() throws Exception {
+    Path input = dir.resolve("payments.csv");
+    Files.write(input, List.of(
+      "recipient;iban;bic;amount;purpose",
+      "Max Mustermann;GB33BUKB20201555555555;BUKBGB22;48.81;Invoice 1",
+      "Erika Musterfrau;GB33BUKB20201555555555;;12.00;Invoice 2",
+      "Max Mustermann;GB33BUKB20201555555555;BUKBGB22;no amount;Invoice 3",
+      "Max Mustermann;GB33BUKB20201555555555;BUKBGB22;1;Invoice 4"));
+
+    assertThat(run("--input", input.toString(), "--output", dir.resolve("codes").toString(), "--format=svg",
+      "--size", "200", "--threads", "2", "--quiet")).isEqualTo(EpcQrCli.EXIT_INVALID_RECORDS);
+
+    try (Stream<Path> files = Files.list(dir.resolve("codes"))) {
+      assertThat(files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()))
+        .containsExactly("000000002.svg", "000000003.svg", "000000005.svg");
+    }
+    assertThat(err.toString(StandardCharsets.UTF_8)).contains("line 4: amount no amount is not a valid number");
+    assertThat(out.toString(StandardCharsets.UTF_8))
+      .contains("records: 4, generated: 3, failed: 1")
+      .contains("codes/s")
+      .contains("encode   count=3");
+    assertThat(Metrics.isEnabled()).isFalse();
+  }
+
+  @Test
+  void testJsonLinesToArchive() throws Exception {
+    Path input = dir.resolve("payments.jsonl");
+    Files.write(input, List.of(
+      "{\"recipient\": \"Max Mustermann\", \"iban\": \"GB33BUKB20201555555555\", \"amount\": 48.81, \"purpose\": \"Invoice 1\"}",
+      "",
+      "{\"recipient\": \"Jörg Müller\", \"iban\": \"GB33BUKB20201555555555\", \"amount\": \"1.00\", \"purpose\": \"Invoice 2\"}"));
+    Path archive = dir.resolve("codes.seg");
+
+    assertThat(run("--input", input.toString(), "--archive", archive.toString(), "--encoding", "ISO_8859_1",
+      "--format", "gif", "--quiet")).isEqualTo(EpcQrCli.EXIT_OK);
+    try (ArchiveReader reader = ArchiveReader.open(archive)) {
+      assertThat(reader.size()).isEqualTo(2);
+      assertThat(reader.get("000000003").get(0)).isEqualTo((byte) 'G');
+    }
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThat(run("--help")).isEqualTo(EpcQrCli.EXIT_OK);
+    assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("usage:");
+    assertThat(run("--input", "x.csv")).isEqualTo(EpcQrCli.EXIT_FAILURE);
+    assertThat(run("--input", "x.csv", "--output", "a", "--archive", "b")).isEqualTo(EpcQrCli.EXIT_FAILURE);
+    assertThat(run("--input", "x.csv", "--output", "a", "--format", "webp")).isEqualTo(EpcQrCli.EXIT_FAILURE);
+    assertThat(run("--input", "x.csv", "--output", "a", "--threads", "0")).isEqualTo(EpcQrCli.EXIT_FAILURE);
+    assertThat(run("--input", "x.csv", "--output", "a", "--colour", "red")).isEqualTo(EpcQrCli.EXIT_FAILURE);
+    assertThat(run("--input", dir.resolve("missing.csv").toString(), "--output", dir.toString(), "--quiet"))
+      .isEqualTo(EpcQrCli.EXIT_FAILURE);
+  }
+
+  @Test
+  void testValidateOnly() throws Exception {
+    Path input = dir.resolve("payments.csv");
+    Files.write(input, List.of(
+      "recipient;iban;bic;amount;purpose",
+      "Max Mustermann;GB33BUKB20201555555555;BUKBGB22;48.81;Invoice 1",
+      ";GB33BUKB20201555555555;BUKBGB22;no amount;Invoice 2"));
+
+    assertThat(run("--input", input.toString(), "--validate-only")).isEqualTo(EpcQrCli.EXIT_INVALID_RECORDS);
+    assertThat(err.toString(StandardCharsets.UTF_8))
+      .contains("line 3: RECIPIENT_MISSING recipient: recipient is missing")
+      .contains("line 3: AMOUNT_INVALID amount: amount no amount is not a valid number");
+    assertThat(out.toString(StandardCharsets.UTF_8)).contains("records: 2, valid: 1, invalid: 1, violations: 2");
+    assertThat(run("--input", input.toString(), "--validate-only", "--output", "codes"))
+      .isEqualTo(EpcQrCli.EXIT_FAILURE);
+  }
+
+  @Test
+  void testAccountValidation() throws Exception {
+    Path input = dir.resolve("payments.csv");
+    Files.write(input, List.of(
+      "recipient;iban;bic;amount;purpose",
+      "Max Mustermann;GB33BUKB20201555555556;BUKBGB22;48.81;Invoice 1"));
+
+    // generation and validation use the same account validation
+    assertThat(run("--input", input.toString(), "--validate-only")).isEqualTo(EpcQrCli.EXIT_OK);
+    assertThat(run("--input", input.toString(), "--output", dir.resolve("codes").toString(), "--quiet"))
+      .isEqualTo(EpcQrCli.EXIT_OK);
+    assertThat(run("--input", input.toString(), "--validate-only", "--account-validation"))
+      .isEqualTo(EpcQrCli.EXIT_INVALID_RECORDS);
+    assertThat(err.toString(StandardCharsets.UTF_8)).contains("line 2: IBAN_INVALID iban:");
+    assertThat(run("--input", input.toString(), "--output", dir.resolve("checked").toString(), "--quiet",
+      "--account-validation")).isEqualTo(EpcQrCli.EXIT_INVALID_RECORDS);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.image;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import de.muehlencord.epcqr.model.ImageFormat;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test the direct image writers produce the same pixels as the ImageIO based output
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class MatrixImageWritersTest {
+
+  private static final String DATA = "BCD\n002\n1\nSCT\n\nMax Mustermann\nGB33BUKB20201555555555\nEUR48.81\n\n\nTest\n\n";
+
+  private static BitMatrix matrix(int width, int height) throws Exception {
+    return new MultiFormatWriter().encode(DATA, BarcodeFormat.QR_CODE, width, height);
+  }
+
+  private static byte[] write(ImageFormat format, BitMatrix matrix) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    MatrixImageWriters.forFormat(format).write(matrix, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  private static void assertSamePixels(BitMatrix matrix, BufferedImage image) {
+    BufferedImage expected = MatrixToImageWriter.toBufferedImage(matrix);
+    assertThat(image.getWidth()).isEqualTo(expected.getWidth());
+    assertThat(image.getHeight()).isEqualTo(expected.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertThat(image.getRGB(x, y)).as("pixel %d,%d", x, y).isEqualTo(expected.getRGB(x, y));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ImageFormat.class, names = {"PNG", "BMP", "GIF"})
+  void testSamePixels(ImageFormat format) throws Exception {
+    for (int size : new int[]{1, 29, 150, 301, 1200}) {
+      BitMatrix matrix = matrix(size, size);
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(write(format, matrix)));
+      assertSamePixels(matrix, image);
+    }
+    BitMatrix matrix = matrix(333, 150);
+    assertSamePixels(matrix, ImageIO.read(new ByteArrayInputStream(write(format, matrix))));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {29, 150, 301})
+  void testPnm(int size) throws Exception {
+    BitMatrix matrix = matrix(size, size);
+    byte[] image = write(ImageFormat.PNM, matrix);
+
+    String header = String.format("P4\n%d %d\n", matrix.getWidth(), matrix.getHeight());
+    assertThat(new String(image, 0, header.length(), StandardCharsets.US_ASCII)).isEqualTo(header);
+    int stride = (matrix.getWidth() + 7) / 8;
+    assertThat(image).hasSize(header.length() + stride * matrix.getHeight());
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        int value = image[header.length() + y * stride + x / 8] & (0x80 >>> (x % 8));
+        assertThat(value != 0).as("pixel %d,%d", x, y).isEqualTo(matrix.get(x, y));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = ImageFormat.class, names = {"PNG", "BMP"})
+  void testSmallerThanImageIo(ImageFormat format) throws Exception {
+    BitMatrix matrix = matrix(300, 300);
+    ByteArrayOutputStream imageIo = new ByteArrayOutputStream();
+    MatrixToImageWriter.writeToStream(matrix, format.getName(), imageIo);
+
+    assertThat(write(format, matrix).length).isLessThanOrEqualTo(imageIo.size());
+  }
+}
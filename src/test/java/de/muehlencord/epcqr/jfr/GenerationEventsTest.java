@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.jfr;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+import de.muehlencord.epcqr.model.ImageFormat;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test JFR events
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class GenerationEventsTest {
+
+  @TempDir
+  Path tempDir;
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  @Test
+  void testEvents() throws Exception {
+    Path image = tempDir.resolve("code.gif");
+    Path dump = tempDir.resolve("recording.jfr");
+    String payload;
+    try (Recording recording = new Recording()) {
+      for (String name : new String[]{"Payload", "Encode", "ImageWrite", "FileWrite"}) {
+        recording.enable("de.muehlencord.epcqr." + name).withoutThreshold();
+      }
+      recording.start();
+      payload = builder().build();
+      new ImageFileGenerator().withFormat(ImageFormat.GIF).withOutputFile(image.toString()).generate(builder());
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+    Map<String, List<RecordedEvent>> byName = events.stream()
+      .collect(Collectors.groupingBy(event -> event.getEventType().getName(), Collectors.mapping(Function.identity(),
+        Collectors.toList())));
+
+    // build and generate
+    assertThat(byName.get("de.muehlencord.epcqr.Payload")).hasSize(2)
+      .allSatisfy(event -> {
+        assertThat(event.getInt("payloadLength")).isEqualTo(payload.length());
+        assertThat(event.getString("encoding")).isEqualTo("UTF_8");
+      });
+    RecordedEvent encode = byName.get("de.muehlencord.epcqr.Encode").get(0);
+    assertThat(encode.getString("errorCorrectionLevel")).isEqualTo("L");
+    assertThat(encode.getInt("modules")).isEqualTo(17 + 4 * encode.getInt("version"));
+
+    RecordedEvent write = byName.get("de.muehlencord.epcqr.ImageWrite").get(0);
+    assertThat(write.getString("format")).isEqualTo("gif");
+    assertThat(write.getInt("width")).isEqualTo(300);
+    assertThat(write.getLong("outputSize")).isEqualTo(Files.size(image));
+
+    RecordedEvent file = byName.get("de.muehlencord.epcqr.FileWrite").get(0);
+    assertThat(file.getString("path")).isEqualTo(image.toString());
+    assertThat(file.getLong("outputSize")).isEqualTo(Files.size(image));
+  }
+}
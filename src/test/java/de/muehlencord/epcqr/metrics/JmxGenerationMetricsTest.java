@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.metrics;
+
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.ImageFileGenerator;
+import de.muehlencord.epcqr.PayeeTemplate;
+import de.muehlencord.epcqr.VectorImageGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * test metrics
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class JmxGenerationMetricsTest {
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.install(null);
+  }
+
+  @Test
+  void testDisabledByDefault() {
+    assertThat(Metrics.isEnabled()).isFalse();
+    assertThat(Metrics.start()).isZero();
+  }
+
+  @Test
+  void testRecording() throws Exception {
+    JmxGenerationMetrics metrics = new JmxGenerationMetrics();
+    Metrics.install(metrics);
+
+    byte[] png = new ByteArrayImageGenerator().generate(builder());
+    String svg = new VectorImageGenerator().withSize(200).generate(builder());
+    assertThatThrownBy(() -> new ByteArrayImageGenerator().generate(new EpcBuilder()))
+      .isInstanceOf(EpcException.class);
+    assertThatThrownBy(() -> new ByteArrayImageGenerator().generate(builder().withPaymentAmount(0D)))
+      .isInstanceOf(EpcException.class);
+    // no output directory set, fails after the payload before any other phase
+    assertThatThrownBy(() -> new ImageFileGenerator().generate(builder(), "key"))
+      .isInstanceOf(EpcException.class);
+
+    assertThat(metrics.getPhases().get("PAYLOAD").getCount()).isEqualTo(3);
+    assertThat(metrics.getPhases().get("ENCODE").getCount()).isEqualTo(2);
+    assertThat(metrics.getPhases().get("RENDER").getCount()).isEqualTo(2);
+    assertThat(metrics.getPhases().get("COMPRESS").getCount()).isEqualTo(1);
+    assertThat(metrics.getPhases().get("WRITE").getCount()).isEqualTo(1);
+    PhaseStatistics encode = metrics.getPhases().get("ENCODE");
+    assertThat(encode.getP50Nanos()).isPositive().isLessThanOrEqualTo(encode.getP99Nanos());
+    assertThat(encode.getP99Nanos()).isLessThanOrEqualTo(encode.getMaxNanos());
+
+    assertThat(metrics.getImages()).isEqualTo(2);
+    assertThat(metrics.getOutputBytes()).isEqualTo(png.length + svg.length());
+    assertThat(metrics.getImagesByFormat()).containsEntry("png", 1L).containsEntry("svg", 1L);
+    assertThat(metrics.getImagesBySize()).containsEntry("300x300", 1L).containsEntry("200x200", 1L);
+    assertThat(metrics.getFailuresByPhase()).containsOnly(entry("PAYLOAD", 2L), entry("OTHER", 1L));
+
+    metrics.reset();
+    assertThat(metrics.getImages()).isZero();
+    assertThat(metrics.getPhases().get("ENCODE").getCount()).isZero();
+  }
+
+  @Test
+  void testGeneratorMetrics() throws Exception {
+    JmxGenerationMetrics active = new JmxGenerationMetrics();
+    JmxGenerationMetrics own = new JmxGenerationMetrics();
+    Metrics.install(active);
+
+    new ByteArrayImageGenerator().withMetrics(own).generate(builder());
+    new VectorImageGenerator().withMetrics(own).generate(builder());
+    new PayeeTemplate(builder()).generate(new ByteArrayImageGenerator().withMetrics(own), BigDecimal.TEN, "Test",
+      null);
+    assertThatThrownBy(() -> new ByteArrayImageGenerator().withMetrics(own).generate(new EpcBuilder()))
+      .isInstanceOf(EpcException.class);
+
+    assertThat(own.getImages()).isEqualTo(3);
+    assertThat(own.getPhases().get("PAYLOAD").getCount()).isEqualTo(3);
+    assertThat(own.getPhases().get("ENCODE").getCount()).isEqualTo(3);
+    assertThat(own.getPhases().get("COMPRESS").getCount()).isEqualTo(2);
+    assertThat(own.getFailuresByPhase()).containsEntry("PAYLOAD", 1L);
+    assertThat(active.getImages()).isZero();
+    assertThat(active.getPhases().get("PAYLOAD").getCount()).isZero();
+    assertThat(active.getFailuresByPhase()).isEmpty();
+  }
+
+  @Test
+  void testJmx() throws Exception {
+    JmxGenerationMetrics metrics = new JmxGenerationMetrics();
+    ObjectName name = metrics.register("de.muehlencord.epcqr:type=GenerationMetrics,name=test");
+    try {
+      Metrics.install(metrics);
+      new ByteArrayImageGenerator().generate(builder());
+
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      assertThat(server.getAttribute(name, "Images")).isEqualTo(1L);
+      TabularData phases = (TabularData) server.getAttribute(name, "Phases");
+      CompositeData write = (CompositeData) phases.get(new Object[]{"WRITE"}).get("value");
+      assertThat((Long) write.get("count")).isEqualTo(1L);
+
+      assertThatThrownBy(() -> metrics.register("de.muehlencord.epcqr:type=GenerationMetrics,name=test"))
+        .isInstanceOf(EpcException.class);
+    } finally {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+  }
+
+  @Test
+  void testHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+    PhaseStatistics statistics = histogram.snapshot();
+    assertThat(statistics.getCount()).isEqualTo(1000);
+    assertThat(statistics.getMaxNanos()).isEqualTo(1_000_000);
+    assertThat(statistics.getP50Nanos()).isBetween(500_000L, 500_000L + 500_000L / 32);
+    assertThat(statistics.getP99Nanos()).isBetween(990_000L, 1_000_000L);
+
+    for (long value : new long[]{0, 1, 31, 32, 63, 64, 1000, Long.MAX_VALUE}) {
+      int index = LatencyHistogram.index(value);
+      assertThat(LatencyHistogram.lowerBound(index)).isLessThanOrEqualTo(value);
+      assertThat(LatencyHistogram.lowerBound(index + 1)).isGreaterThan(value == Long.MAX_VALUE ? value - 1 : value);
+    }
+  }
+}
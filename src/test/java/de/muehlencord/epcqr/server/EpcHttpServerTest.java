@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.server;
+
+import de.muehlencord.epcqr.Base64ImageGenerator;
+import de.muehlencord.epcqr.ByteArrayImageGenerator;
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import de.muehlencord.epcqr.VectorImageGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test the embedded render endpoint
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class EpcHttpServerTest {
+
+  private static final String QUERY = "recipient=Max%20Mustermann&iban=GB33BUKB20201555555555&bic=BUKBGB22"
+    + "&amount=48.81&purpose=Test";
+
+  private static RunningServer server;
+  private static HttpClient client;
+
+  @BeforeAll
+  static void start() throws EpcException {
+    server = new EpcHttpServer().withPort(0).withMaxConcurrentRenders(2).start();
+    client = HttpClient.newHttpClient();
+  }
+
+  @AfterAll
+  static void stop() {
+    server.close();
+  }
+
+  private static EpcBuilder builder() throws EpcException {
+    return new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("GB33BUKB20201555555555")
+      .withBic("BUKBGB22")
+      .withPaymentAmount(new BigDecimal("48.81"))
+      .withPurposeText("Test");
+  }
+
+  private static HttpRequest.Builder request(String query) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/epc" + query));
+  }
+
+  private static HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+    return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+  }
+
+  @Test
+  void testRenderAndConditionalRequest() throws Exception {
+    HttpResponse<byte[]> response = send(request("?" + QUERY).build());
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue("Content-Type")).hasValue("image/png");
+    assertThat(response.body()).isEqualTo(new ByteArrayImageGenerator().generate(builder()));
+    String etag = response.headers().firstValue("ETag").orElseThrow();
+    assertThat(etag).matches("\"[0-9a-f]{32}\"");
+
+    HttpResponse<byte[]> notModified = send(request("?" + QUERY).header("If-None-Match", "\"other\", W/" + etag).build());
+    assertThat(notModified.statusCode()).isEqualTo(304);
+    assertThat(notModified.headers().firstValue("ETag")).hasValue(etag);
+
+    // other render parameters give another entity
+    HttpResponse<byte[]> resized = send(request("?" + QUERY + "&size=200").header("If-None-Match", etag).build());
+    assertThat(resized.statusCode()).isEqualTo(200);
+    assertThat(resized.headers().firstValue("ETag")).isNotEqualTo(etag);
+  }
+
+  @Test
+  void testFormats() throws Exception {
+    HttpResponse<byte[]> svg = send(request("?" + QUERY + "&format=svg&size=150").build());
+    assertThat(svg.headers().firstValue("Content-Type")).hasValue("image/svg+xml");
+    assertThat(new String(svg.body(), StandardCharsets.UTF_8))
+      .isEqualTo(new VectorImageGenerator().withSize(150).generate(builder()));
+
+    String json = "{\"recipient\": \"Max Mustermann\", \"iban\": \"GB33BUKB20201555555555\", \"bic\": \"BUKBGB22\","
+      + " \"amount\": 48.81, \"purpose\": \"Test\", \"note\": null, \"format\": \"base64\"}";
+    HttpResponse<byte[]> base64 = send(request("").header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(json)).build());
+    assertThat(base64.statusCode()).isEqualTo(200);
+    assertThat(new String(base64.body(), StandardCharsets.US_ASCII)).isEqualTo(new Base64ImageGenerator().generate(builder()));
+  }
+
+  @Test
+  void testInvalidRequests() throws Exception {
+    assertThat(send(request("?" + QUERY + "&size=0").build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("?" + QUERY + "&format=tiff").build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("?" + QUERY + "&colour=red").build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("?" + QUERY + "&amount=lots").build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("?recipient=Max").build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("").header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString("{\"recipient\": [1]}")).build()).statusCode()).isEqualTo(400);
+    assertThat(send(request("?" + QUERY).DELETE().build()).statusCode()).isEqualTo(405);
+  }
+
+  @Test
+  void testParameters() throws EpcException {
+    assertThat(RequestParameters.parseQuery("a=1&b=x%20y&&c&a=2")).isEqualTo(Map.of("a", "2", "b", "x y", "c", ""));
+    assertThat(RequestParameters.parseJson(" { \"a\" : \"\\u00e4\\n\\\"\" , \"b\": -1.50e1, \"c\": true } "))
+      .isEqualTo(Map.of("a", "ä\n\"", "b", "-1.50e1", "c", "true"));
+    assertThat(RequestParameters.parseJson("{}")).isEmpty();
+    assertThrows(EpcException.class, () -> RequestParameters.parseJson("{\"a\": {}}"));
+    assertThrows(EpcException.class, () -> RequestParameters.parseJson("{\"a\": 1} x"));
+    assertThrows(EpcException.class, () -> RequestParameters.parseJson("{\"a\": \"open}"));
+    assertThat(RenderHandler.matches("*", "\"x\"")).isTrue();
+    assertThat(RenderHandler.matches("\"y\"", "\"x\"")).isFalse();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.EpcException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * test IBAN and BIC validation
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class IbanValidatorTest {
+
+  private static final String[] VALID = {
+    "DE89370400440532013000", "GB82WEST12345698765432", "GB33BUKB20201555555555", "FR1420041010050500013M02606",
+    "AT611904300234573201", "BE68539007547034", "CH9300762011623852957", "NL91ABNA0417164300",
+    "IT60X0542811101000000123456", "ES9121000418450200051332", "NO9386011117947", "MT84MALT011000012345MTLCAST001S",
+    "PL61109010140000071219812874", "SE4550000000058398257466", "FI2112345600000785", "LU280019400644750000",
+    "IE29AIBK93115212345678", "PT50000201231234567890154", "BR1800360305000010009795493C1",
+    "SA0380000000608010167519", "nl91abna0417164300"};
+
+  /**
+   * reference implementation of the check digits using a big number.
+   */
+  private static String withCheckDigits(String country, String bban) {
+    BigInteger number = new BigInteger(rearranged(bban + country + "00"));
+    int checkDigits = 98 - number.mod(BigInteger.valueOf(97)).intValue();
+    return String.format("%s%02d%s", country, checkDigits, bban);
+  }
+
+  private static String rearranged(String value) {
+    StringBuilder sb = new StringBuilder();
+    for (char c : value.toCharArray()) {
+      sb.append(Character.isDigit(c) ? String.valueOf(c) : String.valueOf(c - 'A' + 10));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void testValid() {
+    for (String iban : VALID) {
+      assertThat(IbanValidator.problem(iban)).as(iban).isNull();
+    }
+  }
+
+  @Test
+  void testInvalid() {
+    assertThat(IbanValidator.problem("DE89370400440532013001")).isEqualTo("Invalid check digits");
+    assertThat(IbanValidator.problem("DE8937040044053201300")).startsWith("Expected length 22 for country DE");
+    assertThat(IbanValidator.problem("XX89370400440532013000")).isEqualTo("Unknown country code");
+    assertThat(IbanValidator.problem("D")).isEqualTo("IBAN too short");
+    assertThat(IbanValidator.problem("DEXX370400440532013000")).isEqualTo("Check digits must be numeric");
+    // correct check digits, but letters in the numeric German account number
+    assertThat(IbanValidator.problem(withCheckDigits("DE", "37040044053201300A")))
+      .isEqualTo("Account number does not match the format of the country");
+    assertThat(IbanValidator.problem(withCheckDigits("NL", "1BNA0417164300")))
+      .isEqualTo("Account number does not match the format of the country");
+    assertThat(IbanValidator.isValid(null)).isFalse();
+    assertThat(IbanValidator.isValid("GB82 WEST 1234 5698 7654 32")).isFalse();
+  }
+
+  @Test
+  void testMod97AgainstBigInteger() {
+    Random random = new Random(4711);
+    for (int i = 0; i < 10_000; i++) {
+      StringBuilder bban = new StringBuilder();
+      for (int j = 0; j < 18; j++) {
+        bban.append((char) ('0' + random.nextInt(10)));
+      }
+      String iban = withCheckDigits("DE", bban.toString());
+      assertThat(IbanValidator.isValid(iban)).as(iban).isTrue();
+
+      // every single digit error is detected
+      int position = 4 + random.nextInt(18);
+      char changed = (char) ('0' + (iban.charAt(position) - '0' + 1 + random.nextInt(9)) % 10);
+      String wrong = iban.substring(0, position) + changed + iban.substring(position + 1);
+      assertThat(IbanValidator.isValid(wrong)).as(wrong).isFalse();
+    }
+  }
+
+  @Test
+  void testFindInvalid() {
+    List<String> ibans = new ArrayList<>();
+    BitSet expected = new BitSet();
+    for (int i = 0; i < 200_000; i++) {
+      if (i % 7 == 3) {
+        ibans.add("DE89370400440532013001");
+        expected.set(i);
+      } else {
+        ibans.add(VALID[i % VALID.length]);
+      }
+    }
+    assertThat(IbanValidator.findInvalid(ibans)).isEqualTo(expected);
+    assertThat(IbanValidator.findInvalid(List.of()).isEmpty()).isTrue();
+  }
+
+  @Test
+  void testBic() {
+    assertThat(BicValidator.isValid("BUKBGB22")).isTrue();
+    assertThat(BicValidator.isValid("DEUTDEFF500")).isTrue();
+    assertThat(BicValidator.isValid("deutdeff")).isTrue();
+    assertThat(BicValidator.problem("BUKBGB2")).isEqualTo("BIC must have 8 or 11 characters");
+    assertThat(BicValidator.problem("BUKBGB22XX")).isEqualTo("BIC must have 8 or 11 characters");
+    assertThat(BicValidator.problem("1UKBGB22")).isEqualTo("Institution code must consist of letters");
+    assertThat(BicValidator.problem("BUKB1B22")).isEqualTo("Country code must consist of letters");
+    assertThat(BicValidator.problem("BUKBGB2 ")).isEqualTo("Location code must consist of letters and digits");
+    assertThat(BicValidator.problem("BUKBGB22XX-")).isEqualTo("Branch code must consist of letters and digits");
+  }
+
+  @Test
+  void testBuilderSwitch() throws EpcException {
+    assertDoesNotThrow(() -> new EpcBuilder().withIban("DE89370400440532013001").withBic("BUKB"));
+    EpcBuilder builder = new EpcBuilder().withAccountValidation(true);
+    assertThrows(EpcException.class, () -> builder.withIban("DE89 3704 0044 0532 0130 01"));
+    assertThrows(EpcException.class, () -> builder.withBic("BUKB"));
+    builder.withIban("GB33 BUKB 2020 1555 5555 55").withBic("BUKBGB22").withBic("");
+    assertThat(builder.getIban()).isEqualTo("GB33BUKB20201555555555");
+
+    // values set before enabling the validation are checked when building
+    EpcBuilder late = new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban("DE89370400440532013001")
+      .withPaymentAmount(1.0)
+      .withPurposeText("Test");
+    late.build();
+    late.withAccountValidation(true);
+    assertThrows(EpcException.class, late::build);
+  }
+}
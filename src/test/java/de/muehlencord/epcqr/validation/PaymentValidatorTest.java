@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Joern Muehlencord, https://muehlencord.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.muehlencord.epcqr.validation;
+
+import de.muehlencord.epcqr.EpcBuilder;
+import de.muehlencord.epcqr.bulk.PaymentRecord;
+import de.muehlencord.epcqr.model.Encoding;
+import de.muehlencord.epcqr.model.Version;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * test the validation of complete payments
+ *
+ * @author Joern Muehlencord, 2026-10-17
+ * @since 1.1.4
+ */
+class PaymentValidatorTest {
+
+  private static final String IBAN = "GB33BUKB20201555555555";
+
+  @Test
+  void testValidRecord() {
+    ValidationReport report = new PaymentValidator()
+      .validate(new PaymentRecord(2, "Max Mustermann", "GB33 BUKB 2020 1555 5555 55", "BUKBGB22", "48.81", "Test"));
+    assertThat(report.isValid()).isTrue();
+    assertThat(report.getLineNumber()).isEqualTo(2);
+    assertThat(report.getViolations()).isEmpty();
+  }
+
+  @Test
+  void testAllViolationsReported() throws Exception {
+    ValidationReport report = new PaymentValidator().withVersion(Version.V001).withAccountValidation(true)
+      .validate(new PaymentRecord(7, "", "GB33BUKB20201555555556", "", "-1", "x".repeat(141)));
+    assertThat(report.isValid()).isFalse();
+    assertThat(report.getViolations().stream().map(Violation::getCode).collect(Collectors.toList()))
+      .containsExactly(ViolationCode.BIC_REQUIRED, ViolationCode.RECIPIENT_MISSING, ViolationCode.IBAN_INVALID,
+        ViolationCode.AMOUNT_OUT_OF_RANGE, ViolationCode.PURPOSE_TEXT_TOO_LONG);
+    assertThat(report.getViolations().get(4).getField()).isEqualTo("purposeText");
+    assertThat(report.getViolations().get(4).getMessage()).isEqualTo("purpose text has 141 characters, maximum is 140");
+  }
+
+  @Test
+  void testAmount() {
+    PaymentValidator validator = new PaymentValidator();
+    assertThat(validator.validate(record("1e5")).hasViolation(ViolationCode.AMOUNT_INVALID)).isTrue();
+    assertThat(validator.validate(record("1.2.3")).hasViolation(ViolationCode.AMOUNT_INVALID)).isTrue();
+    assertThat(validator.validate(record(".")).hasViolation(ViolationCode.AMOUNT_INVALID)).isTrue();
+    assertThat(validator.validate(record("")).hasViolation(ViolationCode.AMOUNT_MISSING)).isTrue();
+    assertThat(validator.validate(record("0.004")).hasViolation(ViolationCode.AMOUNT_OUT_OF_RANGE)).isTrue();
+    assertThat(validator.validate(record("1000000000")).hasViolation(ViolationCode.AMOUNT_OUT_OF_RANGE)).isTrue();
+    assertThat(validator.validate(record("999999999.99")).isValid()).isTrue();
+    assertThat(validator.validate(record("0.01")).isValid()).isTrue();
+    assertThat(validator.validate(record("+.5")).isValid()).isTrue();
+  }
+
+  @Test
+  void testAccountValidationDisabled() {
+    PaymentRecord paymentRecord = new PaymentRecord(1, "Max Mustermann", "GB00INVALID", "123", "1", "Test");
+    // same default as EpcBuilder
+    assertThat(new PaymentValidator().validate(paymentRecord).isValid()).isTrue();
+    assertThat(new PaymentValidator().withAccountValidation(false).validate(paymentRecord).isValid()).isTrue();
+    assertThat(new PaymentValidator().withAccountValidation(true).validate(paymentRecord).isValid()).isFalse();
+  }
+
+  @Test
+  void testMalformedRecord() {
+    ValidationReport report = new PaymentValidator().validate(PaymentRecord.malformed(3, "line 3 contains 4 columns"));
+    assertThat(report.getLineNumber()).isEqualTo(3);
+    assertThat(report.getViolations()).extracting(Violation::getCode).containsExactly(ViolationCode.MALFORMED_RECORD);
+  }
+
+  @Test
+  void testUnmappableCharacter() throws Exception {
+    PaymentRecord paymentRecord = new PaymentRecord(1, "Jörg Müller", IBAN, "", "1", "Zahlung für Ολυμπία");
+    assertThat(new PaymentValidator().validate(paymentRecord).isValid()).isTrue();
+    ValidationReport report = new PaymentValidator().withEncoding(Encoding.ISO_8859_1).validate(paymentRecord);
+    assertThat(report.getViolations()).hasSize(1);
+    assertThat(report.getViolations().get(0).getCode()).isEqualTo(ViolationCode.UNMAPPABLE_CHARACTER);
+    assertThat(report.getViolations().get(0).getField()).isEqualTo("purposeText");
+  }
+
+  @Test
+  void testPayloadTooLarge() {
+    // 140 characters, but 280 bytes in UTF-8
+    ValidationReport report = new PaymentValidator()
+      .validate(new PaymentRecord(1, "Max Mustermann", IBAN, "BUKBGB22", "1", "ä".repeat(140)));
+    assertThat(report.getViolations()).hasSize(1);
+    assertThat(report.getViolations().get(0).getCode()).isEqualTo(ViolationCode.PAYLOAD_TOO_LARGE);
+
+    // 140 bytes in ISO-8859-1
+    assertThat(new PaymentValidator().withAutomaticEncoding(true)
+      .validate(new PaymentRecord(1, "Max Mustermann", IBAN, "BUKBGB22", "1", "ä".repeat(140))).isValid()).isTrue();
+  }
+
+  @Test
+  void testBuilder() throws Exception {
+    EpcBuilder builder = new EpcBuilder()
+      .withRecipient("Max Mustermann")
+      .withIban(IBAN)
+      .withPaymentAmount(48.81D)
+      .withPurposeText("Test");
+    assertThat(builder.validateAll().isValid()).isTrue();
+
+    builder.withNote("n".repeat(70)).withPurposeText("p".repeat(140)).withRecipient("r".repeat(70));
+    assertThat(builder.validateAll().hasViolation(ViolationCode.PAYLOAD_TOO_LARGE)).isTrue();
+
+    ValidationReport report = new EpcBuilder().withVersion(Version.V001).validateAll();
+    assertThat(report.getLineNumber()).isZero();
+    assertThat(report.getViolations().stream().map(Violation::getCode).collect(Collectors.toList()))
+      .containsExactly(ViolationCode.BIC_REQUIRED, ViolationCode.RECIPIENT_MISSING, ViolationCode.IBAN_MISSING,
+        ViolationCode.AMOUNT_MISSING, ViolationCode.PURPOSE_TEXT_MISSING);
+  }
+
+  private static PaymentRecord record(String amount) {
+    return new PaymentRecord(1, "Max Mustermann", IBAN, "", amount, "Test");
+  }
+}